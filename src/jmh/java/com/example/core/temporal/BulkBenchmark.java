@@ -0,0 +1,136 @@
+package com.example.core.temporal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.time.temporal.Temporal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bulk operations over the seeded intervals of 1K to 10M, of each type of the intervals.
+ * The queries are one day windows for {@link LocalDateInterval} and {@link LocalDateTimeInterval}
+ * and one hour windows for {@link LocalTimeInterval}, so that each query matches a small fraction of the intervals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class BulkBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"LocalDate", "LocalDateTime", "LocalTime"})
+    public String type;
+
+    private Fixture<?, ?> fixture;
+    private final BitSet result = new BitSet();
+    private long[] mask;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IntervalGenerator generator = new IntervalGenerator();
+        switch (type) {
+            case "LocalDate":
+                fixture = new Fixture<>(LocalDateInterval.TYPE, generator.localDateIntervals(size),
+                        new LocalDateInterval(IntervalGenerator.BASE_DATE.plusDays(1800L), IntervalGenerator.BASE_DATE.plusDays(1801L)));
+                break;
+            case "LocalDateTime":
+                fixture = new Fixture<>(LocalDateTimeInterval.TYPE, generator.localDateTimeIntervals(size),
+                        new LocalDateTimeInterval(IntervalGenerator.BASE_DATE_TIME.plusDays(180L), IntervalGenerator.BASE_DATE_TIME.plusDays(181L)));
+                break;
+            case "LocalTime":
+                fixture = new Fixture<>(LocalTimeInterval.TYPE, generator.localTimeIntervals(size),
+                        new LocalTimeInterval(LocalTime.of(12, 0), LocalTime.of(13, 0)));
+                break;
+            default:
+                throw new IllegalArgumentException("unknown type: " + type);
+        }
+        mask = new long[(size + 63) / 64];
+    }
+
+    @Benchmark
+    public int linearScanOverlapsAsOpen() {
+        return fixture.linearScanOverlapsAsOpen();
+    }
+
+    @Benchmark
+    public int treeOverlapsAsOpen() {
+        return fixture.tree.overlappingAsOpen(fixture.query.getEpochFrom(), fixture.query.getEpochTo()).size();
+    }
+
+    @Benchmark
+    public BitSet arrayOverlapsAsOpen() {
+        return fixture.arrayOverlapsAsOpen(result);
+    }
+
+    @Benchmark
+    public int arrayOverlapsAsOpenMask() {
+        return fixture.array.overlapsAsOpen(fixture.query.getEpochFrom(), fixture.query.getEpochTo(), mask);
+    }
+
+    @Benchmark
+    public Object buildTree() {
+        return fixture.buildTree();
+    }
+
+    @Benchmark
+    public Object buildSet() {
+        return fixture.buildSet();
+    }
+
+    /**
+     * The intervals, the indexes and the query of a type.
+     */
+    private static final class Fixture<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+        private final IntervalType<T, I> type;
+        private final List<I> intervals;
+        private final IntervalTree<T, I> tree;
+        private final IntervalArray<T, I> array;
+        private final I query;
+
+        private Fixture(IntervalType<T, I> type, List<I> intervals, I query) {
+            this.type = type;
+            this.intervals = intervals;
+            this.tree = IntervalTree.of(type, intervals);
+            this.array = IntervalArray.of(type, intervals);
+            this.query = query;
+        }
+
+        private int linearScanOverlapsAsOpen() {
+            int count = 0;
+            for (I interval : intervals) {
+                if (interval.overlapsAsOpen(query)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private BitSet arrayOverlapsAsOpen(BitSet result) {
+            return array.overlapsAsOpen(query, result);
+        }
+
+        private IntervalTree<T, I> buildTree() {
+            return IntervalTree.of(type, intervals);
+        }
+
+        private IntervalSet<T, I> buildSet() {
+            return IntervalSet.of(type, intervals);
+        }
+    }
+}
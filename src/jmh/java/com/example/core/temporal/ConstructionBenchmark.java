@@ -0,0 +1,49 @@
+package com.example.core.temporal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of each interval, including the validation by toEpoch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ConstructionBenchmark {
+    private final LocalDate dateFrom = LocalDate.of(2020, 1, 1);
+    private final LocalDate dateTo = dateFrom.plusDays(30L);
+    private final LocalDateTime dateTimeFrom = dateFrom.atTime(9, 0);
+    private final LocalDateTime dateTimeTo = dateTimeFrom.plusHours(8L);
+    private final LocalTime timeFrom = LocalTime.of(9, 0);
+    private final LocalTime timeTo = LocalTime.of(17, 0);
+
+    @Benchmark
+    public LocalDateInterval localDateInterval() {
+        return new LocalDateInterval(dateFrom, dateTo);
+    }
+
+    @Benchmark
+    public LocalDateTimeInterval localDateTimeInterval() {
+        return new LocalDateTimeInterval(dateTimeFrom, dateTimeTo);
+    }
+
+    @Benchmark
+    public LocalTimeInterval localTimeInterval() {
+        return new LocalTimeInterval(timeFrom, timeTo);
+    }
+}
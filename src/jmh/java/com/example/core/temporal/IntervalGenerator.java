@@ -0,0 +1,75 @@
+package com.example.core.temporal;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible intervals for the benchmarks from a fixed seed.
+ */
+final class IntervalGenerator {
+    static final long SEED = 20201201L;
+    static final LocalDate BASE_DATE = LocalDate.of(2020, 1, 1);
+    static final LocalDateTime BASE_DATE_TIME = BASE_DATE.atStartOfDay();
+
+    private final Random random;
+
+    IntervalGenerator() {
+        this(SEED);
+    }
+
+    IntervalGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates an interval starting within ten years from the base date and lasting up to 30 days.
+     */
+    LocalDateInterval nextLocalDateInterval() {
+        LocalDate from = BASE_DATE.plusDays(random.nextInt(3650));
+        return new LocalDateInterval(from, from.plusDays(1 + random.nextInt(30)));
+    }
+
+    /**
+     * Generates an interval starting within a year from the base date and lasting up to 8 hours.
+     */
+    LocalDateTimeInterval nextLocalDateTimeInterval() {
+        LocalDateTime from = BASE_DATE_TIME.plusSeconds(random.nextInt(365 * 86400));
+        return new LocalDateTimeInterval(from, from.plusSeconds(1 + random.nextInt(8 * 3600)));
+    }
+
+    /**
+     * Generates an interval within a day lasting up to 2 hours.
+     */
+    LocalTimeInterval nextLocalTimeInterval() {
+        int from = random.nextInt(86400 - 2 * 3600);
+        return new LocalTimeInterval(LocalTime.ofSecondOfDay(from), LocalTime.ofSecondOfDay(from + 1 + random.nextInt(2 * 3600)));
+    }
+
+    List<LocalDateInterval> localDateIntervals(int size) {
+        List<LocalDateInterval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            intervals.add(nextLocalDateInterval());
+        }
+        return intervals;
+    }
+
+    List<LocalDateTimeInterval> localDateTimeIntervals(int size) {
+        List<LocalDateTimeInterval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            intervals.add(nextLocalDateTimeInterval());
+        }
+        return intervals;
+    }
+
+    List<LocalTimeInterval> localTimeIntervals(int size) {
+        List<LocalTimeInterval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            intervals.add(nextLocalTimeInterval());
+        }
+        return intervals;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.core.temporal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing an interval of ISO-8601, by {@link IntervalParser} against {@code parse} of java.time and the constructor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ParseBenchmark {
+    private final String date = "2020-01-01/2020-02-01";
+    private final String dateTime = "2020-01-01T10:00:00/2020-01-01T12:00:00";
+    private final Sink sink = new Sink();
+
+    @Benchmark
+    public LocalDateInterval javaTimeLocalDate() {
+        int slash = date.indexOf('/');
+        return new LocalDateInterval(LocalDate.parse(date.substring(0, slash)), LocalDate.parse(date.substring(slash + 1)));
+    }
+
+    @Benchmark
+    public long parserLocalDate() {
+        IntervalParser.LOCAL_DATE.parse(date, sink);
+        return sink.from ^ sink.to;
+    }
+
+    @Benchmark
+    public LocalDateTimeInterval javaTimeLocalDateTime() {
+        int slash = dateTime.indexOf('/');
+        return new LocalDateTimeInterval(
+                LocalDateTime.parse(dateTime.substring(0, slash)), LocalDateTime.parse(dateTime.substring(slash + 1)));
+    }
+
+    @Benchmark
+    public long parserLocalDateTime() {
+        IntervalParser.LOCAL_DATE_TIME.parse(dateTime, sink);
+        return sink.from ^ sink.to;
+    }
+
+    /**
+     * Keeps the epochs parsed last, so that the benchmarks allocate no lambda capturing the state.
+     */
+    private static final class Sink implements EpochIntervalConsumer {
+        private long from;
+        private long to;
+
+        @Override
+        public void accept(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
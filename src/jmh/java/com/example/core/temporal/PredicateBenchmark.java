@@ -0,0 +1,117 @@
+package com.example.core.temporal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each predicate of the three intervals over a fixed batch of seeded probes,
+ * so that the branch predictor does not learn a single answer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@OperationsPerInvocation(PredicateBenchmark.BATCH)
+public class PredicateBenchmark {
+    static final int BATCH = 1024;
+
+    private final LocalDateInterval[] dates = new LocalDateInterval[BATCH];
+    private final LocalDate[] datePoints = new LocalDate[BATCH];
+    private final LocalDateTimeInterval[] dateTimes = new LocalDateTimeInterval[BATCH];
+    private final LocalDateTime[] dateTimePoints = new LocalDateTime[BATCH];
+    private final LocalTimeInterval[] times = new LocalTimeInterval[BATCH];
+    private final LocalTime[] timePoints = new LocalTime[BATCH];
+
+    @Setup
+    public void setUp() {
+        IntervalGenerator generator = new IntervalGenerator();
+        for (int i = 0; i < BATCH; i++) {
+            dates[i] = generator.nextLocalDateInterval();
+            datePoints[i] = generator.nextLocalDateInterval().getFrom();
+            dateTimes[i] = generator.nextLocalDateTimeInterval();
+            dateTimePoints[i] = generator.nextLocalDateTimeInterval().getFrom();
+            times[i] = generator.nextLocalTimeInterval();
+            timePoints[i] = generator.nextLocalTimeInterval().getFrom();
+        }
+    }
+
+    @Benchmark
+    public void localDateContains(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(dates[i].contains(datePoints[i]));
+        }
+    }
+
+    @Benchmark
+    public void localDateOverlapsAsOpen(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(dates[i].overlapsAsOpen(dates[BATCH - 1 - i]));
+        }
+    }
+
+    @Benchmark
+    public void localDateOverlapsAsClosed(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(dates[i].overlapsAsClosed(dates[BATCH - 1 - i]));
+        }
+    }
+
+    @Benchmark
+    public void localDateTimeContains(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(dateTimes[i].contains(dateTimePoints[i]));
+        }
+    }
+
+    @Benchmark
+    public void localDateTimeOverlapsAsOpen(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(dateTimes[i].overlapsAsOpen(dateTimes[BATCH - 1 - i]));
+        }
+    }
+
+    @Benchmark
+    public void localDateTimeOverlapsAsClosed(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(dateTimes[i].overlapsAsClosed(dateTimes[BATCH - 1 - i]));
+        }
+    }
+
+    @Benchmark
+    public void localTimeContains(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(times[i].contains(timePoints[i]));
+        }
+    }
+
+    @Benchmark
+    public void localTimeOverlapsAsOpen(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(times[i].overlapsAsOpen(times[BATCH - 1 - i]));
+        }
+    }
+
+    @Benchmark
+    public void localTimeOverlapsAsClosed(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(times[i].overlapsAsClosed(times[BATCH - 1 - i]));
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.time.temporal.Temporal;
 public abstract class AbstractTemporalInterval<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
     @NonNull protected final T from;
     @NonNull protected final T to;
+    @Getter(AccessLevel.PUBLIC) protected final long epochFrom;
+    @Getter(AccessLevel.PUBLIC) protected final long epochTo;
 
     /**
      * Constructor
@@ -29,11 +31,15 @@ public abstract class AbstractTemporalInterval<T extends Temporal, I extends Abs
      * @param to   終了時点 - the point of end, must be after before, not null
      */
     protected AbstractTemporalInterval(@NonNull T from, @NonNull T to) {
-        if (toEpoch(from) >= toEpoch(to)) {
+        long epochFrom = toEpoch(from);
+        long epochTo = toEpoch(to);
+        if (epochFrom >= epochTo) {
             throw new IllegalArgumentException("from must be before to");
         }
         this.from = from;
         this.to = to;
+        this.epochFrom = epochFrom;
+        this.epochTo = epochTo;
     }
 
     /**
@@ -50,7 +56,25 @@ public abstract class AbstractTemporalInterval<T extends Temporal, I extends Abs
      * @return temporalが期間に含まれればtrue - true if this interval contains the specified temporal
      */
     public final boolean contains(@NonNull T temporal) {
-        return toEpoch(from) <= toEpoch(temporal) && toEpoch(temporal) <= toEpoch(to);
+        return contains(toEpoch(temporal));
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点が期間に含まれるかどうかを判定する。<br>
+     * epochがfromまたはtoのエポック数と同一である場合、trueとなる。
+     * </p>
+     * <p>
+     * Checks if this interval contains the specified point expressed as the number since the epoch.<br>
+     * It returns true if epoch is equal to the epoch of from or to.
+     * </p>
+     *
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @return epochが期間に含まれればtrue - true if this interval contains the specified epoch
+     * @see #toEpoch(Temporal)
+     */
+    public final boolean contains(long epoch) {
+        return epochFrom <= epoch && epoch <= epochTo;
     }
 
     /**
@@ -65,7 +89,7 @@ public abstract class AbstractTemporalInterval<T extends Temporal, I extends Abs
      * @return otherと同一の期間であればtrue - true if this is equal to other interval
      */
     public final boolean equals(@NonNull I other) {
-        return toEpoch(from) == toEpoch(other.getFrom()) && toEpoch(to) == toEpoch(other.getTo());
+        return epochFrom == other.epochFrom && epochTo == other.epochTo;
     }
 
     /**
@@ -91,7 +115,25 @@ public abstract class AbstractTemporalInterval<T extends Temporal, I extends Abs
      * @return otherと重複する期間があればtrue - true if this overlaps with other interval
      */
     public final boolean overlapsAsOpen(@NonNull I other) {
-        return toEpoch(from) < toEpoch(other.getTo()) && toEpoch(other.getFrom()) < toEpoch(to);
+        return overlapsAsOpen(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間があるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this interval overlaps with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param otherFrom 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param otherTo   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間があればtrue - true if this overlaps with other interval
+     * @see #overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public final boolean overlapsAsOpen(long otherFrom, long otherTo) {
+        return epochFrom < otherTo && otherFrom < epochTo;
     }
 
     /**
@@ -116,7 +158,25 @@ public abstract class AbstractTemporalInterval<T extends Temporal, I extends Abs
      * @return otherと重複する期間があればtrue - true if this overlaps with other interval
      */
     public final boolean overlapsAsClosed(@NonNull I other) {
-        return toEpoch(from) <= toEpoch(other.getTo()) && toEpoch(other.getFrom()) <= toEpoch(to);
+        return overlapsAsClosed(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間があるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this interval overlaps with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param otherFrom 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param otherTo   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間があればtrue - true if this overlaps with other interval
+     * @see #overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public final boolean overlapsAsClosed(long otherFrom, long otherTo) {
+        return epochFrom <= otherTo && otherFrom <= epochTo;
     }
 
     /**
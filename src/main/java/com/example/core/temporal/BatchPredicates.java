@@ -0,0 +1,178 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.util.Optional;
+
+/**
+ * <p>
+ * 開始エポック数と終了エポック数の配列に対し、期間の判定をまとめて行う。
+ * </p>
+ * <p>
+ * BatchPredicates evaluates the predicates of {@link AbstractTemporalInterval} over the parallel arrays of
+ * the epochs of start and end, and writes the results into the words of bitmask, bit {@code i % 64}
+ * of word {@code i / 64} for the interval at {@code i}, the same layout as {@link java.util.BitSet#toLongArray()}.<br>
+ * The kernels have no branch on the data: each comparison is taken from the sign bit of a subtraction,
+ * which is a straight-line sequence of subtract, and and shift over the lanes that the JIT compiler can unroll
+ * and vectorize.
+ * For the subtraction not to overflow, the epochs must be within [{@link #MIN_EPOCH}, {@link #MAX_EPOCH}],
+ * which covers every epoch of {@link LocalDateInterval}, {@link LocalDateTimeInterval} and {@link LocalTimeInterval}.
+ * The epochs of the probe are clamped into the range, which does not change the results,
+ * since the epoch of start of an interval is less than {@link #MAX_EPOCH} and the epoch of end is greater than {@link #MIN_EPOCH}.
+ * </p>
+ * <p>
+ * On Java 17 or later with {@code --add-modules jdk.incubator.vector}, the multi-release JAR provides the kernel
+ * on {@code jdk.incubator.vector.LongVector}, comparing the lanes of the preferred species at once.
+ * Otherwise, the scalar kernel above is used, giving the same results.
+ * </p>
+ */
+public final class BatchPredicates {
+    /**
+     * The smallest epoch accepted by the kernels, -2^62.
+     */
+    public static final long MIN_EPOCH = -(1L << 62);
+    /**
+     * The largest epoch accepted by the kernels, 2^62.
+     */
+    public static final long MAX_EPOCH = 1L << 62;
+
+    private static final Kernel KERNEL = vectorKernel().orElse(BatchPredicates::scalar);
+
+    private BatchPredicates() {
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間のビットを設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which contain the specified point expressed as the number since the epoch.
+     * </p>
+     *
+     * @param froms 開始エポック数 - the epochs of start, not null
+     * @param tos   終了エポック数 - the epochs of end, not null
+     * @param size  期間の数 - the number of intervals
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @param mask  結果 - the words of bitmask to be overwritten, at least {@code (size + 63) / 64} words, not null
+     * @return 条件を満たす期間の数 - the number of matching intervals
+     * @see AbstractTemporalInterval#contains(long)
+     */
+    public static int contains(@NonNull long[] froms, @NonNull long[] tos, int size, long epoch, @NonNull long[] mask) {
+        return overlapsAsClosed(froms, tos, size, epoch, epoch, mask);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間のビットを設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param froms 開始エポック数 - the epochs of start, not null
+     * @param tos   終了エポック数 - the epochs of end, not null
+     * @param size  期間の数 - the number of intervals
+     * @param from  比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to    比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param mask  結果 - the words of bitmask to be overwritten, at least {@code (size + 63) / 64} words, not null
+     * @return 条件を満たす期間の数 - the number of matching intervals
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public static int overlapsAsOpen(@NonNull long[] froms, @NonNull long[] tos, int size, long from, long to,
+                                     @NonNull long[] mask) {
+        if (size < 0 || froms.length < size || tos.length < size) {
+            throw new IllegalArgumentException("size must be within the arrays");
+        }
+        if (mask.length < (size + 63) >>> 6) {
+            throw new IllegalArgumentException("mask must have (size + 63) / 64 words");
+        }
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        IntervalOperationEvent event = IntervalMetrics.begin();
+        int count = KERNEL.evaluate(froms, tos, size, clamp(from), clamp(to), mask);
+        IntervalMetrics.end(event, IntervalMetrics.Operation.PREDICATE, size);
+        return count;
+    }
+
+    /**
+     * The scalar kernel, setting the bits of the intervals with {@code froms[i] < hi && lo < tos[i]}.
+     */
+    static int scalar(long[] froms, long[] tos, int size, long lo, long hi, long[] mask) {
+        int count = 0;
+        int words = size >>> 6;
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            long word = 0L;
+            for (int b = 0; b < 64; b++) {
+                // froms < hi and lo < tos, both as the sign of the differences
+                word |= (((froms[base + b] - hi) & (lo - tos[base + b])) >>> 63) << b;
+            }
+            mask[w] = word;
+            count += Long.bitCount(word);
+        }
+        if ((size & 63) != 0) {
+            int base = words << 6;
+            long word = 0L;
+            for (int b = 0; base + b < size; b++) {
+                word |= (((froms[base + b] - hi) & (lo - tos[base + b])) >>> 63) << b;
+            }
+            mask[words] = word;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間のビットを設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param froms 開始エポック数 - the epochs of start, not null
+     * @param tos   終了エポック数 - the epochs of end, not null
+     * @param size  期間の数 - the number of intervals
+     * @param from  比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to    比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param mask  結果 - the words of bitmask to be overwritten, at least {@code (size + 63) / 64} words, not null
+     * @return 条件を満たす期間の数 - the number of matching intervals
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public static int overlapsAsClosed(@NonNull long[] froms, @NonNull long[] tos, int size, long from, long to,
+                                       @NonNull long[] mask) {
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return overlapsAsOpen(froms, tos, size, Epochs.before(from), Epochs.after(to), mask);
+    }
+
+    private static long clamp(long epoch) {
+        return Math.max(MIN_EPOCH, Math.min(MAX_EPOCH, epoch));
+    }
+
+    /**
+     * Loads the kernel on the Vector API, which is present only in META-INF/versions/17 of the JAR
+     * and linkable only with the incubator module.
+     */
+    static Optional<Kernel> vectorKernel() {
+        try {
+            return Optional.of((Kernel) Class.forName("com.example.core.temporal.VectorPredicateKernel")
+                    .getDeclaredConstructor()
+                    .newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The kernel evaluating {@code froms[i] < hi && lo < tos[i]} into the mask, returning the number of the bits set.
+     */
+    @FunctionalInterface
+    interface Kernel {
+        int evaluate(long[] froms, long[] tos, int size, long lo, long hi, long[] mask);
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 複数のスレッドから同時に追加、削除、検索できる可変な期間の索引を表す。
+ * </p>
+ * <p>
+ * ConcurrentIntervalIndex is a thread-safe mutable index of intervals, backed by a concurrent skip list
+ * ordered by the epoch of start.<br>
+ * The queries never block: they scan the starts from the query minus the longest length present,
+ * bounded by the highest power of two among the counts of the intervals by their lengths in powers of two,
+ * and see the concurrent updates in a weakly consistent way.
+ * Removing a long interval shrinks the scan again.
+ * The updates lock only the stripes of the time buckets spanned by the interval, so that
+ * {@link #addIfNoOverlap(AbstractTemporalInterval)} is atomic against the other updates of the overlapping intervals
+ * while the updates on the distant times proceed in parallel.
+ * </p>
+ * <p>
+ * The boundary semantics are the same as {@link AbstractTemporalInterval#contains(Temporal)},
+ * {@link AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)} and
+ * {@link AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)}.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class ConcurrentIntervalIndex<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    /**
+     * The default width of a time bucket in the epochs, an hour for {@link LocalDateTimeInterval} and {@link LocalTimeInterval}.
+     */
+    public static final long DEFAULT_BUCKET_WIDTH = 3600L;
+    private static final int STRIPES = 64;
+    private static final Comparator<Node<?>> ORDER =
+            Comparator.<Node<?>>comparingLong(node -> node.from).thenComparingLong(node -> node.sequence);
+
+    private final IntervalType<T, I> type;
+    private final long bucketWidth;
+    private final NavigableSet<Node<I>> nodes = new ConcurrentSkipListSet<>(ORDER);
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final AtomicLong sequence = new AtomicLong();
+    /**
+     * The number of the intervals whose length is less than 2^k and not less than 2^(k-1) at k,
+     * incremented before inserting a node and decremented after removing it, so that a scan never misses an interval.
+     */
+    private final AtomicIntegerArray lengthClasses = new AtomicIntegerArray(Long.SIZE + 1);
+    private final AtomicInteger size = new AtomicInteger();
+
+    private ConcurrentIntervalIndex(IntervalType<T, I> type, long bucketWidth) {
+        this.type = type;
+        this.bucketWidth = bucketWidth;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * <p>
+     * 既定の幅の時間帯でロックする空の索引を生成する。
+     * </p>
+     * <p>
+     * Creates an empty index which locks by the time buckets of {@link #DEFAULT_BUCKET_WIDTH}.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 索引 - the index
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> ConcurrentIntervalIndex<T, I> create(
+            @NonNull IntervalType<T, I> type) {
+        return create(type, DEFAULT_BUCKET_WIDTH);
+    }
+
+    /**
+     * <p>
+     * 指定した幅の時間帯でロックする空の索引を生成する。
+     * </p>
+     * <p>
+     * Creates an empty index which locks by the time buckets of the specified width.
+     * The width should be about the typical length of the intervals.
+     * </p>
+     *
+     * @param type        期間の種類 - the type of the intervals, not null
+     * @param bucketWidth 時間帯の幅 - the width of a time bucket in the epochs, must be positive
+     * @param <T>         {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>         {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 索引 - the index
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> ConcurrentIntervalIndex<T, I> create(
+            @NonNull IntervalType<T, I> type, long bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("bucketWidth must be positive");
+        }
+        return new ConcurrentIntervalIndex<>(type, bucketWidth);
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * <p>
+     * 期間を追加する。
+     * </p>
+     * <p>
+     * Adds the interval regardless of the overlaps.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     */
+    public void add(@NonNull I interval) {
+        int[] stripes = lock(interval);
+        try {
+            insert(interval);
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    /**
+     * <p>
+     * 開区間とみなして重複する期間がない場合に限り、期間を追加する。
+     * </p>
+     * <p>
+     * Adds the interval atomically only if no interval overlaps with it, regarding both as Open interval,
+     * so that the intervals just touching each other are accepted.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @return 追加すればtrue - true if the interval is added
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public boolean addIfNoOverlap(@NonNull I interval) {
+        int[] stripes = lock(interval);
+        try {
+            if (anyOverlappingAsOpen(interval.epochFrom, interval.epochTo)) {
+                return false;
+            }
+            insert(interval);
+            return true;
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    /**
+     * <p>
+     * 期間を1件削除する。
+     * </p>
+     * <p>
+     * Removes an interval equal to the specified one, the same instance first.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @return 削除すればtrue - true if an interval is removed
+     * @see AbstractTemporalInterval#equals(AbstractTemporalInterval)
+     */
+    public boolean remove(@NonNull I interval) {
+        NavigableSet<Node<I>> candidates = nodes.subSet(
+                new Node<>(interval.epochFrom, Long.MIN_VALUE, null), true,
+                new Node<>(interval.epochFrom, Long.MAX_VALUE, null), true);
+        for (Node<I> node : candidates) {
+            if (node.interval == interval && nodes.remove(node)) {
+                removed(node);
+                return true;
+            }
+        }
+        for (Node<I> node : candidates) {
+            if (node.interval.equals(interval) && nodes.remove(node)) {
+                removed(node);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>
+     * temporalを含む期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which contain the specified temporal.
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @return temporalを含む期間 - the intervals containing the temporal, in order of the epoch of start
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public List<I> containing(@NonNull T temporal) {
+        long epoch = type.toEpoch(temporal);
+        return overlappingAsClosed(epoch, epoch);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the specified interval, regarding both as Open interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsOpen(@NonNull I other) {
+        return overlappingAsOpen(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public List<I> overlappingAsOpen(long from, long to) {
+        List<I> result = new ArrayList<>();
+        forEachOverlappingAsOpen(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval which overlaps with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEachOverlappingAsOpen(long from, long to, @NonNull Consumer<? super I> action) {
+        for (Node<I> node : candidates(from, to)) {
+            if (from < node.to) {
+                action.accept(node.interval);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間があるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if any interval overlaps with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間があればtrue - true if any interval overlaps
+     */
+    public boolean anyOverlappingAsOpen(long from, long to) {
+        for (Node<I> node : candidates(from, to)) {
+            if (from < node.to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the specified interval, regarding both as Closed interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsClosed(@NonNull I other) {
+        return overlappingAsClosed(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public List<I> overlappingAsClosed(long from, long to) {
+        return overlappingAsOpen(Epochs.before(from), Epochs.after(to));
+    }
+
+    /**
+     * Returns the number of the nodes scanned by a query, for the tests.
+     */
+    int candidateCount(long from, long to) {
+        return candidates(from, to).size();
+    }
+
+    /**
+     * Returns the nodes starting before to and not more than the longest length before from.
+     */
+    private NavigableSet<Node<I>> candidates(long from, long to) {
+        long length = maxLength();
+        long lower = from < Long.MIN_VALUE + length ? Long.MIN_VALUE : from - length;
+        if (lower >= to) {
+            return Collections.emptyNavigableSet();
+        }
+        return nodes.subSet(new Node<>(lower, Long.MIN_VALUE, null), true, new Node<>(to, Long.MIN_VALUE, null), false);
+    }
+
+    /**
+     * Returns the upper bound of the lengths of the intervals, 2^k - 1 for the highest class k present.
+     */
+    private long maxLength() {
+        for (int k = Long.SIZE; k > 0; k--) {
+            if (lengthClasses.get(k) > 0) {
+                return k == Long.SIZE ? Long.MAX_VALUE : (1L << k) - 1L;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Returns the class of the length, the number of the bits of the length as unsigned, from 1 to 64.
+     */
+    private static int lengthClass(Node<?> node) {
+        return Long.SIZE - Long.numberOfLeadingZeros(node.to - node.from);
+    }
+
+    private void insert(I interval) {
+        Node<I> node = new Node<>(interval.epochFrom, sequence.getAndIncrement(), interval);
+        // published before the node, so that a scan finding the node also covers its length
+        lengthClasses.incrementAndGet(lengthClass(node));
+        nodes.add(node);
+        size.incrementAndGet();
+    }
+
+    private void removed(Node<I> node) {
+        lengthClasses.decrementAndGet(lengthClass(node));
+        size.decrementAndGet();
+    }
+
+    /**
+     * Locks the stripes of the buckets containing the epochs from the start inclusive to the end exclusive,
+     * which two intervals overlapping as Open interval always share, in ascending order to avoid deadlocks.
+     */
+    private int[] lock(I interval) {
+        long first = Math.floorDiv(interval.epochFrom, bucketWidth);
+        long last = Math.floorDiv(interval.epochTo - 1L, bucketWidth);
+        int[] stripes;
+        if (last - first + 1 >= STRIPES) {
+            stripes = new int[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = i;
+            }
+        } else {
+            int start = (int) Math.floorMod(first, (long) STRIPES);
+            int count = (int) (last - first + 1);
+            stripes = new int[count];
+            // consecutive buckets wrap around the stripes at most once
+            int wrapped = Math.max(start + count - STRIPES, 0);
+            for (int i = 0; i < wrapped; i++) {
+                stripes[i] = i;
+            }
+            for (int i = wrapped; i < count; i++) {
+                stripes[i] = start + i - wrapped;
+            }
+        }
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private static final class Node<I extends AbstractTemporalInterval<?, I>> {
+        private final long from;
+        private final long to;
+        private final long sequence;
+        private final I interval;
+
+        Node(long from, long sequence, I interval) {
+            this.from = from;
+            this.to = interval == null ? from : interval.epochTo;
+            this.sequence = sequence;
+            this.interval = interval;
+        }
+    }
+}
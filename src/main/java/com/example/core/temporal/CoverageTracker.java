@@ -0,0 +1,395 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * <p>
+ * 追加と期限切れが続く期間に対し、和集合の長さと同時に重複する期間の数を逐次に保持する。
+ * </p>
+ * <p>
+ * CoverageTracker maintains the total length of the union of the active intervals and their concurrency
+ * incrementally, as the intervals are added and expire, in amortized O(log E) per event for the range E of the epochs.<br>
+ * The intervals are kept in a segment tree over [-2<sup>61</sup>, 2<sup>61</sup>) whose nodes are created on demand,
+ * each node holding the number of the intervals covering its whole range, the covered length and the maximum concurrency under it.
+ * Each interval is regarded as the span from its start inclusive to its end exclusive,
+ * so that the intervals just touching each other are not simultaneous, as {@link AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)}.
+ * </p>
+ * <p>
+ * {@link #advanceTo(long)} expires the intervals ending at or before the watermark of the stream,
+ * so that the tracker follows a sliding window without the explicit {@link #expire(AbstractTemporalInterval)}.
+ * The window starts at the latest watermark, and the covered length and the peak concurrency count only within it.
+ * The nodes left empty by the expired intervals are pruned and reused, so that the memory is bounded by the active intervals
+ * rather than by all the intervals ever added.
+ * </p>
+ * <p>
+ * This class is mutable and not thread-safe.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class CoverageTracker<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    private static final long LOWER = -(1L << 61);
+    private static final long UPPER = 1L << 61;
+    private static final int ROOT = 0;
+    /**
+     * The root is never a child, so its index marks the absent child.
+     */
+    private static final int NONE = 0;
+
+    private final IntervalType<T, I> type;
+    private final PriorityQueue<I> byEnd = new PriorityQueue<>(Comparator.comparingLong(AbstractTemporalInterval::getEpochTo));
+    /**
+     * The intervals expired explicitly and still in the queue, removed lazily on {@link #advanceTo(long)}.
+     */
+    private final Map<I, Integer> expired = new IdentityHashMap<>();
+    private int[] lefts = new int[64];
+    private int[] rights = new int[64];
+    private int[] counts = new int[64];
+    private long[] lengths = new long[64];
+    private int[] maxes = new int[64];
+    private int nodes = 1;
+    /**
+     * The head of the pruned nodes chained by {@link #lefts}, or {@link #NONE}.
+     */
+    private int free = NONE;
+    private int freed;
+    private long watermark = LOWER;
+    private int size;
+
+    private CoverageTracker(IntervalType<T, I> type) {
+        this.type = type;
+    }
+
+    /**
+     * <p>
+     * 空の集計を生成する。
+     * </p>
+     * <p>
+     * Creates an empty tracker.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 集計 - the tracker
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> CoverageTracker<T, I> create(
+            @NonNull IntervalType<T, I> type) {
+        return new CoverageTracker<>(type);
+    }
+
+    /**
+     * <p>
+     * 有効な期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the active intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * 期間を追加する。
+     * </p>
+     * <p>
+     * Adds the interval, in O(log E).
+     * </p>
+     *
+     * @param interval 期間 - the interval, within [-2<sup>61</sup>, 2<sup>61</sup>) in the epochs, not null
+     */
+    public void add(@NonNull I interval) {
+        if (interval.epochFrom < LOWER || interval.epochTo > UPPER) {
+            throw new IllegalArgumentException("epoch out of range");
+        }
+        update(ROOT, LOWER, UPPER, interval.epochFrom, interval.epochTo, 1);
+        byEnd.add(interval);
+        size++;
+    }
+
+    /**
+     * <p>
+     * 追加されている期間を期限切れにする。
+     * </p>
+     * <p>
+     * Expires the interval, which must have been added and not expired yet, in amortized O(log E).
+     * </p>
+     *
+     * @param interval 期間 - the interval, the same instance as added, not null
+     */
+    public void expire(@NonNull I interval) {
+        update(ROOT, LOWER, UPPER, interval.epochFrom, interval.epochTo, -1);
+        expired.merge(interval, 1, Integer::sum);
+        size--;
+    }
+
+    /**
+     * <p>
+     * 終了時点がwatermark以前の期間を期限切れにする。
+     * </p>
+     * <p>
+     * Expires all the intervals ending at or before the specified watermark of the stream.
+     * </p>
+     *
+     * @param watermark 基準時点 - the watermark, not null
+     * @return 期限切れにした期間の数 - the number of the expired intervals
+     */
+    public int advanceTo(@NonNull T watermark) {
+        return advanceTo(type.toEpoch(watermark));
+    }
+
+    /**
+     * <p>
+     * 終了エポック数がwatermark以下の期間を期限切れにする。
+     * </p>
+     * <p>
+     * Expires all the intervals whose epoch of end is at or before the specified watermark of the stream.
+     * </p>
+     *
+     * @param watermark 基準エポック数 - the watermark in the epoch
+     * @return 期限切れにした期間の数 - the number of the expired intervals
+     */
+    public int advanceTo(long watermark) {
+        this.watermark = Math.max(this.watermark, Math.min(watermark, UPPER));
+        int count = 0;
+        while (!byEnd.isEmpty() && byEnd.peek().epochTo <= watermark) {
+            I interval = byEnd.poll();
+            Integer pending = expired.get(interval);
+            if (pending != null) {
+                if (pending == 1) {
+                    expired.remove(interval);
+                } else {
+                    expired.put(interval, pending - 1);
+                }
+                continue;
+            }
+            update(ROOT, LOWER, UPPER, interval.epochFrom, interval.epochTo, -1);
+            size--;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * 有効な期間の和集合の長さを返す。
+     * </p>
+     * <p>
+     * Returns the total length of the union of the active intervals within the window from the latest watermark,
+     * in O(1) before the first {@link #advanceTo(long)} and O(log E) after it.
+     * </p>
+     *
+     * @return 和集合の長さ - the covered length in the epochs
+     */
+    public long getCoveredLength() {
+        if (watermark == LOWER) {
+            return lengths[ROOT];
+        }
+        return coveredLength(ROOT, LOWER, UPPER, watermark);
+    }
+
+    /**
+     * <p>
+     * 同時に重複する有効な期間の最大数を返す。
+     * </p>
+     * <p>
+     * Returns the maximum number of the active intervals overlapping each other at any point within the window
+     * from the latest watermark, in O(1) before the first {@link #advanceTo(long)} and O(log E) after it.
+     * </p>
+     *
+     * @return 期間の最大数 - the peak concurrency
+     */
+    public int getPeakConcurrency() {
+        if (watermark == LOWER) {
+            return maxes[ROOT];
+        }
+        return peakConcurrency(ROOT, LOWER, UPPER, watermark);
+    }
+
+    /**
+     * <p>
+     * temporalで有効な期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the active intervals at the specified temporal, from their start inclusive to their end exclusive.
+     * </p>
+     *
+     * @param temporal 時点 - the temporal, not null
+     * @return 期間の数 - the concurrency
+     */
+    public int getConcurrency(@NonNull T temporal) {
+        return getConcurrency(type.toEpoch(temporal));
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点で有効な期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the active intervals at the specified point expressed as the number since the epoch,
+     * from their start inclusive to their end exclusive.
+     * </p>
+     *
+     * @param epoch エポック数 - the number since the epoch
+     * @return 期間の数 - the concurrency
+     */
+    public int getConcurrency(long epoch) {
+        if (epoch < LOWER || epoch >= UPPER) {
+            return 0;
+        }
+        int count = 0;
+        int node = ROOT;
+        long lo = LOWER;
+        long hi = UPPER;
+        while (true) {
+            count += counts[node];
+            long mid = lo + (hi - lo) / 2;
+            int child = epoch < mid ? lefts[node] : rights[node];
+            if (child == NONE) {
+                return count;
+            }
+            if (epoch < mid) {
+                hi = mid;
+            } else {
+                lo = mid;
+            }
+            node = child;
+        }
+    }
+
+    private void update(int node, long lo, long hi, long from, long to, int delta) {
+        if (from <= lo && hi <= to) {
+            counts[node] += delta;
+        } else {
+            long mid = lo + (hi - lo) / 2;
+            if (from < mid) {
+                if (lefts[node] == NONE) {
+                    int child = allocate();
+                    lefts[node] = child;
+                }
+                update(lefts[node], lo, mid, from, to, delta);
+                if (isEmpty(lefts[node])) {
+                    release(lefts[node]);
+                    lefts[node] = NONE;
+                }
+            }
+            if (mid < to) {
+                if (rights[node] == NONE) {
+                    int child = allocate();
+                    rights[node] = child;
+                }
+                update(rights[node], mid, hi, from, to, delta);
+                if (isEmpty(rights[node])) {
+                    release(rights[node]);
+                    rights[node] = NONE;
+                }
+            }
+        }
+        int left = lefts[node];
+        int right = rights[node];
+        lengths[node] = counts[node] > 0 ? hi - lo
+                : (left == NONE ? 0L : lengths[left]) + (right == NONE ? 0L : lengths[right]);
+        maxes[node] = counts[node] + Math.max(left == NONE ? 0 : maxes[left], right == NONE ? 0 : maxes[right]);
+    }
+
+    /**
+     * Returns the covered length in [from, hi) under the node.
+     */
+    private long coveredLength(int node, long lo, long hi, long from) {
+        if (hi <= from) {
+            return 0L;
+        }
+        if (from <= lo) {
+            return lengths[node];
+        }
+        if (counts[node] > 0) {
+            return hi - from;
+        }
+        long mid = lo + (hi - lo) / 2;
+        int left = lefts[node];
+        int right = rights[node];
+        return (left == NONE ? 0L : coveredLength(left, lo, mid, from))
+                + (right == NONE ? 0L : coveredLength(right, mid, hi, from));
+    }
+
+    /**
+     * Returns the maximum concurrency in [from, hi) under the node.
+     */
+    private int peakConcurrency(int node, long lo, long hi, long from) {
+        if (hi <= from) {
+            return 0;
+        }
+        if (from <= lo) {
+            return maxes[node];
+        }
+        long mid = lo + (hi - lo) / 2;
+        int left = lefts[node];
+        int right = rights[node];
+        return counts[node] + Math.max(left == NONE ? 0 : peakConcurrency(left, lo, mid, from),
+                right == NONE ? 0 : peakConcurrency(right, mid, hi, from));
+    }
+
+    /**
+     * Checks if no interval covers any part of the node, which implies the same for all its descendants.
+     */
+    private boolean isEmpty(int node) {
+        return counts[node] == 0 && lengths[node] == 0L;
+    }
+
+    /**
+     * Pushes the node and its descendants to the free list.
+     */
+    private void release(int node) {
+        if (lefts[node] != NONE) {
+            release(lefts[node]);
+        }
+        if (rights[node] != NONE) {
+            release(rights[node]);
+        }
+        rights[node] = NONE;
+        counts[node] = 0;
+        lengths[node] = 0L;
+        maxes[node] = 0;
+        lefts[node] = free;
+        free = node;
+        freed++;
+    }
+
+    /**
+     * Returns the number of the nodes in use, including the root.
+     */
+    int nodeCount() {
+        return nodes - freed;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int node = free;
+            free = lefts[node];
+            lefts[node] = NONE;
+            freed--;
+            return node;
+        }
+        if (nodes == counts.length) {
+            int capacity = nodes * 2;
+            lefts = Arrays.copyOf(lefts, capacity);
+            rights = Arrays.copyOf(rights, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            maxes = Arrays.copyOf(maxes, capacity);
+        }
+        return nodes++;
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * <p>
+ * 各時点を含む期間の数と、その最大値を求めるための線分木を表す。
+ * </p>
+ * <p>
+ * CoverageTree is a segment tree over the coordinate-compressed epochs of the intervals, which counts
+ * the intervals containing a point and finds the maximum number of simultaneous intervals within a window.<br>
+ * The sorted distinct epochs c<sub>0</sub> &lt; ... &lt; c<sub>m-1</sub> are compressed into 2m+1 slots,
+ * each epoch itself and each open span between them, so that both of the boundary semantics are answered exactly:
+ * an interval covers the slots from its start to its end, both inclusive, as {@link AbstractTemporalInterval#contains(long)},
+ * and two intervals overlapping as Open interval always share an open span.<br>
+ * The tree is built in O(n log n) and answers a query in O(log n).
+ * {@link #add(AbstractTemporalInterval)} and {@link #remove(AbstractTemporalInterval)} update it by range addition
+ * in O(log n), for the intervals whose epochs are in the universe given on construction.
+ * </p>
+ * <p>
+ * This class is mutable and not thread-safe.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class CoverageTree<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    /**
+     * The value of the epoch slots in the maximum over the open spans, low enough to stay negative after additions.
+     */
+    private static final int EXCLUDED = Integer.MIN_VALUE / 2;
+
+    private final IntervalType<T, I> type;
+    private final long[] epochs;
+    private final int slots;
+    private final int height;
+    /**
+     * The maximum count of all the slots under each node, the leaves at slots + slot.
+     */
+    private final int[] maxAll;
+    /**
+     * The maximum count of the open span slots under each node.
+     */
+    private final int[] maxSpan;
+    /**
+     * The pending addition of each internal node.
+     */
+    private final int[] pending;
+    private int size;
+
+    private CoverageTree(IntervalType<T, I> type, long[] epochs, int[] counts, int size) {
+        this.type = type;
+        this.epochs = epochs;
+        this.slots = counts.length;
+        this.height = Integer.SIZE - Integer.numberOfLeadingZeros(slots);
+        this.maxAll = new int[2 * slots];
+        this.maxSpan = new int[2 * slots];
+        this.pending = new int[slots];
+        this.size = size;
+        for (int slot = 0; slot < slots; slot++) {
+            maxAll[slots + slot] = counts[slot];
+            // the even slots are the open spans, the odd slots are the epochs
+            maxSpan[slots + slot] = (slot & 1) == 0 ? counts[slot] : EXCLUDED;
+        }
+        for (int node = slots - 1; node > 0; node--) {
+            maxAll[node] = Math.max(maxAll[2 * node], maxAll[2 * node + 1]);
+            maxSpan[node] = Math.max(maxSpan[2 * node], maxSpan[2 * node + 1]);
+        }
+    }
+
+    /**
+     * <p>
+     * 期間の集合から線分木を構築する。
+     * </p>
+     * <p>
+     * Builds a tree from the specified intervals.
+     * </p>
+     *
+     * @param type      期間の種類 - the type of the intervals, not null
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 線分木 - the tree
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> CoverageTree<T, I> of(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> intervals) {
+        return of(type, intervals, Collections.emptyList());
+    }
+
+    /**
+     * <p>
+     * 期間の集合から、後から追加する期間の時点も含めて線分木を構築する。
+     * </p>
+     * <p>
+     * Builds a tree from the specified intervals, whose universe also includes the epochs of the intervals
+     * to be added later.
+     * </p>
+     *
+     * @param type      期間の種類 - the type of the intervals, not null
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param universe  後から追加する期間 - the intervals which may be added later, not added on construction, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 線分木 - the tree
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> CoverageTree<T, I> of(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> intervals,
+            @NonNull Collection<? extends I> universe) {
+        long[] epochs = new long[2 * (intervals.size() + universe.size())];
+        int n = 0;
+        for (I interval : intervals) {
+            epochs[n++] = interval.epochFrom;
+            epochs[n++] = interval.epochTo;
+        }
+        for (I interval : universe) {
+            epochs[n++] = interval.epochFrom;
+            epochs[n++] = interval.epochTo;
+        }
+        Arrays.sort(epochs, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || epochs[i] != epochs[distinct - 1]) {
+                epochs[distinct++] = epochs[i];
+            }
+        }
+        epochs = Arrays.copyOf(epochs, distinct);
+
+        // the difference of the counts between the adjacent slots
+        int[] counts = new int[2 * distinct + 1];
+        for (I interval : intervals) {
+            counts[slotOf(epochs, interval.epochFrom)]++;
+            counts[slotOf(epochs, interval.epochTo) + 1]--;
+        }
+        for (int slot = 1; slot < counts.length; slot++) {
+            counts[slot] += counts[slot - 1];
+        }
+        return new CoverageTree<>(type, epochs, counts, intervals.size());
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * 期間を追加する。
+     * </p>
+     * <p>
+     * Adds the interval, whose epochs must be in the universe.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @throws IllegalArgumentException 時点が構築時に与えられていない場合 - if the epochs are not in the universe
+     */
+    public void add(@NonNull I interval) {
+        update(interval, 1);
+        size++;
+    }
+
+    /**
+     * <p>
+     * 追加されている期間を削除する。
+     * </p>
+     * <p>
+     * Removes the interval, which must have been added.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @throws IllegalArgumentException 時点が構築時に与えられていない場合 - if the epochs are not in the universe
+     */
+    public void remove(@NonNull I interval) {
+        update(interval, -1);
+        size--;
+    }
+
+    /**
+     * <p>
+     * temporalを含む期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the intervals which contain the specified temporal.
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @return 期間の数 - the number of intervals
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public int getCount(@NonNull T temporal) {
+        return getCount(type.toEpoch(temporal));
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the intervals which contain the specified point expressed as the number since the epoch.
+     * </p>
+     *
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @return 期間の数 - the number of intervals
+     * @see AbstractTemporalInterval#contains(long)
+     */
+    public int getCount(long epoch) {
+        int slot = slotOf(epochs, epoch);
+        return query(maxAll, slot, slot + 1);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、window内で同時に重複する期間の最大数を返す。
+     * </p>
+     * <p>
+     * Returns the maximum number of the intervals containing a point within the window, regarding both as Closed interval,
+     * so that the intervals touching each other are simultaneous at the point.
+     * </p>
+     *
+     * @param window 範囲 - the window, not null
+     * @return 期間の最大数 - the maximum number of intervals
+     */
+    public int getMaxAsClosed(@NonNull I window) {
+        return getMaxAsClosed(window.epochFrom, window.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された範囲内で同時に重複する期間の最大数を返す。
+     * </p>
+     * <p>
+     * Returns the maximum number of the intervals containing a point within the window expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from 範囲の開始エポック数 - the epoch of start of the window
+     * @param to   範囲の終了エポック数 - the epoch of end of the window, must not be less than from
+     * @return 期間の最大数 - the maximum number of intervals
+     */
+    public int getMaxAsClosed(long from, long to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return query(maxAll, slotOf(epochs, from), slotOf(epochs, to) + 1);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、window内で同時に重複する期間の最大数を返す。
+     * </p>
+     * <p>
+     * Returns the maximum number of the intervals overlapping each other within the window, regarding both as Open interval,
+     * so that the intervals just touching each other are not simultaneous.
+     * </p>
+     *
+     * @param window 範囲 - the window, not null
+     * @return 期間の最大数 - the maximum number of intervals
+     */
+    public int getMaxAsOpen(@NonNull I window) {
+        return getMaxAsOpen(window.epochFrom, window.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された範囲内で同時に重複する期間の最大数を返す。
+     * </p>
+     * <p>
+     * Returns the maximum number of the intervals overlapping each other within the window expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from 範囲の開始エポック数 - the epoch of start of the window
+     * @param to   範囲の終了エポック数 - the epoch of end of the window, must be greater than from
+     * @return 期間の最大数 - the maximum number of intervals
+     */
+    public int getMaxAsOpen(long from, long to) {
+        if (from >= to) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        // an open interval covering an epoch also covers the open spans around it, so the spans suffice
+        int first = slotOf(epochs, from);
+        int last = slotOf(epochs, to);
+        return Math.max(query(maxSpan, first + (first & 1), last - (last & 1) + 1), 0);
+    }
+
+    /**
+     * Returns the slot of the epoch, 2i + 1 for the epoch c<sub>i</sub> and 2i for the open span before it.
+     */
+    private static int slotOf(long[] epochs, long epoch) {
+        int index = Arrays.binarySearch(epochs, epoch);
+        return index >= 0 ? 2 * index + 1 : 2 * (-index - 1);
+    }
+
+    private void update(I interval, int value) {
+        int from = Arrays.binarySearch(epochs, interval.epochFrom);
+        int to = Arrays.binarySearch(epochs, interval.epochTo);
+        if (from < 0 || to < 0) {
+            throw new IllegalArgumentException("epochs must be in the universe");
+        }
+        int left = slots + 2 * from + 1;
+        int right = slots + 2 * to + 2;
+        int left0 = left;
+        int right0 = right;
+        for (; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                apply(left++, value);
+            }
+            if ((right & 1) == 1) {
+                apply(--right, value);
+            }
+        }
+        rebuild(left0);
+        rebuild(right0 - 1);
+    }
+
+    private void apply(int node, int value) {
+        maxAll[node] += value;
+        maxSpan[node] += value;
+        if (node < slots) {
+            pending[node] += value;
+        }
+    }
+
+    /**
+     * Recomputes the ancestors of the node from their children and pending additions.
+     */
+    private void rebuild(int node) {
+        while (node > 1) {
+            node >>= 1;
+            maxAll[node] = Math.max(maxAll[2 * node], maxAll[2 * node + 1]) + pending[node];
+            maxSpan[node] = Math.max(maxSpan[2 * node], maxSpan[2 * node + 1]) + pending[node];
+        }
+    }
+
+    /**
+     * Pushes the pending additions of the ancestors down to the node.
+     */
+    private void push(int node) {
+        for (int shift = height; shift > 0; shift--) {
+            int ancestor = node >> shift;
+            if (ancestor > 0 && pending[ancestor] != 0) {
+                apply(2 * ancestor, pending[ancestor]);
+                apply(2 * ancestor + 1, pending[ancestor]);
+                pending[ancestor] = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum of the slots from the first inclusive to the last exclusive, or {@link #EXCLUDED} if none.
+     */
+    private int query(int[] max, int first, int last) {
+        int left = slots + first;
+        int right = slots + last;
+        if (left >= right) {
+            return EXCLUDED;
+        }
+        push(left);
+        push(right - 1);
+        int result = EXCLUDED;
+        for (; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                result = Math.max(result, max[left++]);
+            }
+            if ((right & 1) == 1) {
+                result = Math.max(result, max[--right]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.core.temporal;
+
+/**
+ * <p>
+ * エポック数で表された期間を受け取る処理を表す。
+ * </p>
+ * <p>
+ * EpochIntervalConsumer is a sink of intervals expressed as the numbers since the epoch,
+ * which receives the decoded or parsed intervals without materializing them.
+ * </p>
+ *
+ * @see IntervalArray.Builder
+ */
+@FunctionalInterface
+public interface EpochIntervalConsumer {
+    /**
+     * <p>
+     * エポック数で表された期間を受け取る。
+     * </p>
+     * <p>
+     * Accepts the interval expressed as the numbers since the epoch.
+     * </p>
+     *
+     * @param from 開始エポック数 - the epoch of start
+     * @param to   終了エポック数 - the epoch of end
+     */
+    void accept(long from, long to);
+}
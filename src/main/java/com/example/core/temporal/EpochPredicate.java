@@ -0,0 +1,79 @@
+package com.example.core.temporal;
+
+/**
+ * <p>
+ * エポック数で表された期間に対する条件を表す。
+ * </p>
+ * <p>
+ * EpochPredicate is a predicate on an interval expressed as the numbers since the epoch,
+ * which is evaluated against the columnar storages without materializing the intervals.
+ * </p>
+ */
+@FunctionalInterface
+public interface EpochPredicate {
+    /**
+     * <p>
+     * エポック数で表された期間が条件を満たすかどうかを判定する。
+     * </p>
+     * <p>
+     * Evaluates this predicate on the interval expressed as the numbers since the epoch.
+     * </p>
+     *
+     * @param from 開始エポック数 - the epoch of start
+     * @param to   終了エポック数 - the epoch of end
+     * @return 条件を満たせばtrue - true if the interval matches this predicate
+     */
+    boolean test(long from, long to);
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間を判定する条件を返す。
+     * </p>
+     * <p>
+     * Returns the predicate matching the intervals which contain the specified epoch.
+     * </p>
+     *
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @return 条件 - the predicate
+     * @see AbstractTemporalInterval#contains(long)
+     */
+    static EpochPredicate contains(long epoch) {
+        return (from, to) -> from <= epoch && epoch <= to;
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間を判定する条件を返す。
+     * </p>
+     * <p>
+     * Returns the predicate matching the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param otherFrom 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param otherTo   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 条件 - the predicate
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    static EpochPredicate overlapsAsOpen(long otherFrom, long otherTo) {
+        return (from, to) -> from < otherTo && otherFrom < to;
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間を判定する条件を返す。
+     * </p>
+     * <p>
+     * Returns the predicate matching the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param otherFrom 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param otherTo   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 条件 - the predicate
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    static EpochPredicate overlapsAsClosed(long otherFrom, long otherTo) {
+        return (from, to) -> from <= otherTo && otherFrom <= to;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.core.temporal;
+
+/**
+ * Helpers for the numbers since the epoch.
+ * Epochs are integral, so comparisons as Closed interval are rewritten to comparisons as Open interval
+ * by widening the bounds by one, saturating at the limits of long.
+ */
+final class Epochs {
+    private Epochs() {
+    }
+
+    /**
+     * Returns the epoch just before the specified epoch.
+     */
+    static long before(long epoch) {
+        return epoch == Long.MIN_VALUE ? epoch : epoch - 1L;
+    }
+
+    /**
+     * Returns the epoch just after the specified epoch.
+     */
+    static long after(long epoch) {
+        return epoch == Long.MAX_VALUE ? epoch : epoch + 1L;
+    }
+}
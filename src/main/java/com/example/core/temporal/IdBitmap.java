@@ -0,0 +1,541 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ * 期間の識別子の集合を表す、圧縮された不変なビットマップ。
+ * </p>
+ * <p>
+ * IdBitmap is an immutable compressed bitmap of non-negative ids in the manner of Roaring bitmap.<br>
+ * The ids are partitioned by their upper 16 bits into containers, each of which is a sorted array
+ * while it holds at most 4096 ids, and a plain bitmap of 65536 bits otherwise,
+ * so that both sparse and dense sets stay compact and AND/OR are computed container by container.
+ * </p>
+ */
+public final class IdBitmap {
+    private static final IdBitmap EMPTY = new IdBitmap(new char[0], new Container[0]);
+
+    private final char[] keys;
+    private final Container[] containers;
+
+    private IdBitmap(char[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    /**
+     * <p>
+     * 空のビットマップを返す。
+     * </p>
+     * <p>
+     * Returns the empty bitmap.
+     * </p>
+     *
+     * @return 空のビットマップ - the empty bitmap
+     */
+    public static IdBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * <p>
+     * 識別子からビットマップを生成する。
+     * </p>
+     * <p>
+     * Creates a bitmap of the specified ids.
+     * </p>
+     *
+     * @param ids 識別子 - the non-negative ids, not null
+     * @return ビットマップ - the bitmap
+     */
+    public static IdBitmap of(@NonNull int... ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        Builder builder = new Builder();
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                builder.add(sorted[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * <p>
+     * 識別子が含まれるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this bitmap contains the specified id.
+     * </p>
+     *
+     * @param id 識別子 - the id
+     * @return 含まれればtrue - true if this bitmap contains the id
+     */
+    public boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    /**
+     * <p>
+     * 識別子の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of ids.
+     * </p>
+     *
+     * @return 識別子の数 - the number of ids
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (Container container : containers) {
+            cardinality += container.cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * <p>
+     * 空であるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this bitmap is empty.
+     * </p>
+     *
+     * @return 空であればtrue - true if this bitmap is empty
+     */
+    public boolean isEmpty() {
+        return containers.length == 0;
+    }
+
+    /**
+     * <p>
+     * otherとの積を返す。
+     * </p>
+     * <p>
+     * Returns the intersection with the other bitmap.
+     * </p>
+     *
+     * @param other 対象ビットマップ - the other bitmap, not null
+     * @return 積 - the intersection
+     */
+    public IdBitmap and(@NonNull IdBitmap other) {
+        int length = Math.min(keys.length, other.keys.length);
+        char[] resultKeys = new char[length];
+        Container[] resultContainers = new Container[length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    resultKeys[n] = keys[i];
+                    resultContainers[n++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return n == 0 ? EMPTY : new IdBitmap(Arrays.copyOf(resultKeys, n), Arrays.copyOf(resultContainers, n));
+    }
+
+    /**
+     * <p>
+     * otherとの和を返す。
+     * </p>
+     * <p>
+     * Returns the union with the other bitmap.
+     * </p>
+     *
+     * @param other 対象ビットマップ - the other bitmap, not null
+     * @return 和 - the union
+     */
+    public IdBitmap or(@NonNull IdBitmap other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        int length = keys.length + other.keys.length;
+        char[] resultKeys = new char[length];
+        Container[] resultContainers = new Container[length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j >= other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                resultKeys[n] = keys[i];
+                resultContainers[n++] = containers[i++];
+            } else if (i >= keys.length || keys[i] > other.keys[j]) {
+                resultKeys[n] = other.keys[j];
+                resultContainers[n++] = other.containers[j++];
+            } else {
+                resultKeys[n] = keys[i];
+                resultContainers[n++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return new IdBitmap(Arrays.copyOf(resultKeys, n), Arrays.copyOf(resultContainers, n));
+    }
+
+    /**
+     * <p>
+     * 識別子を昇順に処理する。
+     * </p>
+     * <p>
+     * Performs the action for each id in ascending order.
+     * </p>
+     *
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEach(@NonNull IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * <p>
+     * 識別子を昇順の配列で返す。
+     * </p>
+     * <p>
+     * Returns the ids as an array in ascending order.
+     * </p>
+     *
+     * @return 識別子 - the ids
+     */
+    public int[] toArray() {
+        int[] ids = new int[cardinality()];
+        int[] n = new int[1];
+        forEach(id -> ids[n[0]++] = id);
+        return ids;
+    }
+
+    /**
+     * Creates a bitmap of the bits set in the words, the id {@code i} at bit {@code i % 64} of word {@code i / 64}.
+     */
+    static IdBitmap ofWords(long[] words) {
+        int blocks = (words.length + BitmapContainer.WORDS - 1) / BitmapContainer.WORDS;
+        char[] resultKeys = new char[blocks];
+        Container[] resultContainers = new Container[blocks];
+        int n = 0;
+        for (int key = 0; key < blocks; key++) {
+            int start = key * BitmapContainer.WORDS;
+            long[] block = Arrays.copyOfRange(words, start, start + BitmapContainer.WORDS);
+            Container container = Container.of(block);
+            if (container.cardinality() > 0) {
+                resultKeys[n] = (char) key;
+                resultContainers[n++] = container;
+            }
+        }
+        return n == 0 ? EMPTY : new IdBitmap(Arrays.copyOf(resultKeys, n), Arrays.copyOf(resultContainers, n));
+    }
+
+    /**
+     * Sets the bits of the ids in the words in place, which must be long enough for the largest id.
+     */
+    void orInto(long[] words) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].orInto(words, keys[i] * BitmapContainer.WORDS);
+        }
+    }
+
+    /**
+     * Clears the bits of the ids in the words in place, ignoring the ids beyond the words.
+     */
+    void andNotInto(long[] words) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].andNotInto(words, keys[i] * BitmapContainer.WORDS);
+        }
+    }
+
+    /**
+     * Builds a bitmap from the ids appended in strictly ascending order.
+     */
+    static final class Builder {
+        private char[] keys = new char[4];
+        private Container[] containers = new Container[4];
+        private int size;
+        private int currentKey = -1;
+        private char[] values = new char[16];
+        private long[] words;
+        private int cardinality;
+
+        void add(int id) {
+            if (id < 0) {
+                throw new IllegalArgumentException("id must not be negative");
+            }
+            int key = id >>> 16;
+            if (key != currentKey) {
+                flush();
+                currentKey = key;
+            }
+            char value = (char) id;
+            if (words != null) {
+                words[value >>> 6] |= 1L << value;
+            } else if (cardinality < ArrayContainer.MAX_CARDINALITY) {
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, cardinality * 2);
+                }
+                values[cardinality] = value;
+            } else {
+                words = new ArrayContainer(values, cardinality).toWords();
+                words[value >>> 6] |= 1L << value;
+            }
+            cardinality++;
+        }
+
+        IdBitmap build() {
+            flush();
+            return size == 0 ? EMPTY : new IdBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size));
+        }
+
+        private void flush() {
+            if (cardinality == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = (char) currentKey;
+            containers[size++] = words != null
+                    ? new BitmapContainer(words, cardinality)
+                    : new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+            words = null;
+            cardinality = 0;
+        }
+    }
+
+    private abstract static class Container {
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract void orInto(long[] words, int offset);
+
+        abstract void andNotInto(long[] words, int offset);
+
+        static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > ArrayContainer.MAX_CARDINALITY) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < words.length; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    values[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        static final int MAX_CARDINALITY = 4096;
+
+        private final char[] values;
+        private final int cardinality;
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int n = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[n++] = values[i++];
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            if (cardinality + array.cardinality > MAX_CARDINALITY) {
+                long[] words = toWords();
+                for (int i = 0; i < array.cardinality; i++) {
+                    words[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+                return Container.of(words);
+            }
+            char[] result = new char[cardinality + array.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j >= array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[n++] = values[i++];
+                } else if (i >= cardinality || values[i] > array.values[j]) {
+                    result[n++] = array.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        void orInto(long[] words, int offset) {
+            for (int i = 0; i < cardinality; i++) {
+                words[offset + (values[i] >>> 6)] |= 1L << values[i];
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words, int offset) {
+            for (int i = 0; i < cardinality && offset + (values[i] >>> 6) < words.length; i++) {
+                words[offset + (values[i] >>> 6)] &= ~(1L << values[i]);
+            }
+        }
+
+        long[] toWords() {
+            long[] words = new long[BitmapContainer.WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        static final int WORDS = 1 << 10;
+
+        private final long[] words;
+        private final int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] result = new long[WORDS];
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+            }
+            return Container.of(result);
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    result[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= otherWords[i];
+                }
+            }
+            return Container.of(result);
+        }
+
+        @Override
+        void orInto(long[] result, int offset) {
+            int length = Math.min(WORDS, result.length - offset);
+            for (int i = 0; i < length; i++) {
+                result[offset + i] |= words[i];
+            }
+        }
+
+        @Override
+        void andNotInto(long[] result, int offset) {
+            int length = Math.min(WORDS, result.length - offset);
+            for (int i = 0; i < length; i++) {
+                result[offset + i] &= ~words[i];
+            }
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    action.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>
+ * 期間の集合を、開始エポック数と終了エポック数の配列で列指向に保持する不変な配列を表す。
+ * </p>
+ * <p>
+ * IntervalArray is an immutable columnar array of intervals, backed by the parallel arrays of
+ * the epochs of start and end instead of the objects of interval and temporal.<br>
+ * The predicates are evaluated in batch against a probe and the results are written into
+ * a reusable {@link java.util.BitSet}, an array of indices or the words of bitmask by {@link BatchPredicates}.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class IntervalArray<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    final IntervalType<T, I> type;
+    final long[] froms;
+    final long[] tos;
+    final int size;
+
+    private IntervalArray(IntervalType<T, I> type, long[] froms, long[] tos, int size) {
+        this.type = type;
+        this.froms = froms;
+        this.tos = tos;
+        this.size = size;
+    }
+
+    /**
+     * <p>
+     * 期間の集合から配列を生成する。
+     * </p>
+     * <p>
+     * Creates an array from the specified intervals.
+     * </p>
+     *
+     * @param type      期間の種類 - the type of the intervals, not null
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 配列 - the array
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalArray<T, I> of(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> intervals) {
+        Builder<T, I> builder = new Builder<>(type, intervals.size());
+        for (I interval : intervals) {
+            builder.add(interval);
+        }
+        return builder.build();
+    }
+
+    /**
+     * <p>
+     * 配列のビルダーを生成する。
+     * </p>
+     * <p>
+     * Creates a builder of array.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return ビルダー - the builder
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> Builder<T, I> builder(
+            @NonNull IntervalType<T, I> type) {
+        return new Builder<>(type, 16);
+    }
+
+    /**
+     * Creates a builder of array with the initial capacity.
+     */
+    static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> Builder<T, I> builder(
+            IntervalType<T, I> type, int capacity) {
+        return new Builder<>(type, capacity);
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * index番目の期間の開始エポック数を返す。
+     * </p>
+     * <p>
+     * Returns the epoch of start of the interval at the specified index.
+     * </p>
+     *
+     * @param index 位置 - the index
+     * @return 開始エポック数 - the epoch of start
+     */
+    public long getEpochFrom(int index) {
+        return froms[checkIndex(index)];
+    }
+
+    /**
+     * <p>
+     * index番目の期間の終了エポック数を返す。
+     * </p>
+     * <p>
+     * Returns the epoch of end of the interval at the specified index.
+     * </p>
+     *
+     * @param index 位置 - the index
+     * @return 終了エポック数 - the epoch of end
+     */
+    public long getEpochTo(int index) {
+        return tos[checkIndex(index)];
+    }
+
+    /**
+     * <p>
+     * index番目の期間を生成して返す。
+     * </p>
+     * <p>
+     * Materializes the interval at the specified index.
+     * </p>
+     *
+     * @param index 位置 - the index
+     * @return 期間 - the interval
+     */
+    public I get(int index) {
+        checkIndex(index);
+        return type.of(froms[index], tos[index]);
+    }
+
+    /**
+     * <p>
+     * 各期間を遅延して生成するリストを返す。
+     * </p>
+     * <p>
+     * Returns the list view which materializes each interval on access.
+     * </p>
+     *
+     * @return 期間のリスト - the list of intervals
+     */
+    public List<I> toList() {
+        return new AbstractList<I>() {
+            @Override
+            public I get(int index) {
+                return IntervalArray.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * temporalを含む期間の位置をresultに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which contain the specified temporal into result.
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @param result   結果 - the bits to be cleared and set, not null
+     * @return result
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public BitSet contains(@NonNull T temporal, @NonNull BitSet result) {
+        return contains(type.toEpoch(temporal), result);
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間の位置をresultに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which contain the specified point expressed as the number since the epoch into result.
+     * </p>
+     *
+     * @param epoch  比較対象のエポック数 - the number since the epoch to compare to
+     * @param result 結果 - the bits to be cleared and set, not null
+     * @return result
+     * @see AbstractTemporalInterval#contains(long)
+     */
+    public BitSet contains(long epoch, @NonNull BitSet result) {
+        return overlapsAsClosed(epoch, epoch, result);
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間の位置をindicesに格納する。
+     * </p>
+     * <p>
+     * Stores the indices of the intervals which contain the specified point expressed as the number since the epoch.
+     * </p>
+     *
+     * @param epoch   比較対象のエポック数 - the number since the epoch to compare to
+     * @param indices 結果 - the indices, whose length must not be less than size, not null
+     * @return 格納した位置の数 - the number of stored indices
+     * @see AbstractTemporalInterval#contains(long)
+     */
+    public int containsIndices(long epoch, @NonNull int[] indices) {
+        return overlapsAsClosedIndices(epoch, epoch, indices);
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間のビットをmaskに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which contain the specified point expressed as the number since the epoch
+     * into the words of bitmask.
+     * </p>
+     *
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @param mask  結果 - the words of bitmask to be overwritten, at least {@code (size + 63) / 64} words, not null
+     * @return 条件を満たす期間の数 - the number of matching intervals
+     * @see BatchPredicates#contains(long[], long[], int, long, long[])
+     */
+    public int contains(long epoch, @NonNull long[] mask) {
+        return BatchPredicates.contains(froms, tos, size, epoch, mask);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間の位置をresultに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the specified interval into result, regarding both as Open interval.
+     * </p>
+     *
+     * @param other  比較対象期間 - the other interval to compare to, not null
+     * @param result 結果 - the bits to be cleared and set, not null
+     * @return result
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public BitSet overlapsAsOpen(@NonNull I other, @NonNull BitSet result) {
+        return overlapsAsOpen(other.epochFrom, other.epochTo, result);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間の位置をresultに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the interval expressed as the numbers since the epoch
+     * into result, regarding both as Open interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param result 結果 - the bits to be cleared and set, not null
+     * @return result
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public BitSet overlapsAsOpen(long from, long to, @NonNull BitSet result) {
+        result.clear();
+        for (int i = 0; i < size; i++) {
+            if (froms[i] < to & from < tos[i]) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間の位置をindicesに格納する。
+     * </p>
+     * <p>
+     * Stores the indices of the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from    比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to      比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param indices 結果 - the indices, whose length must not be less than size, not null
+     * @return 格納した位置の数 - the number of stored indices
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public int overlapsAsOpenIndices(long from, long to, @NonNull int[] indices) {
+        if (indices.length < size) {
+            throw new IllegalArgumentException("indices must not be shorter than size");
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            // always store, advance only on match, so that the loop has no branch on the predicate
+            indices[count] = i;
+            count += froms[i] < to & from < tos[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間のビットをmaskに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the interval expressed as the numbers since the epoch
+     * into the words of bitmask, regarding both as Open interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param mask 結果 - the words of bitmask to be overwritten, at least {@code (size + 63) / 64} words, not null
+     * @return 条件を満たす期間の数 - the number of matching intervals
+     * @see BatchPredicates#overlapsAsOpen(long[], long[], int, long, long, long[])
+     */
+    public int overlapsAsOpen(long from, long to, @NonNull long[] mask) {
+        return BatchPredicates.overlapsAsOpen(froms, tos, size, from, to, mask);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間の位置をresultに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the specified interval into result, regarding both as Closed interval.
+     * </p>
+     *
+     * @param other  比較対象期間 - the other interval to compare to, not null
+     * @param result 結果 - the bits to be cleared and set, not null
+     * @return result
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public BitSet overlapsAsClosed(@NonNull I other, @NonNull BitSet result) {
+        return overlapsAsClosed(other.epochFrom, other.epochTo, result);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間の位置をresultに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the interval expressed as the numbers since the epoch
+     * into result, regarding both as Closed interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param result 結果 - the bits to be cleared and set, not null
+     * @return result
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public BitSet overlapsAsClosed(long from, long to, @NonNull BitSet result) {
+        return overlapsAsOpen(Epochs.before(from), Epochs.after(to), result);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間の位置をindicesに格納する。
+     * </p>
+     * <p>
+     * Stores the indices of the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from    比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to      比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param indices 結果 - the indices, whose length must not be less than size, not null
+     * @return 格納した位置の数 - the number of stored indices
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public int overlapsAsClosedIndices(long from, long to, @NonNull int[] indices) {
+        return overlapsAsOpenIndices(Epochs.before(from), Epochs.after(to), indices);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間のビットをmaskに設定する。
+     * </p>
+     * <p>
+     * Sets the bits of the intervals which overlap with the interval expressed as the numbers since the epoch
+     * into the words of bitmask, regarding both as Closed interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param mask 結果 - the words of bitmask to be overwritten, at least {@code (size + 63) / 64} words, not null
+     * @return 条件を満たす期間の数 - the number of matching intervals
+     * @see BatchPredicates#overlapsAsClosed(long[], long[], int, long, long, long[])
+     */
+    public int overlapsAsClosed(long from, long to, @NonNull long[] mask) {
+        return BatchPredicates.overlapsAsClosed(froms, tos, size, from, to, mask);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return index;
+    }
+
+    /**
+     * <p>
+     * {@link IntervalArray}のビルダー。
+     * </p>
+     * <p>
+     * The builder of {@link IntervalArray}, which is also the sink of the intervals expressed as the numbers since the epoch.
+     * </p>
+     *
+     * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     */
+    public static final class Builder<T extends Temporal, I extends AbstractTemporalInterval<T, I>>
+            implements EpochIntervalConsumer {
+        private final IntervalType<T, I> type;
+        private long[] froms;
+        private long[] tos;
+        private int size;
+
+        private Builder(IntervalType<T, I> type, int capacity) {
+            this.type = type;
+            this.froms = new long[Math.max(capacity, 1)];
+            this.tos = new long[Math.max(capacity, 1)];
+        }
+
+        /**
+         * <p>
+         * 期間を追加する。
+         * </p>
+         * <p>
+         * Adds an interval.
+         * </p>
+         *
+         * @param interval 期間 - the interval, not null
+         * @return this
+         */
+        public Builder<T, I> add(@NonNull I interval) {
+            return add(interval.epochFrom, interval.epochTo);
+        }
+
+        /**
+         * <p>
+         * エポック数で表された期間を追加する。
+         * </p>
+         * <p>
+         * Adds an interval expressed as the numbers since the epoch.
+         * </p>
+         *
+         * @param from 開始エポック数 - the epoch of start, must be less than to and not less than {@link BatchPredicates#MIN_EPOCH}
+         * @param to   終了エポック数 - the epoch of end, must be greater than from and not greater than {@link BatchPredicates#MAX_EPOCH}
+         * @return this
+         */
+        public Builder<T, I> add(long from, long to) {
+            if (from >= to) {
+                throw new IllegalArgumentException("from must be before to");
+            }
+            if (from < BatchPredicates.MIN_EPOCH || to > BatchPredicates.MAX_EPOCH) {
+                throw new IllegalArgumentException("epoch out of range");
+            }
+            ensureCapacity(size + 1);
+            froms[size] = from;
+            tos[size] = to;
+            size++;
+            return this;
+        }
+
+        /**
+         * Appends the intervals already validated as {@link #add(long, long)} does, by copying the columns.
+         */
+        Builder<T, I> addAllTrusted(long[] froms, long[] tos, int count) {
+            ensureCapacity(size + count);
+            System.arraycopy(froms, 0, this.froms, size, count);
+            System.arraycopy(tos, 0, this.tos, size, count);
+            size += count;
+            return this;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > froms.length) {
+                int capacity = Math.max(required, froms.length + (froms.length >> 1));
+                froms = Arrays.copyOf(froms, capacity);
+                tos = Arrays.copyOf(tos, capacity);
+            }
+        }
+
+        /**
+         * <p>
+         * エポック数で表された期間を追加する。
+         * </p>
+         * <p>
+         * Adds an interval expressed as the numbers since the epoch, same as {@link #add(long, long)}.
+         * </p>
+         *
+         * @param from 開始エポック数 - the epoch of start, must be less than to
+         * @param to   終了エポック数 - the epoch of end, must be greater than from
+         */
+        @Override
+        public void accept(long from, long to) {
+            add(from, to);
+        }
+
+        /**
+         * <p>
+         * 配列を生成する。
+         * </p>
+         * <p>
+         * Builds the array.
+         * </p>
+         *
+         * @return 配列 - the array
+         */
+        public IntervalArray<T, I> build() {
+            IntervalOperationEvent event = IntervalMetrics.begin();
+            // the full columns are shared, since the builder reallocates them before writing any more
+            IntervalArray<T, I> array = size == froms.length
+                    ? new IntervalArray<>(type, froms, tos, size)
+                    : new IntervalArray<>(type, Arrays.copyOf(froms, size), Arrays.copyOf(tos, size), size);
+            IntervalMetrics.end(event, IntervalMetrics.Operation.INDEX_BUILD, size);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 同一の期間を共有するための、上限付きの期間のキャッシュを表す。
+ * </p>
+ * <p>
+ * IntervalCache is a bounded canonicalizing cache, which returns a shared immutable instance
+ * for the same pair of the epochs of start and end instead of constructing a new interval.<br>
+ * Two evictions are provided, the least recently used one by {@link #lru(IntervalType, int)}
+ * and the lock-free direct-mapped one by {@link #bounded(IntervalType, int)}, which replaces the entry of the same slot.
+ * Only the intervals whose temporals are exactly represented by the epochs are shared,
+ * so an interval with fractions of a second is never substituted by another one.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class IntervalCache<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    private final IntervalType<T, I> type;
+    private final Table<I> table;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private IntervalCache(IntervalType<T, I> type, Table<I> table) {
+        this.type = type;
+        this.table = table;
+    }
+
+    /**
+     * <p>
+     * 最も長く使用されていない期間から破棄するキャッシュを生成する。
+     * </p>
+     * <p>
+     * Creates a cache which evicts the least recently used interval beyond the maximum size.
+     * </p>
+     *
+     * @param type    期間の種類 - the type of the intervals, not null
+     * @param maxSize 最大件数 - the maximum number of intervals, must be positive
+     * @param <T>     {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>     {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return キャッシュ - the cache
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalCache<T, I> lru(
+            @NonNull IntervalType<T, I> type, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        return new IntervalCache<>(type, new LruTable<>(maxSize));
+    }
+
+    /**
+     * <p>
+     * 同じ位置の期間を置き換える、ロックを使用しないキャッシュを生成する。
+     * </p>
+     * <p>
+     * Creates a lock-free direct-mapped cache, which replaces the interval in the same slot.
+     * </p>
+     *
+     * @param type     期間の種類 - the type of the intervals, not null
+     * @param capacity 容量 - the number of slots, rounded up to a power of two, must be positive
+     * @param <T>      {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>      {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return キャッシュ - the cache
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalCache<T, I> bounded(
+            @NonNull IntervalType<T, I> type, int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be positive and at most 2^30");
+        }
+        return new IntervalCache<>(type, new DirectMappedTable<>(capacity));
+    }
+
+    /**
+     * <p>
+     * fromとtoの期間を、キャッシュにあれば共有して返す。
+     * </p>
+     * <p>
+     * Returns the shared interval between from and to if cached, otherwise creates and caches one.
+     * </p>
+     *
+     * @param from 開始時点 - the point of start, must be before to, not null
+     * @param to   終了時点 - the point of end, must be after before, not null
+     * @return 期間 - the interval
+     */
+    public I intern(@NonNull T from, @NonNull T to) {
+        long epochFrom = type.toEpoch(from);
+        long epochTo = type.toEpoch(to);
+        I cached = table.get(epochFrom, epochTo);
+        if (cached != null && from.equals(cached.from) && to.equals(cached.to)) {
+            hits.increment();
+            IntervalMetrics.mark(IntervalMetrics.Operation.CACHE_HIT);
+            return cached;
+        }
+        misses.increment();
+        IntervalMetrics.mark(IntervalMetrics.Operation.CACHE_MISS);
+        I interval = type.of(from, to);
+        if (from.equals(type.fromEpoch(epochFrom)) && to.equals(type.fromEpoch(epochTo))) {
+            table.put(epochFrom, epochTo, interval);
+        }
+        return interval;
+    }
+
+    /**
+     * <p>
+     * エポック数で表された期間を、キャッシュにあれば共有して返す。
+     * </p>
+     * <p>
+     * Returns the shared interval expressed as the numbers since the epoch if cached, otherwise creates and caches one.
+     * </p>
+     *
+     * @param from 開始エポック数 - the epoch of start, must be less than to
+     * @param to   終了エポック数 - the epoch of end, must be greater than from
+     * @return 期間 - the interval
+     */
+    public I intern(long from, long to) {
+        I cached = table.get(from, to);
+        if (cached != null) {
+            hits.increment();
+            IntervalMetrics.mark(IntervalMetrics.Operation.CACHE_HIT);
+            return cached;
+        }
+        misses.increment();
+        IntervalMetrics.mark(IntervalMetrics.Operation.CACHE_MISS);
+        I interval = type.of(from, to);
+        table.put(from, to, interval);
+        return interval;
+    }
+
+    /**
+     * <p>
+     * キャッシュから返した回数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the intervals returned from the cache.
+     * </p>
+     *
+     * @return ヒット数 - the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * <p>
+     * 新たに生成した回数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the intervals newly created.
+     * </p>
+     *
+     * @return ミス数 - the number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * <p>
+     * キャッシュを空にする。統計は保持される。
+     * </p>
+     * <p>
+     * Removes all the cached intervals, keeping the statistics.
+     * </p>
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    private interface Table<I extends AbstractTemporalInterval<?, I>> {
+        I get(long from, long to);
+
+        void put(long from, long to, I interval);
+
+        void clear();
+    }
+
+    /**
+     * The intervals are immutable with final fields, so they are safely published through the plain array.
+     */
+    private static final class DirectMappedTable<I extends AbstractTemporalInterval<?, I>> implements Table<I> {
+        private final Object[] slots;
+        private final int mask;
+
+        DirectMappedTable(int capacity) {
+            int size = Integer.highestOneBit(capacity - 1) << 1;
+            this.slots = new Object[Math.max(size, 1)];
+            this.mask = slots.length - 1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public I get(long from, long to) {
+            I interval = (I) slots[index(from, to)];
+            return interval != null && interval.epochFrom == from && interval.epochTo == to ? interval : null;
+        }
+
+        @Override
+        public void put(long from, long to, I interval) {
+            slots[index(from, to)] = interval;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(slots, null);
+        }
+
+        private int index(long from, long to) {
+            long hash = from * 0x9E3779B97F4A7C15L + to;
+            hash ^= hash >>> 29;
+            return (int) (hash ^ hash >>> 32) & mask;
+        }
+    }
+
+    /**
+     * The access is serialized, so that a single probe key is reused for the lookups without allocation.
+     */
+    private static final class LruTable<I extends AbstractTemporalInterval<?, I>> implements Table<I> {
+        private final Key probe = new Key();
+        private final LinkedHashMap<Key, I> map;
+
+        LruTable(int maxSize) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, I> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        @Override
+        public synchronized I get(long from, long to) {
+            probe.from = from;
+            probe.to = to;
+            return map.get(probe);
+        }
+
+        @Override
+        public synchronized void put(long from, long to, I interval) {
+            Key key = new Key();
+            key.from = from;
+            key.to = to;
+            map.put(key, interval);
+        }
+
+        @Override
+        public synchronized void clear() {
+            map.clear();
+        }
+    }
+
+    private static final class Key {
+        private long from;
+        private long to;
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).from == from && ((Key) other).to == to;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(from * 31L + to);
+        }
+    }
+}
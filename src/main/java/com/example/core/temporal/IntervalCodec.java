@@ -0,0 +1,254 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+
+/**
+ * <p>
+ * 期間の列をエポック数の差分と可変長整数で符号化するバイナリ形式を表す。
+ * </p>
+ * <p>
+ * IntervalCodec is the compact binary format of a sequence of intervals.<br>
+ * Each interval is encoded as two variable-length integers of 7 bits per byte, least significant group first,
+ * the difference of its epoch of start from that of the previous interval in zigzag encoding,
+ * the first one from zero, followed by its length, the epoch of end minus the epoch of start.
+ * There is neither a header nor a terminator, the sequence ends with the data.
+ * A sorted sequence of short intervals is encoded in a few bytes per interval.
+ * </p>
+ * <p>
+ * The intervals are encoded from the columns of {@link IntervalArray} or from a collection of intervals
+ * and decoded into an {@link EpochIntervalConsumer},
+ * such as {@link IntervalArray.Builder}, without intermediate objects.
+ * </p>
+ */
+public final class IntervalCodec {
+    /**
+     * The largest number of bytes of an interval, two variable-length integers of 10 bytes.
+     */
+    public static final int MAX_INTERVAL_BYTES = 20;
+    private static final int CHANNEL_BUFFER_BYTES = 1 << 16;
+
+    private IntervalCodec() {
+    }
+
+    /**
+     * <p>
+     * 期間の配列をbufferに符号化する。
+     * </p>
+     * <p>
+     * Encodes the intervals into the buffer from its position.
+     * </p>
+     *
+     * @param intervals 期間の配列 - the intervals, not null
+     * @param buffer    出力先 - the buffer, not null
+     * @return 書き込んだバイト数 - the number of bytes written
+     * @throws java.nio.BufferOverflowException bufferの残りが不足する場合 - if the buffer has not enough remaining
+     */
+    public static int encode(@NonNull IntervalArray<?, ?> intervals, @NonNull ByteBuffer buffer) {
+        int start = buffer.position();
+        long previous = 0L;
+        for (int i = 0; i < intervals.size; i++) {
+            previous = encodeInterval(buffer, previous, intervals.froms[i], intervals.tos[i]);
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * <p>
+     * 期間の集合をbufferに符号化する。
+     * </p>
+     * <p>
+     * Encodes the intervals into the buffer from its position, in the iteration order of the collection.
+     * </p>
+     *
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param buffer    出力先 - the buffer, not null
+     * @return 書き込んだバイト数 - the number of bytes written
+     * @throws java.nio.BufferOverflowException bufferの残りが不足する場合 - if the buffer has not enough remaining
+     */
+    public static int encode(@NonNull Collection<? extends AbstractTemporalInterval<?, ?>> intervals,
+                             @NonNull ByteBuffer buffer) {
+        int start = buffer.position();
+        long previous = 0L;
+        for (AbstractTemporalInterval<?, ?> interval : intervals) {
+            previous = encodeInterval(buffer, previous, interval.epochFrom, interval.epochTo);
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * <p>
+     * bufferの残りすべてを期間の列として復号する。
+     * </p>
+     * <p>
+     * Decodes all the remaining bytes of the buffer as a sequence of intervals.
+     * </p>
+     *
+     * @param buffer 入力元 - the buffer, not null
+     * @param sink   期間を受け取る処理 - the sink of the intervals, not null
+     * @return 復号した期間の数 - the number of decoded intervals
+     * @throws IllegalArgumentException 形式が不正な場合 - if the bytes are malformed or truncated
+     */
+    public static long decode(@NonNull ByteBuffer buffer, @NonNull EpochIntervalConsumer sink) {
+        long previous = 0L;
+        long count = 0L;
+        while (buffer.hasRemaining()) {
+            previous = decodeInterval(buffer, previous, sink);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * 期間の配列をchannelに書き込む。
+     * </p>
+     * <p>
+     * Encodes the intervals into the channel through a buffer of 64KB.
+     * </p>
+     *
+     * @param intervals 期間の配列 - the intervals, not null
+     * @param channel   出力先 - the blocking channel, not null
+     * @return 書き込んだバイト数 - the number of bytes written
+     * @throws IOException 書き込みに失敗した場合 - if an I/O error occurs
+     */
+    public static long write(@NonNull IntervalArray<?, ?> intervals, @NonNull WritableByteChannel channel)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_BYTES);
+        long written = 0L;
+        long previous = 0L;
+        for (int i = 0; i < intervals.size; i++) {
+            if (buffer.remaining() < MAX_INTERVAL_BYTES) {
+                written += flush(channel, buffer);
+            }
+            previous = encodeInterval(buffer, previous, intervals.froms[i], intervals.tos[i]);
+        }
+        return written + flush(channel, buffer);
+    }
+
+    /**
+     * <p>
+     * 期間の集合をchannelに書き込む。
+     * </p>
+     * <p>
+     * Encodes the intervals into the channel through a buffer of 64KB, in the iteration order of the collection.
+     * </p>
+     *
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param channel   出力先 - the blocking channel, not null
+     * @return 書き込んだバイト数 - the number of bytes written
+     * @throws IOException 書き込みに失敗した場合 - if an I/O error occurs
+     */
+    public static long write(@NonNull Collection<? extends AbstractTemporalInterval<?, ?>> intervals,
+                             @NonNull WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_BYTES);
+        long written = 0L;
+        long previous = 0L;
+        for (AbstractTemporalInterval<?, ?> interval : intervals) {
+            if (buffer.remaining() < MAX_INTERVAL_BYTES) {
+                written += flush(channel, buffer);
+            }
+            previous = encodeInterval(buffer, previous, interval.epochFrom, interval.epochTo);
+        }
+        return written + flush(channel, buffer);
+    }
+
+    /**
+     * <p>
+     * channelの終端までを期間の列として復号する。
+     * </p>
+     * <p>
+     * Decodes the bytes up to the end of the channel as a sequence of intervals through a buffer of 64KB.
+     * </p>
+     *
+     * @param channel 入力元 - the blocking channel, not null
+     * @param sink    期間を受け取る処理 - the sink of the intervals, not null
+     * @return 復号した期間の数 - the number of decoded intervals
+     * @throws IOException              読み込みに失敗した場合 - if an I/O error occurs
+     * @throws IllegalArgumentException 形式が不正な場合 - if the bytes are malformed or truncated
+     */
+    public static long read(@NonNull ReadableByteChannel channel, @NonNull EpochIntervalConsumer sink)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_BYTES);
+        long previous = 0L;
+        long count = 0L;
+        boolean end = false;
+        while (!end) {
+            end = channel.read(buffer) < 0;
+            buffer.flip();
+            // an interval may straddle the refills, so a short remainder is kept until the end
+            while (buffer.remaining() >= MAX_INTERVAL_BYTES || end && buffer.hasRemaining()) {
+                previous = decodeInterval(buffer, previous, sink);
+                count++;
+            }
+            buffer.compact();
+        }
+        return count;
+    }
+
+    private static long encodeInterval(ByteBuffer buffer, long previous, long from, long to) {
+        putVarint(buffer, zigzag(from - previous));
+        putVarint(buffer, to - from);
+        return from;
+    }
+
+    private static long decodeInterval(ByteBuffer buffer, long previous, EpochIntervalConsumer sink) {
+        long from = previous + unzigzag(getVarint(buffer));
+        long length = getVarint(buffer);
+        if (length <= 0 || from + length < from) {
+            throw new IllegalArgumentException("malformed interval: from " + from + ", length " + length);
+        }
+        sink.accept(from, from + length);
+        return from;
+    }
+
+    private static long flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        long written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0L) {
+            buffer.put((byte) (value | 0x80L));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0L;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("truncated interval");
+            }
+            byte b = buffer.get();
+            // the 10th byte holds only the most significant bit
+            if (shift == 63 && (b & 0xFF) > 1) {
+                throw new IllegalArgumentException("malformed variable-length integer");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed variable-length integer");
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * <p>
+ * 期間のストリームを重複のない期間に統合する{@link java.util.stream.Collector}を提供する。
+ * </p>
+ * <p>
+ * IntervalCollectors provides the {@link java.util.stream.Collector}s which coalesce a stream of intervals
+ * into the minimal list of intervals in ascending order.<br>
+ * The intervals are coalesced incrementally on accumulation, so that an input already sorted by start
+ * keeps no element other than the results. An interval out of order is deferred and merged on finish.
+ * An interval of the results is the original instance if it is not coalesced with another one.
+ * </p>
+ */
+public final class IntervalCollectors {
+    private IntervalCollectors() {
+    }
+
+    /**
+     * <p>
+     * 開区間とみなして重複する期間を統合するCollectorを返す。接する期間は統合されない。
+     * </p>
+     * <p>
+     * Returns a collector which coalesces the intervals overlapping each other, regarding them as Open interval.
+     * The intervals just touching each other are not coalesced.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return Collector - the collector into the unmodifiable list of the coalesced intervals in ascending order
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> Collector<I, ?, List<I>> coalescingAsOpen(
+            @NonNull IntervalType<T, I> type) {
+        return coalescing(type, false);
+    }
+
+    /**
+     * <p>
+     * 閉区間とみなして重複する期間を統合するCollectorを返す。接する期間も統合される。
+     * </p>
+     * <p>
+     * Returns a collector which coalesces the intervals overlapping each other, regarding them as Closed interval.
+     * The intervals just touching each other are also coalesced.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return Collector - the collector into the unmodifiable list of the coalesced intervals in ascending order
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> Collector<I, ?, List<I>> coalescingAsClosed(
+            @NonNull IntervalType<T, I> type) {
+        return coalescing(type, true);
+    }
+
+    private static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> Collector<I, ?, List<I>> coalescing(
+            IntervalType<T, I> type, boolean closed) {
+        // the results are sorted regardless of the encounter order
+        return Collector.of(() -> new Accumulator<>(type, closed), Accumulator::add, Accumulator::combine,
+                Accumulator::finish, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Holds the completed runs in ascending order and the current run, which the next interval in order may extend.
+     */
+    private static final class Accumulator<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+        private final IntervalType<T, I> type;
+        private final boolean closed;
+        private final List<I> runs = new ArrayList<>();
+        private List<I> deferred;
+        private boolean running;
+        private T from;
+        private T to;
+        private long epochFrom;
+        private long epochTo;
+        /**
+         * The original interval equal to the current run, or null if the run is coalesced.
+         */
+        private I single;
+
+        Accumulator(IntervalType<T, I> type, boolean closed) {
+            this.type = type;
+            this.closed = closed;
+        }
+
+        void add(@NonNull I interval) {
+            if (!running) {
+                start(interval);
+            } else if (interval.epochFrom < epochFrom) {
+                if (deferred == null) {
+                    deferred = new ArrayList<>();
+                }
+                deferred.add(interval);
+            } else if (closed ? interval.epochFrom <= epochTo : interval.epochFrom < epochTo) {
+                if (interval.epochTo > epochTo) {
+                    to = interval.to;
+                    epochTo = interval.epochTo;
+                    single = interval.epochFrom == epochFrom && interval.from.equals(from) ? interval : null;
+                }
+            } else {
+                runs.add(close());
+                start(interval);
+            }
+        }
+
+        Accumulator<T, I> combine(Accumulator<T, I> other) {
+            for (I run : other.runs) {
+                add(run);
+            }
+            if (other.running) {
+                add(other.close());
+            }
+            if (other.deferred != null) {
+                for (I interval : other.deferred) {
+                    add(interval);
+                }
+            }
+            return this;
+        }
+
+        List<I> finish() {
+            if (running) {
+                runs.add(close());
+            }
+            if (deferred == null) {
+                return Collections.unmodifiableList(runs);
+            }
+            deferred.sort(Comparator.comparingLong(AbstractTemporalInterval::getEpochFrom));
+            Accumulator<T, I> merged = new Accumulator<>(type, closed);
+            int i = 0;
+            int j = 0;
+            while (i < runs.size() || j < deferred.size()) {
+                if (j == deferred.size() || i < runs.size() && runs.get(i).epochFrom <= deferred.get(j).epochFrom) {
+                    merged.add(runs.get(i++));
+                } else {
+                    merged.add(deferred.get(j++));
+                }
+            }
+            return merged.finish();
+        }
+
+        private void start(I interval) {
+            running = true;
+            from = interval.from;
+            to = interval.to;
+            epochFrom = interval.epochFrom;
+            epochTo = interval.epochTo;
+            single = interval;
+        }
+
+        private I close() {
+            running = false;
+            return single != null ? single : type.of(from, to);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>
+ * CSVまたはNDJSON形式のファイルから、期間を一括して読み込む。
+ * </p>
+ * <p>
+ * IntervalFileLoader loads the intervals of a file of CSV or NDJSON into an {@link IntervalArray}.<br>
+ * The file is split into the chunks aligned to the lines, which are mapped by {@link FileChannel#map}
+ * and parsed in parallel on the common {@link ForkJoinPool}, the endpoints being parsed by {@link IntervalParser}
+ * directly from the mapped bytes into the epochs.
+ * The intervals are kept in the order of the lines.
+ * </p>
+ * <p>
+ * A line which cannot be parsed, or whose start is not before its end, is skipped and reported as an {@link RowError}
+ * with its line number, so that a bad row does not abort the load. The blank lines are ignored.<br>
+ * The CSV fields may be quoted by {@code "} but must not contain the delimiter.
+ * The NDJSON objects must have the endpoints as the strings of the specified keys, which are found without a full JSON parser,
+ * so the keys must not be escaped nor appear in another value.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class IntervalFileLoader<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+    private static final int SCAN_BYTES = 8192;
+
+    private final IntervalType<T, I> type;
+    private final IntervalParser parser;
+    private final FieldLocator locator;
+    private final boolean header;
+
+    private IntervalFileLoader(IntervalType<T, I> type, FieldLocator locator, boolean header) {
+        this.type = type;
+        this.parser = IntervalParser.of(type);
+        this.locator = locator;
+        this.header = header;
+    }
+
+    /**
+     * <p>
+     * 1列目を開始時点、2列目を終了時点とする、ヘッダのないCSVの読み込みを生成する。
+     * </p>
+     * <p>
+     * Creates a loader of CSV without header, whose first column is the start and second column is the end.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of {@link LocalDateInterval}, {@link LocalDateTimeInterval} or {@link LocalTimeInterval}, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 読み込み - the loader
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalFileLoader<T, I> csv(
+            @NonNull IntervalType<T, I> type) {
+        return csv(type, ',', 0, 1, false);
+    }
+
+    /**
+     * <p>
+     * CSVの読み込みを生成する。
+     * </p>
+     * <p>
+     * Creates a loader of CSV.
+     * </p>
+     *
+     * @param type       期間の種類 - the type of {@link LocalDateInterval}, {@link LocalDateTimeInterval} or {@link LocalTimeInterval}, not null
+     * @param delimiter  区切り文字 - the delimiter, an ASCII character
+     * @param fromColumn 開始時点の列 - the column of the start, zero based
+     * @param toColumn   終了時点の列 - the column of the end, zero based and different from fromColumn
+     * @param header     ヘッダの有無 - true if the first line is the header to skip
+     * @param <T>        {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>        {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 読み込み - the loader
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalFileLoader<T, I> csv(
+            @NonNull IntervalType<T, I> type, char delimiter, int fromColumn, int toColumn, boolean header) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("delimiter must be an ASCII character other than quote and line break");
+        }
+        if (fromColumn < 0 || toColumn < 0 || fromColumn == toColumn) {
+            throw new IllegalArgumentException("columns must be different and not negative");
+        }
+        return new IntervalFileLoader<>(type, new CsvLocator((byte) delimiter, fromColumn, toColumn), header);
+    }
+
+    /**
+     * <p>
+     * キー{@code from}を開始時点、キー{@code to}を終了時点とする、NDJSONの読み込みを生成する。
+     * </p>
+     * <p>
+     * Creates a loader of NDJSON, whose key {@code from} is the start and key {@code to} is the end.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of {@link LocalDateInterval}, {@link LocalDateTimeInterval} or {@link LocalTimeInterval}, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 読み込み - the loader
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalFileLoader<T, I> ndjson(
+            @NonNull IntervalType<T, I> type) {
+        return ndjson(type, "from", "to");
+    }
+
+    /**
+     * <p>
+     * NDJSONの読み込みを生成する。
+     * </p>
+     * <p>
+     * Creates a loader of NDJSON.
+     * </p>
+     *
+     * @param type    期間の種類 - the type of {@link LocalDateInterval}, {@link LocalDateTimeInterval} or {@link LocalTimeInterval}, not null
+     * @param fromKey 開始時点のキー - the key of the start, not null
+     * @param toKey   終了時点のキー - the key of the end, not null
+     * @param <T>     {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>     {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 読み込み - the loader
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalFileLoader<T, I> ndjson(
+            @NonNull IntervalType<T, I> type, @NonNull String fromKey, @NonNull String toKey) {
+        if (fromKey.equals(toKey)) {
+            throw new IllegalArgumentException("keys must be different");
+        }
+        return new IntervalFileLoader<>(type, new JsonLocator(fromKey, toKey), false);
+    }
+
+    /**
+     * <p>
+     * ファイルから期間を読み込む。
+     * </p>
+     * <p>
+     * Loads the intervals from the file.
+     * </p>
+     *
+     * @param path ファイル - the file, not null
+     * @return 読み込み結果 - the intervals and the errors
+     * @throws IOException 読み込みに失敗した場合 - if an I/O error occurs
+     */
+    public Result<T, I> load(@NonNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<long[]> ranges = split(channel);
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                tasks.add(ForkJoinPool.commonPool().submit(() -> parse(channel, range[0], range[1], range[0] == 0L && header)));
+            }
+            // the chunks are merged in order as they finish, so that only those parsed ahead of the merge
+            // are held besides the array growing by the builder
+            IntervalArray.Builder<T, I> builder = IntervalArray.builder(type);
+            List<RowError> errors = new ArrayList<>();
+            long total = 0L;
+            long lines = 0L;
+            boolean merged = false;
+            try {
+                for (int k = 0; k < tasks.size(); k++) {
+                    Chunk chunk = tasks.get(k).join();
+                    tasks.set(k, null);
+                    total += chunk.size;
+                    if (total > Integer.MAX_VALUE - 8) {
+                        throw new IOException("too many intervals: " + total);
+                    }
+                    // the rows were validated while parsing
+                    builder.addAllTrusted(chunk.froms, chunk.tos, chunk.size);
+                    for (RowError error : chunk.errors) {
+                        errors.add(new RowError(lines + error.line, error.message));
+                    }
+                    lines += chunk.lines;
+                }
+                merged = true;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                if (!merged) {
+                    cancel(tasks);
+                }
+            }
+            return new Result<>(builder.build(), Collections.unmodifiableList(errors));
+        }
+    }
+
+    private static void cancel(List<ForkJoinTask<Chunk>> tasks) {
+        for (ForkJoinTask<Chunk> task : tasks) {
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Splits the file into the ranges of about four chunks per worker, each ending just after a line break or at the end of the file.
+     */
+    private static List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunk = Math.min(MAX_CHUNK_BYTES,
+                Math.max(MIN_CHUNK_BYTES, size / (ForkJoinPool.getCommonPoolParallelism() * 4L)));
+        List<long[]> ranges = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BYTES);
+        long start = 0L;
+        while (start < size) {
+            long end = start + chunk;
+            if (end >= size) {
+                end = size;
+            } else {
+                end = nextLine(channel, end - 1L, scan);
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("line too long at byte " + start);
+            }
+            ranges.add(new long[]{start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the position just after the first line break at or after the specified position, or the size of the file.
+     */
+    private static long nextLine(FileChannel channel, long position, ByteBuffer scan) throws IOException {
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1L;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private Chunk parse(FileChannel channel, long start, long end, boolean skipFirst) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Chunk chunk = new Chunk();
+        int[] fields = new int[4];
+        int limit = (int) (end - start);
+        int i = 0;
+        while (i < limit) {
+            int eol = i;
+            while (eol < limit && buffer.get(eol) != '\n') {
+                eol++;
+            }
+            int last = eol > i && buffer.get(eol - 1) == '\r' ? eol - 1 : eol;
+            chunk.lines++;
+            if (last > i && !(skipFirst && chunk.lines == 1)) {
+                String error = locator.locate(buffer, i, last, fields);
+                if (error == null) {
+                    try {
+                        long from = parser.parseEpoch(buffer, fields[0], fields[1]);
+                        long to = parser.parseEpoch(buffer, fields[2], fields[3]);
+                        if (from >= to) {
+                            throw new IllegalArgumentException("from must be before to");
+                        }
+                        if (from < BatchPredicates.MIN_EPOCH || to > BatchPredicates.MAX_EPOCH) {
+                            throw new IllegalArgumentException("epoch out of range");
+                        }
+                        chunk.add(from, to);
+                    } catch (DateTimeParseException | IllegalArgumentException e) {
+                        error = e.getMessage();
+                    }
+                }
+                if (error != null) {
+                    chunk.errors.add(new RowError(chunk.lines, error));
+                }
+            }
+            i = eol + 1;
+        }
+        return chunk;
+    }
+
+    /**
+     * <p>
+     * 読み込み結果を表す。
+     * </p>
+     * <p>
+     * Result is the intervals loaded and the errors of the rows skipped.
+     * </p>
+     *
+     * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     */
+    public static final class Result<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+        private final IntervalArray<T, I> intervals;
+        private final List<RowError> errors;
+
+        private Result(IntervalArray<T, I> intervals, List<RowError> errors) {
+            this.intervals = intervals;
+            this.errors = errors;
+        }
+
+        /**
+         * <p>
+         * 読み込んだ期間を返す。
+         * </p>
+         * <p>
+         * Returns the intervals loaded, in the order of the lines.
+         * </p>
+         *
+         * @return 期間の配列 - the intervals
+         */
+        public IntervalArray<T, I> getIntervals() {
+            return intervals;
+        }
+
+        /**
+         * <p>
+         * 読み込めなかった行のエラーを返す。
+         * </p>
+         * <p>
+         * Returns the errors of the rows skipped.
+         * </p>
+         *
+         * @return エラー - the unmodifiable list of the errors, in the order of the lines
+         */
+        public List<RowError> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * <p>
+     * 読み込めなかった行のエラーを表す。
+     * </p>
+     * <p>
+     * RowError is the error of a row skipped, with its line number.
+     * </p>
+     */
+    public static final class RowError {
+        private final long line;
+        private final String message;
+
+        private RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * <p>
+         * 行番号を返す。
+         * </p>
+         * <p>
+         * Returns the line number, one based.
+         * </p>
+         *
+         * @return 行番号 - the line number
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * <p>
+         * エラーの内容を返す。
+         * </p>
+         * <p>
+         * Returns the message of the error.
+         * </p>
+         *
+         * @return エラーの内容 - the message
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * The intervals and the errors of a chunk, whose line numbers are relative to the chunk.
+     */
+    private static final class Chunk {
+        private long[] froms = new long[1024];
+        private long[] tos = new long[1024];
+        private int size;
+        private long lines;
+        private final List<RowError> errors = new ArrayList<>();
+
+        private void add(long from, long to) {
+            if (size == froms.length) {
+                froms = Arrays.copyOf(froms, size * 2);
+                tos = Arrays.copyOf(tos, size * 2);
+            }
+            froms[size] = from;
+            tos[size] = to;
+            size++;
+        }
+    }
+
+    /**
+     * Locates the ranges of the start and the end in a line into {@code fields}, returning the error or null.
+     */
+    private interface FieldLocator {
+        String locate(ByteBuffer buffer, int start, int end, int[] fields);
+    }
+
+    private static final class CsvLocator implements FieldLocator {
+        private final byte delimiter;
+        private final int fromColumn;
+        private final int toColumn;
+
+        private CsvLocator(byte delimiter, int fromColumn, int toColumn) {
+            this.delimiter = delimiter;
+            this.fromColumn = fromColumn;
+            this.toColumn = toColumn;
+        }
+
+        @Override
+        public String locate(ByteBuffer buffer, int start, int end, int[] fields) {
+            int column = 0;
+            int found = 0;
+            int fieldStart = start;
+            for (int i = start; i <= end && found < 2; i++) {
+                if (i == end || buffer.get(i) == delimiter) {
+                    if (column == fromColumn || column == toColumn) {
+                        int offset = column == fromColumn ? 0 : 2;
+                        int s = fieldStart;
+                        int e = i;
+                        if (e - s >= 2 && buffer.get(s) == '"' && buffer.get(e - 1) == '"') {
+                            s++;
+                            e--;
+                        }
+                        fields[offset] = s;
+                        fields[offset + 1] = e;
+                        found++;
+                    }
+                    column++;
+                    fieldStart = i + 1;
+                }
+            }
+            return found == 2 ? null : "missing column " + Math.max(fromColumn, toColumn);
+        }
+    }
+
+    private static final class JsonLocator implements FieldLocator {
+        private final byte[] fromKey;
+        private final byte[] toKey;
+
+        private JsonLocator(String fromKey, String toKey) {
+            this.fromKey = ('"' + fromKey + '"').getBytes(StandardCharsets.UTF_8);
+            this.toKey = ('"' + toKey + '"').getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String locate(ByteBuffer buffer, int start, int end, int[] fields) {
+            if (!value(buffer, start, end, fromKey, fields, 0)) {
+                return "missing string " + new String(fromKey, StandardCharsets.UTF_8);
+            }
+            if (!value(buffer, start, end, toKey, fields, 2)) {
+                return "missing string " + new String(toKey, StandardCharsets.UTF_8);
+            }
+            return null;
+        }
+
+        /**
+         * Finds the quoted key followed by a colon and sets the range of its string value.
+         */
+        private static boolean value(ByteBuffer buffer, int start, int end, byte[] key, int[] fields, int offset) {
+            for (int i = start; i + key.length <= end; i++) {
+                if (!matches(buffer, i, key)) {
+                    continue;
+                }
+                int j = skipSpaces(buffer, i + key.length, end);
+                if (j == end || buffer.get(j) != ':') {
+                    continue;
+                }
+                j = skipSpaces(buffer, j + 1, end);
+                if (j == end || buffer.get(j) != '"') {
+                    return false;
+                }
+                int k = j + 1;
+                while (k < end && buffer.get(k) != '"') {
+                    k++;
+                }
+                if (k == end) {
+                    return false;
+                }
+                fields[offset] = j + 1;
+                fields[offset + 1] = k;
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean matches(ByteBuffer buffer, int i, byte[] key) {
+            for (int k = 0; k < key.length; k++) {
+                if (buffer.get(i + k) != key[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int skipSpaces(ByteBuffer buffer, int i, int end) {
+            while (i < end && (buffer.get(i) == ' ' || buffer.get(i) == '\t')) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
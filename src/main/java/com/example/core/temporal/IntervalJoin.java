@@ -0,0 +1,120 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 2つの期間の集合から、重複する期間の組をすべて求める。
+ * </p>
+ * <p>
+ * IntervalJoin finds every pair of overlapping intervals between two collections
+ * by the sort-merge sweep-line, in O((n + m) log(n + m) + k).<br>
+ * Both collections are sorted by the epoch of start, and each interval is compared only with the intervals
+ * of the other collection which start while it lasts, so that no pair is visited twice and
+ * the pairs are passed to the callback without being materialized.
+ * </p>
+ */
+public final class IntervalJoin {
+    private IntervalJoin() {
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、leftとrightの間で重複する期間の組に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each pair of intervals of left and right which overlap, regarding both as Open interval.
+     * </p>
+     *
+     * @param left   左側の期間の集合 - the intervals of left side, not null
+     * @param right  右側の期間の集合 - the intervals of right side, not null
+     * @param action 実行する処理 - the action accepting the interval of left and the interval of right, not null
+     * @param <T>    {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>    {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> void overlapsAsOpen(
+            @NonNull Collection<? extends I> left, @NonNull Collection<? extends I> right,
+            @NonNull BiConsumer<? super I, ? super I> action) {
+        join(left, right, false, action);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、leftとrightの間で重複する期間の組に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each pair of intervals of left and right which overlap, regarding both as Closed interval.
+     * </p>
+     *
+     * @param left   左側の期間の集合 - the intervals of left side, not null
+     * @param right  右側の期間の集合 - the intervals of right side, not null
+     * @param action 実行する処理 - the action accepting the interval of left and the interval of right, not null
+     * @param <T>    {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>    {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> void overlapsAsClosed(
+            @NonNull Collection<? extends I> left, @NonNull Collection<? extends I> right,
+            @NonNull BiConsumer<? super I, ? super I> action) {
+        join(left, right, true, action);
+    }
+
+    private static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> void join(
+            Collection<? extends I> left, Collection<? extends I> right, boolean closed,
+            BiConsumer<? super I, ? super I> action) {
+        IntervalOperationEvent event = IntervalMetrics.begin();
+        if (event == null) {
+            sweep(left, right, closed, action);
+            return;
+        }
+        long[] count = new long[1];
+        sweep(left, right, closed, (l, r) -> {
+            count[0]++;
+            action.accept(l, r);
+        });
+        IntervalMetrics.end(event, IntervalMetrics.Operation.JOIN, count[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> void sweep(
+            Collection<? extends I> left, Collection<? extends I> right, boolean closed,
+            BiConsumer<? super I, ? super I> action) {
+        Object[] lefts = sortByEpochFrom(left.toArray());
+        Object[] rights = sortByEpochFrom(right.toArray());
+        int i = 0;
+        int j = 0;
+        while (i < lefts.length && j < rights.length) {
+            I l = (I) lefts[i];
+            I r = (I) rights[j];
+            if (l.epochFrom <= r.epochFrom) {
+                // every right starting from r.epochFrom onwards overlaps l as long as it starts before l ends
+                long end = closed ? Epochs.after(l.epochTo) : l.epochTo;
+                for (int k = j; k < rights.length && epochFrom(rights[k]) < end; k++) {
+                    action.accept(l, (I) rights[k]);
+                }
+                i++;
+            } else {
+                long end = closed ? Epochs.after(r.epochTo) : r.epochTo;
+                for (int k = i; k < lefts.length && epochFrom(lefts[k]) < end; k++) {
+                    action.accept((I) lefts[k], r);
+                }
+                j++;
+            }
+        }
+    }
+
+    private static Object[] sortByEpochFrom(Object[] intervals) {
+        Arrays.sort(intervals, (a, b) -> Long.compare(epochFrom(a), epochFrom(b)));
+        return intervals;
+    }
+
+    private static long epochFrom(Object interval) {
+        return ((AbstractTemporalInterval<?, ?>) interval).epochFrom;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.core.temporal;
+
+/**
+ * <p>
+ * 期間の操作に関する計測を行う。
+ * </p>
+ * <p>
+ * IntervalMetrics reports the operations on the intervals, building an index, querying it, joining,
+ * interning by the cache and evaluating the batch predicates, to an optional {@link Listener}
+ * and as the Java Flight Recorder event {@code com.example.core.temporal.IntervalOperation}.<br>
+ * While neither the listener is set nor a recording enables the event, an operation costs a null check
+ * and the allocation of the event which the JIT compiler eliminates, without reading the clock.
+ * </p>
+ * <p>
+ * {@link IntervalMetricsRecorder} is a listener accumulating the counters and the latency histograms.
+ * </p>
+ */
+public final class IntervalMetrics {
+    private static volatile Listener listener;
+
+    private IntervalMetrics() {
+    }
+
+    /**
+     * <p>
+     * 計測される操作の種類。
+     * </p>
+     * <p>
+     * The kinds of the operations.
+     * </p>
+     */
+    public enum Operation {
+        /**
+         * Building an index such as {@link IntervalTree} or {@link IntervalArray}, counting the intervals.
+         */
+        INDEX_BUILD,
+        /**
+         * Querying an {@link IntervalTree}, counting the intervals found.
+         */
+        INDEX_QUERY,
+        /**
+         * Joining by {@link IntervalJoin} or {@link ToleranceJoin}, counting the pairs found.
+         */
+        JOIN,
+        /**
+         * Returning an interval from {@link IntervalCache}, counting one.
+         */
+        CACHE_HIT,
+        /**
+         * Creating an interval in {@link IntervalCache}, counting one.
+         */
+        CACHE_MISS,
+        /**
+         * Evaluating {@link BatchPredicates}, counting the intervals evaluated.
+         */
+        PREDICATE
+    }
+
+    /**
+     * <p>
+     * 計測結果を受け取る。
+     * </p>
+     * <p>
+     * Listener receives each operation, on the thread performing it, so it must be thread-safe and fast.
+     * </p>
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * <p>
+         * 操作を記録する。
+         * </p>
+         * <p>
+         * Records an operation.
+         * </p>
+         *
+         * @param operation 操作の種類 - the kind of the operation, not null
+         * @param count     件数 - the number counted by the operation
+         * @param nanos     所要時間 - the elapsed time in nanoseconds, 0 for {@link Operation#CACHE_HIT} and {@link Operation#CACHE_MISS}
+         */
+        void record(Operation operation, long count, long nanos);
+    }
+
+    /**
+     * <p>
+     * 計測結果を受け取るListenerを設定する。
+     * </p>
+     * <p>
+     * Sets the listener receiving the operations, or disables it by null.
+     * </p>
+     *
+     * @param listener 計測結果を受け取るListener - the listener, or null
+     */
+    public static void setListener(Listener listener) {
+        IntervalMetrics.listener = listener;
+    }
+
+    /**
+     * <p>
+     * 計測結果を受け取るListenerを返す。
+     * </p>
+     * <p>
+     * Returns the listener receiving the operations.
+     * </p>
+     *
+     * @return 計測結果を受け取るListener - the listener, or null if disabled
+     */
+    public static Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Begins an operation, returning null if neither the listener nor the event is enabled.
+     */
+    static IntervalOperationEvent begin() {
+        IntervalOperationEvent event = new IntervalOperationEvent();
+        if (listener == null && !event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Ends the operation begun by {@link #begin()}, doing nothing for null.
+     */
+    static void end(IntervalOperationEvent event, Operation operation, long count) {
+        if (event == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - event.startNanos;
+        Listener listener = IntervalMetrics.listener;
+        if (listener != null) {
+            listener.record(operation, count, nanos);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.count = count;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records an instantaneous operation.
+     */
+    static void mark(Operation operation) {
+        Listener listener = IntervalMetrics.listener;
+        if (listener != null) {
+            listener.record(operation, 1L, 0L);
+        }
+        IntervalOperationEvent event = new IntervalOperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.count = 1L;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 期間の操作の回数と所要時間の分布を集計する。
+ * </p>
+ * <p>
+ * IntervalMetricsRecorder is a thread-safe {@link IntervalMetrics.Listener} accumulating, for each operation,
+ * the number of calls, the total count, the total elapsed time and a latency histogram.<br>
+ * The histogram has {@link #BUCKETS} buckets of powers of two: bucket {@code k} counts the calls which took
+ * [2<sup>k - 1</sup>, 2<sup>k</sup>) nanoseconds, bucket 0 those which took no time.
+ * </p>
+ */
+public final class IntervalMetricsRecorder implements IntervalMetrics.Listener {
+    /**
+     * The number of the buckets of a latency histogram.
+     */
+    public static final int BUCKETS = 64;
+
+    private final Map<IntervalMetrics.Operation, Stats> stats = new EnumMap<>(IntervalMetrics.Operation.class);
+
+    /**
+     * <p>
+     * 空の集計を生成する。
+     * </p>
+     * <p>
+     * Creates an empty recorder.
+     * </p>
+     */
+    public IntervalMetricsRecorder() {
+        for (IntervalMetrics.Operation operation : IntervalMetrics.Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    @Override
+    public void record(@NonNull IntervalMetrics.Operation operation, long count, long nanos) {
+        Stats stat = stats.get(operation);
+        stat.calls.increment();
+        stat.count.add(count);
+        stat.nanos.add(nanos);
+        stat.histogram.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(0L, nanos)));
+    }
+
+    /**
+     * <p>
+     * 操作の回数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the calls of the operation.
+     * </p>
+     *
+     * @param operation 操作の種類 - the kind of the operation, not null
+     * @return 回数 - the number of calls
+     */
+    public long getCalls(@NonNull IntervalMetrics.Operation operation) {
+        return stats.get(operation).calls.sum();
+    }
+
+    /**
+     * <p>
+     * 操作の件数の合計を返す。
+     * </p>
+     * <p>
+     * Returns the total count of the operation, such as the intervals found by the queries.
+     * </p>
+     *
+     * @param operation 操作の種類 - the kind of the operation, not null
+     * @return 件数の合計 - the total count
+     */
+    public long getCount(@NonNull IntervalMetrics.Operation operation) {
+        return stats.get(operation).count.sum();
+    }
+
+    /**
+     * <p>
+     * 操作の所要時間の合計を返す。
+     * </p>
+     * <p>
+     * Returns the total elapsed time of the operation.
+     * </p>
+     *
+     * @param operation 操作の種類 - the kind of the operation, not null
+     * @return 所要時間の合計 - the total elapsed time in nanoseconds
+     */
+    public long getTotalNanos(@NonNull IntervalMetrics.Operation operation) {
+        return stats.get(operation).nanos.sum();
+    }
+
+    /**
+     * <p>
+     * 操作の所要時間の分布を返す。
+     * </p>
+     * <p>
+     * Returns the latency histogram of the operation.
+     * </p>
+     *
+     * @param operation 操作の種類 - the kind of the operation, not null
+     * @return 所要時間の分布 - the copy of the {@link #BUCKETS} buckets
+     */
+    public long[] getLatencyHistogram(@NonNull IntervalMetrics.Operation operation) {
+        AtomicLongArray histogram = stats.get(operation).histogram;
+        long[] result = new long[BUCKETS];
+        for (int k = 0; k < BUCKETS; k++) {
+            result[k] = histogram.get(k);
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * 集計を消去する。
+     * </p>
+     * <p>
+     * Clears all the statistics.
+     * </p>
+     */
+    public void reset() {
+        for (Stats stat : stats.values()) {
+            stat.calls.reset();
+            stat.count.reset();
+            stat.nanos.reset();
+            for (int k = 0; k < BUCKETS; k++) {
+                stat.histogram.set(k, 0L);
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    }
+}
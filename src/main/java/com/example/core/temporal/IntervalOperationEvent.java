@@ -0,0 +1,29 @@
+package com.example.core.temporal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder event of an operation of {@link IntervalMetrics.Operation},
+ * committed by {@link IntervalMetrics} only while a recording enables it.
+ */
+@Name("com.example.core.temporal.IntervalOperation")
+@Label("Interval Operation")
+@Category("Temporal Interval")
+@Description("An operation on the intervals, such as building an index, querying it, joining or interning")
+final class IntervalOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Count")
+    @Description("The number of the intervals built, found, joined or evaluated")
+    long count;
+
+    /**
+     * The start of the operation for {@link IntervalMetrics.Listener}, not recorded as transient.
+     */
+    transient long startNanos;
+}
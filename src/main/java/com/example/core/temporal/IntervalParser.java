@@ -0,0 +1,322 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * <p>
+ * ISO-8601形式の文字列から、エポック数で表された期間を解析する。
+ * </p>
+ * <p>
+ * IntervalParser parses the intervals of ISO-8601 such as {@code 2020-01-01/2020-02-01} or
+ * {@code 2020-01-01T10:00/2020-01-01T12:00} directly from a {@link CharSequence} or an ASCII {@link ByteBuffer},
+ * and passes the epochs to an {@link EpochIntervalConsumer}, without creating any {@link java.time.temporal.Temporal}.<br>
+ * The endpoints are {@code uuuu-MM-dd} for {@link #LOCAL_DATE}, {@code HH:mm[:ss[.fraction]]} for {@link #LOCAL_TIME}
+ * and both joined by {@code T} for {@link #LOCAL_DATE_TIME}, separated by {@code /}.
+ * The year of more than four digits must have its sign, as {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE}.
+ * The fraction of second is discarded, since the epochs of {@link LocalDateTimeInterval} and {@link LocalTimeInterval} are in seconds.
+ * </p>
+ * <p>
+ * The malformed text throws {@link DateTimeParseException}, and the interval whose start is not before its end
+ * throws {@link IllegalArgumentException}, the same as the constructors of the intervals.
+ * </p>
+ */
+public final class IntervalParser {
+    /**
+     * The parser of {@link LocalDateInterval}, whose epochs are the days.
+     */
+    public static final IntervalParser LOCAL_DATE = new IntervalParser(Kind.DATE);
+    /**
+     * The parser of {@link LocalDateTimeInterval}, whose epochs are the seconds in UTC.
+     */
+    public static final IntervalParser LOCAL_DATE_TIME = new IntervalParser(Kind.DATE_TIME);
+    /**
+     * The parser of {@link LocalTimeInterval}, whose epochs are the seconds of the day.
+     */
+    public static final IntervalParser LOCAL_TIME = new IntervalParser(Kind.TIME);
+
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private enum Kind {
+        DATE, DATE_TIME, TIME
+    }
+
+    private final Kind kind;
+
+    private IntervalParser(Kind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * <p>
+     * 期間の種類に対応する解析器を返す。
+     * </p>
+     * <p>
+     * Returns the parser of the specified type of intervals.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of {@link LocalDateInterval}, {@link LocalDateTimeInterval} or {@link LocalTimeInterval}, not null
+     * @return 解析器 - the parser
+     */
+    public static IntervalParser of(@NonNull IntervalType<?, ?> type) {
+        if (type == LocalDateInterval.TYPE) {
+            return LOCAL_DATE;
+        }
+        if (type == LocalDateTimeInterval.TYPE) {
+            return LOCAL_DATE_TIME;
+        }
+        if (type == LocalTimeInterval.TYPE) {
+            return LOCAL_TIME;
+        }
+        throw new IllegalArgumentException("unsupported type: " + type);
+    }
+
+    /**
+     * <p>
+     * 文字列全体を期間として解析し、sinkに渡す。
+     * </p>
+     * <p>
+     * Parses the whole text as an interval and passes it to the sink.
+     * </p>
+     *
+     * @param text 文字列 - the text, not null
+     * @param sink 期間を受け取る処理 - the sink, not null
+     */
+    public void parse(@NonNull CharSequence text, @NonNull EpochIntervalConsumer sink) {
+        parse(text, 0, text.length(), sink);
+    }
+
+    /**
+     * <p>
+     * 文字列の指定された範囲を期間として解析し、sinkに渡す。
+     * </p>
+     * <p>
+     * Parses the range of the text as an interval and passes it to the sink.
+     * </p>
+     *
+     * @param text  文字列 - the text, not null
+     * @param start 開始位置 - the index of start, inclusive
+     * @param end   終了位置 - the index of end, exclusive
+     * @param sink  期間を受け取る処理 - the sink, not null
+     */
+    public void parse(@NonNull CharSequence text, int start, int end, @NonNull EpochIntervalConsumer sink) {
+        Objects.checkFromToIndex(start, end, text.length());
+        parseInterval(text, start, end, sink);
+    }
+
+    /**
+     * <p>
+     * バッファのpositionからlimitまでを期間として解析し、sinkに渡す。バッファのpositionは変更しない。
+     * </p>
+     * <p>
+     * Parses the ASCII bytes from the position to the limit of the buffer as an interval and passes it to the sink,
+     * without changing the position.
+     * </p>
+     *
+     * @param buffer バッファ - the buffer, not null
+     * @param sink   期間を受け取る処理 - the sink, not null
+     */
+    public void parse(@NonNull ByteBuffer buffer, @NonNull EpochIntervalConsumer sink) {
+        parseInterval(buffer, buffer.position(), buffer.limit(), sink);
+    }
+
+    /**
+     * <p>
+     * バッファの指定された範囲を期間として解析し、sinkに渡す。バッファのpositionは変更しない。
+     * </p>
+     * <p>
+     * Parses the ASCII bytes in the absolute range of the buffer as an interval and passes it to the sink,
+     * without changing the position.
+     * </p>
+     *
+     * @param buffer バッファ - the buffer, not null
+     * @param start  開始位置 - the absolute index of start, inclusive
+     * @param end    終了位置 - the absolute index of end, exclusive
+     * @param sink   期間を受け取る処理 - the sink, not null
+     */
+    public void parse(@NonNull ByteBuffer buffer, int start, int end, @NonNull EpochIntervalConsumer sink) {
+        Objects.checkFromToIndex(start, end, buffer.limit());
+        parseInterval(buffer, start, end, sink);
+    }
+
+    /**
+     * Parses the range of the source, a {@link CharSequence} or a {@link ByteBuffer}, as an endpoint.
+     */
+    long parseEpoch(Object source, int start, int end) {
+        switch (kind) {
+            case DATE:
+                return parseDate(source, start, end);
+            case TIME:
+                return parseTime(source, start, end);
+            default:
+                int t = indexOf(source, 'T', start, end);
+                if (t < 0) {
+                    throw error(source, start, end, end, "'T' expected");
+                }
+                return parseDate(source, start, t) * SECONDS_PER_DAY + parseTime(source, t + 1, end);
+        }
+    }
+
+    private void parseInterval(Object source, int start, int end, EpochIntervalConsumer sink) {
+        int slash = indexOf(source, '/', start, end);
+        if (slash < 0) {
+            throw error(source, start, end, end, "'/' expected");
+        }
+        long from = parseEpoch(source, start, slash);
+        long to = parseEpoch(source, slash + 1, end);
+        if (from >= to) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        sink.accept(from, to);
+    }
+
+    /**
+     * Parses uuuu-MM-dd into the epoch day, the same as {@link java.time.LocalDate#toEpochDay()}.
+     */
+    private static long parseDate(Object source, int start, int end) {
+        int i = start;
+        boolean signed = i < end && (charAt(source, i) == '+' || charAt(source, i) == '-');
+        boolean negative = signed && charAt(source, i) == '-';
+        if (signed) {
+            i++;
+        }
+        int digits = i;
+        long year = 0L;
+        while (i < end && i - digits < 10 && isDigit(charAt(source, i))) {
+            year = year * 10L + (charAt(source, i++) - '0');
+        }
+        if (i - digits < 4 || i - digits > 9 || (i - digits > 4 && !signed)) {
+            throw error(source, start, end, digits, "invalid year");
+        }
+        year = negative ? -year : year;
+        i = expect(source, start, end, i, '-');
+        int month = twoDigits(source, start, end, i);
+        if (month < 1 || month > 12) {
+            throw error(source, start, end, i, "invalid month");
+        }
+        i = expect(source, start, end, i + 2, '-');
+        int day = twoDigits(source, start, end, i);
+        boolean leap = (year & 3L) == 0L && (year % 100L != 0L || year % 400L == 0L);
+        if (day < 1 || day > lengthOfMonth(month, leap)) {
+            throw error(source, start, end, i, "invalid day of month");
+        }
+        if (i + 2 != end) {
+            throw error(source, start, end, i + 2, "unexpected character");
+        }
+        long total = 365L * year;
+        if (year >= 0L) {
+            total += (year + 3L) / 4L - (year + 99L) / 100L + (year + 399L) / 400L;
+        } else {
+            total -= year / -4L - year / -100L + year / -400L;
+        }
+        total += (367L * month - 362L) / 12L + day - 1L;
+        if (month > 2) {
+            total -= leap ? 1L : 2L;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Parses HH:mm[:ss[.fraction]] into the second of the day, discarding the fraction.
+     */
+    private static long parseTime(Object source, int start, int end) {
+        int hour = twoDigits(source, start, end, start);
+        if (hour > 23) {
+            throw error(source, start, end, start, "invalid hour");
+        }
+        int i = expect(source, start, end, start + 2, ':');
+        int minute = twoDigits(source, start, end, i);
+        if (minute > 59) {
+            throw error(source, start, end, i, "invalid minute");
+        }
+        i += 2;
+        int second = 0;
+        if (i < end) {
+            i = expect(source, start, end, i, ':');
+            second = twoDigits(source, start, end, i);
+            if (second > 59) {
+                throw error(source, start, end, i, "invalid second");
+            }
+            i += 2;
+            if (i < end) {
+                i = expect(source, start, end, i, '.');
+                int digits = i;
+                while (i < end && isDigit(charAt(source, i))) {
+                    i++;
+                }
+                if (i == digits || i - digits > 9 || i != end) {
+                    throw error(source, start, end, i, "invalid fraction");
+                }
+            }
+        }
+        return hour * 3600L + minute * 60L + second;
+    }
+
+    private static int lengthOfMonth(int month, boolean leap) {
+        switch (month) {
+            case 2:
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int twoDigits(Object source, int start, int end, int i) {
+        if (i + 2 > end) {
+            throw error(source, start, end, Math.min(i, end), "two digits expected");
+        }
+        char tens = charAt(source, i);
+        char ones = charAt(source, i + 1);
+        if (!isDigit(tens) || !isDigit(ones)) {
+            throw error(source, start, end, i, "two digits expected");
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static int expect(Object source, int start, int end, int i, char expected) {
+        if (i >= end || charAt(source, i) != expected) {
+            throw error(source, start, end, Math.min(i, end), "'" + expected + "' expected");
+        }
+        return i + 1;
+    }
+
+    private static int indexOf(Object source, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (charAt(source, i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char charAt(Object source, int i) {
+        return source instanceof ByteBuffer
+                ? (char) (((ByteBuffer) source).get(i) & 0xFF)
+                : ((CharSequence) source).charAt(i);
+    }
+
+    /**
+     * Creates the exception of the text in [start, end), whose error index is relative to start.
+     */
+    private static DateTimeParseException error(Object source, int start, int end, int index, String reason) {
+        StringBuilder text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            text.append(charAt(source, i));
+        }
+        return new DateTimeParseException(
+                "Text '" + text + "' could not be parsed at index " + (index - start) + ": " + reason, text, index - start);
+    }
+}
@@ -0,0 +1,450 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ * 重複しない期間の昇順の並びで表される、期間の不変な集合を表す。
+ * </p>
+ * <p>
+ * IntervalSet is an immutable set of intervals, stored as the canonical run of the epochs of start and end
+ * which are sorted and neither overlap nor touch each other.<br>
+ * Overlapping or touching intervals are coalesced into one on creation.
+ * The union, intersection, difference and complement are computed by linear merge of the runs,
+ * regarding each interval as the span between its start and end, and empty spans are dropped from the results.<br>
+ * {@link #contains(long)} regards each interval as Closed interval, as {@link AbstractTemporalInterval#contains(long)} does.<br>
+ * The gaps between the intervals are found by binary search of the first interval within the bounds,
+ * in O(log n + k) for the k intervals visited.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class IntervalSet<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    final IntervalType<T, I> type;
+    final long[] froms;
+    final long[] tos;
+    final int size;
+
+    private IntervalSet(IntervalType<T, I> type, long[] froms, long[] tos, int size) {
+        this.type = type;
+        this.froms = froms;
+        this.tos = tos;
+        this.size = size;
+    }
+
+    /**
+     * <p>
+     * 空の集合を返す。
+     * </p>
+     * <p>
+     * Returns the empty set.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 空の集合 - the empty set
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalSet<T, I> empty(
+            @NonNull IntervalType<T, I> type) {
+        return new IntervalSet<>(type, new long[0], new long[0], 0);
+    }
+
+    /**
+     * <p>
+     * 期間の集合を正規化して集合を生成する。
+     * </p>
+     * <p>
+     * Creates a set coalescing the specified intervals.
+     * </p>
+     *
+     * @param type      期間の種類 - the type of the intervals, not null
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 集合 - the set
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalSet<T, I> of(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> intervals) {
+        int count = intervals.size();
+        long[] froms = new long[count];
+        long[] tos = new long[count];
+        int n = 0;
+        boolean sorted = true;
+        for (I interval : intervals) {
+            froms[n] = interval.epochFrom;
+            tos[n] = interval.epochTo;
+            sorted &= n == 0 || froms[n - 1] <= froms[n];
+            n++;
+        }
+        return sorted ? coalesce(type, froms, tos, n) : sortAndCoalesce(type, froms, tos, n);
+    }
+
+    /**
+     * <p>
+     * 重複しない期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the coalesced intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * 空の集合であるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this set is empty.
+     * </p>
+     *
+     * @return 空であればtrue - true if this set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * <p>
+     * 重複しない期間を昇順に生成するリストを返す。
+     * </p>
+     * <p>
+     * Returns the list view which materializes the coalesced intervals in ascending order on access.
+     * </p>
+     *
+     * @return 期間のリスト - the list of intervals
+     */
+    public List<I> toList() {
+        return new AbstractList<I>() {
+            @Override
+            public I get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+                }
+                return type.of(froms[index], tos[index]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * temporalが集合に含まれるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this set contains the specified temporal, in O(log n).
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @return temporalが集合に含まれればtrue - true if this set contains the specified temporal
+     */
+    public boolean contains(@NonNull T temporal) {
+        return contains(type.toEpoch(temporal));
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点が集合に含まれるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this set contains the specified point expressed as the number since the epoch, in O(log n).
+     * </p>
+     *
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @return epochが集合に含まれればtrue - true if this set contains the specified epoch
+     */
+    public boolean contains(long epoch) {
+        int index = floor(epoch);
+        return index >= 0 && epoch <= tos[index];
+    }
+
+    /**
+     * <p>
+     * otherとの和集合を返す。
+     * </p>
+     * <p>
+     * Returns the union with the other set.
+     * </p>
+     *
+     * @param other 対象集合 - the other set, not null
+     * @return 和集合 - the union
+     */
+    public IntervalSet<T, I> union(@NonNull IntervalSet<T, I> other) {
+        long[] resultFroms = new long[size + other.size];
+        long[] resultTos = new long[size + other.size];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            long from;
+            long to;
+            if (j >= other.size || (i < size && froms[i] <= other.froms[j])) {
+                from = froms[i];
+                to = tos[i++];
+            } else {
+                from = other.froms[j];
+                to = other.tos[j++];
+            }
+            if (n > 0 && from <= resultTos[n - 1]) {
+                resultTos[n - 1] = Math.max(resultTos[n - 1], to);
+            } else {
+                resultFroms[n] = from;
+                resultTos[n++] = to;
+            }
+        }
+        return new IntervalSet<>(type, resultFroms, resultTos, n);
+    }
+
+    /**
+     * <p>
+     * otherとの積集合を返す。
+     * </p>
+     * <p>
+     * Returns the intersection with the other set.
+     * </p>
+     *
+     * @param other 対象集合 - the other set, not null
+     * @return 積集合 - the intersection
+     */
+    public IntervalSet<T, I> intersection(@NonNull IntervalSet<T, I> other) {
+        long[] resultFroms = new long[size + other.size];
+        long[] resultTos = new long[size + other.size];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            long from = Math.max(froms[i], other.froms[j]);
+            long to = Math.min(tos[i], other.tos[j]);
+            if (from < to) {
+                resultFroms[n] = from;
+                resultTos[n++] = to;
+            }
+            if (tos[i] < other.tos[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new IntervalSet<>(type, resultFroms, resultTos, n);
+    }
+
+    /**
+     * <p>
+     * otherとの差集合を返す。
+     * </p>
+     * <p>
+     * Returns the difference, the spans of this set which are not in the other set.
+     * </p>
+     *
+     * @param other 対象集合 - the other set, not null
+     * @return 差集合 - the difference
+     */
+    public IntervalSet<T, I> difference(@NonNull IntervalSet<T, I> other) {
+        long[] resultFroms = new long[size + other.size];
+        long[] resultTos = new long[size + other.size];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            long current = froms[i];
+            long to = tos[i];
+            while (j < other.size && other.tos[j] <= current) {
+                j++;
+            }
+            for (int k = j; k < other.size && other.froms[k] < to && current < to; k++) {
+                if (current < other.froms[k]) {
+                    resultFroms[n] = current;
+                    resultTos[n++] = other.froms[k];
+                }
+                current = Math.max(current, other.tos[k]);
+            }
+            if (current < to) {
+                resultFroms[n] = current;
+                resultTos[n++] = to;
+            }
+        }
+        return new IntervalSet<>(type, resultFroms, resultTos, n);
+    }
+
+    /**
+     * <p>
+     * bounds内での補集合を返す。
+     * </p>
+     * <p>
+     * Returns the complement within the specified bounds.
+     * </p>
+     *
+     * @param bounds 範囲 - the bounds, not null
+     * @return 補集合 - the complement
+     */
+    public IntervalSet<T, I> complement(@NonNull I bounds) {
+        return new IntervalSet<>(type, new long[]{bounds.epochFrom}, new long[]{bounds.epochTo}, 1).difference(this);
+    }
+
+    /**
+     * <p>
+     * bounds内で、長さがminLength以上である最初の隙間を返す。
+     * </p>
+     * <p>
+     * Finds the earliest gap between the intervals within the specified bounds, whose length is at least minLength.
+     * A gap touches the intervals around it, as {@link #complement(AbstractTemporalInterval)} does.
+     * </p>
+     *
+     * @param bounds    範囲 - the bounds, not null
+     * @param minLength 最小の長さ - the minimum length in the epochs, must be positive
+     * @return 隙間 - the gap, or empty if none
+     */
+    public Optional<I> firstGap(@NonNull I bounds, long minLength) {
+        Gaps gaps = new Gaps(bounds, minLength);
+        return gaps.next() ? Optional.of(type.of(gaps.from, gaps.to)) : Optional.empty();
+    }
+
+    /**
+     * <p>
+     * bounds内で、長さがminLength以上である隙間を昇順に遅延して返す。
+     * </p>
+     * <p>
+     * Returns the lazy stream of the gaps between the intervals within the specified bounds, whose length is at least
+     * minLength, in ascending order.
+     * A gap touches the intervals around it, as {@link #complement(AbstractTemporalInterval)} does.
+     * </p>
+     *
+     * @param bounds    範囲 - the bounds, not null
+     * @param minLength 最小の長さ - the minimum length in the epochs, must be positive
+     * @return 隙間のストリーム - the stream of the gaps
+     */
+    public Stream<I> gaps(@NonNull I bounds, long minLength) {
+        Gaps gaps = new Gaps(bounds, minLength);
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<I>(Long.MAX_VALUE, characteristics) {
+            @Override
+            public boolean tryAdvance(Consumer<? super I> action) {
+                if (!gaps.next()) {
+                    return false;
+                }
+                action.accept(type.of(gaps.from, gaps.to));
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Returns the index of the last interval starting at or before the epoch, or -1 if none.
+     */
+    int floor(long epoch) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (froms[mid] <= epoch) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * The cursor over the gaps within the bounds, which holds the current gap in from and to.
+     */
+    private final class Gaps {
+        private final long minLength;
+        private final long boundTo;
+        private long cursor;
+        private int index;
+        private long from;
+        private long to;
+
+        Gaps(I bounds, long minLength) {
+            if (minLength <= 0) {
+                throw new IllegalArgumentException("minLength must be positive");
+            }
+            this.minLength = minLength;
+            this.boundTo = bounds.epochTo;
+            int floor = floor(bounds.epochFrom);
+            this.cursor = floor >= 0 ? Math.max(bounds.epochFrom, tos[floor]) : bounds.epochFrom;
+            this.index = floor + 1;
+        }
+
+        boolean next() {
+            while (cursor < boundTo) {
+                long end = index < size ? Math.min(froms[index], boundTo) : boundTo;
+                long start = cursor;
+                cursor = index < size ? tos[index] : boundTo;
+                index++;
+                if (end - start >= minLength) {
+                    from = start;
+                    to = end;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalSet<T, I> coalesce(
+            IntervalType<T, I> type, long[] froms, long[] tos, int count) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (n > 0 && froms[i] <= tos[n - 1]) {
+                tos[n - 1] = Math.max(tos[n - 1], tos[i]);
+            } else {
+                froms[n] = froms[i];
+                tos[n++] = tos[i];
+            }
+        }
+        return new IntervalSet<>(type, froms, tos, n);
+    }
+
+    /**
+     * Sorts the epochs of start and end independently and sweeps them, starts before ends on ties.
+     * The union of intervals only depends on the multisets of the starts and the ends,
+     * so the pairs need not be kept together while sorting.
+     */
+    private static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalSet<T, I> sortAndCoalesce(
+            IntervalType<T, I> type, long[] froms, long[] tos, int count) {
+        Arrays.sort(froms, 0, count);
+        Arrays.sort(tos, 0, count);
+        long[] resultFroms = new long[count];
+        long[] resultTos = new long[count];
+        int n = 0;
+        int depth = 0;
+        int i = 0;
+        int j = 0;
+        while (j < count) {
+            if (i < count && froms[i] <= tos[j]) {
+                if (depth++ == 0) {
+                    resultFroms[n] = froms[i];
+                }
+                i++;
+            } else {
+                if (--depth == 0) {
+                    resultTos[n++] = tos[j];
+                }
+                j++;
+            }
+        }
+        return new IntervalSet<>(type, resultFroms, resultTos, n);
+    }
+}
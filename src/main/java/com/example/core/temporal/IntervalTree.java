@@ -0,0 +1,296 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * 期間の集合に対し、時点を含む期間と重複する期間を検索するための不変な区間木を表す。
+ * </p>
+ * <p>
+ * IntervalTree is an immutable interval tree, which finds the intervals containing a point
+ * or overlapping with an interval in O(log n + k).<br>
+ * The intervals are sorted by the epoch of start and the tree is laid out implicitly on the sorted arrays,
+ * each node being augmented with the maximum epoch of end in its subtree.<br>
+ * The boundary semantics are the same as {@link AbstractTemporalInterval#contains(Temporal)},
+ * {@link AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)} and
+ * {@link AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)}.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class IntervalTree<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    private final IntervalType<T, I> type;
+    private final Object[] intervals;
+    private final long[] froms;
+    private final long[] tos;
+    private final long[] maxTos;
+
+    private IntervalTree(IntervalType<T, I> type, Object[] intervals) {
+        Arrays.sort(intervals, (a, b) -> Long.compare(epochFrom(a), epochFrom(b)));
+        int size = intervals.length;
+        this.type = type;
+        this.intervals = intervals;
+        this.froms = new long[size];
+        this.tos = new long[size];
+        this.maxTos = new long[size];
+        for (int i = 0; i < size; i++) {
+            AbstractTemporalInterval<?, ?> interval = (AbstractTemporalInterval<?, ?>) intervals[i];
+            froms[i] = interval.epochFrom;
+            tos[i] = interval.epochTo;
+        }
+        buildMaxTos(0, size);
+    }
+
+    /**
+     * <p>
+     * 期間の集合から区間木を構築する。
+     * </p>
+     * <p>
+     * Builds an interval tree from the specified intervals.
+     * </p>
+     *
+     * @param type      期間の種類 - the type of the intervals, not null
+     * @param intervals 期間の集合 - the intervals, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 区間木 - the interval tree
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalTree<T, I> of(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> intervals) {
+        IntervalOperationEvent event = IntervalMetrics.begin();
+        IntervalTree<T, I> tree = new IntervalTree<>(type, intervals.toArray());
+        IntervalMetrics.end(event, IntervalMetrics.Operation.INDEX_BUILD, tree.size());
+        return tree;
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return intervals.length;
+    }
+
+    /**
+     * <p>
+     * temporalを含む期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which contain the specified temporal.
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @return temporalを含む期間 - the intervals containing the temporal, in order of the epoch of start
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public List<I> containing(@NonNull T temporal) {
+        return containing(type.toEpoch(temporal));
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which contain the specified point expressed as the number since the epoch.
+     * </p>
+     *
+     * @param epoch 比較対象のエポック数 - the number since the epoch to compare to
+     * @return epochを含む期間 - the intervals containing the epoch, in order of the epoch of start
+     * @see AbstractTemporalInterval#contains(long)
+     */
+    public List<I> containing(long epoch) {
+        List<I> result = new ArrayList<>();
+        forEachContaining(epoch, result::add);
+        return result;
+    }
+
+    /**
+     * <p>
+     * エポック数で表された時点を含む期間に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval which contains the specified point expressed as the number since the epoch.
+     * </p>
+     *
+     * @param epoch  比較対象のエポック数 - the number since the epoch to compare to
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEachContaining(long epoch, @NonNull Consumer<? super I> action) {
+        forEachOverlappingAsClosed(epoch, epoch, action);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the specified interval, regarding both as Open interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsOpen(@NonNull I other) {
+        return overlappingAsOpen(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public List<I> overlappingAsOpen(long from, long to) {
+        List<I> result = new ArrayList<>();
+        forEachOverlappingAsOpen(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval which overlaps with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEachOverlappingAsOpen(long from, long to, @NonNull Consumer<? super I> action) {
+        query(from, to, action);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the specified interval, regarding both as Closed interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsClosed(@NonNull I other) {
+        return overlappingAsClosed(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public List<I> overlappingAsClosed(long from, long to) {
+        List<I> result = new ArrayList<>();
+        forEachOverlappingAsClosed(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval which overlaps with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEachOverlappingAsClosed(long from, long to, @NonNull Consumer<? super I> action) {
+        // epochs are integral, so [from, to] overlaps as Closed iff (from - 1, to + 1) overlaps as Open
+        query(Epochs.before(from), Epochs.after(to), action);
+    }
+
+    /**
+     * Searches the whole tree, counting the intervals found only while {@link IntervalMetrics} is enabled.
+     */
+    private void query(long from, long to, Consumer<? super I> action) {
+        IntervalOperationEvent event = IntervalMetrics.begin();
+        if (event == null) {
+            search(0, intervals.length, from, to, action);
+            return;
+        }
+        long[] count = new long[1];
+        search(0, intervals.length, from, to, interval -> {
+            count[0]++;
+            action.accept(interval);
+        });
+        IntervalMetrics.end(event, IntervalMetrics.Operation.INDEX_QUERY, count[0]);
+    }
+
+    /**
+     * Visits the nodes in [lo, hi) which overlap with (from, to) as Open interval.
+     * The node of a range is always its middle index, so the right subtree is visited by the loop.
+     */
+    @SuppressWarnings("unchecked")
+    private void search(int lo, int hi, long from, long to, Consumer<? super I> action) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxTos[mid] <= from) {
+                return;
+            }
+            search(lo, mid, from, to, action);
+            if (froms[mid] >= to) {
+                return;
+            }
+            if (from < tos[mid]) {
+                action.accept((I) intervals[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private long buildMaxTos(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(tos[mid], Math.max(buildMaxTos(lo, mid), buildMaxTos(mid + 1, hi)));
+        maxTos[mid] = max;
+        return max;
+    }
+
+    private static long epochFrom(Object interval) {
+        return ((AbstractTemporalInterval<?, ?>) interval).epochFrom;
+    }
+}
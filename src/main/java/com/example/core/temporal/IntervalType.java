@@ -0,0 +1,74 @@
+package com.example.core.temporal;
+
+import java.time.temporal.Temporal;
+
+/**
+ * <p>
+ * {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラスごとの、エポック数との相互変換と生成方法を表す。
+ * </p>
+ * <p>
+ * IntervalType describes how a subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ * converts its temporal to and from the number since the epoch, and how it is instantiated.<br>
+ * The instances are exposed as {@code TYPE} of each subclass.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public interface IntervalType<T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    /**
+     * <p>
+     * 1970年01月01日00時00分00秒を基準としたエポック数に変換する。
+     * </p>
+     * <p>
+     * Converts to the number since the epoch of 1970-01-01T00:00:00Z.
+     * </p>
+     *
+     * @param temporal 日時/日付/時刻 - the temporal, not null
+     * @return エポック数 - the number since the epoch
+     */
+    long toEpoch(T temporal);
+
+    /**
+     * <p>
+     * エポック数から日時/日付/時刻に変換する。
+     * </p>
+     * <p>
+     * Converts from the number since the epoch of 1970-01-01T00:00:00Z.
+     * </p>
+     *
+     * @param epoch エポック数 - the number since the epoch
+     * @return 日時/日付/時刻 - the temporal
+     */
+    T fromEpoch(long epoch);
+
+    /**
+     * <p>
+     * 期間を生成する。
+     * </p>
+     * <p>
+     * Creates an interval.
+     * </p>
+     *
+     * @param from 開始時点 - the point of start, must be before to, not null
+     * @param to   終了時点 - the point of end, must be after before, not null
+     * @return 期間 - the interval
+     */
+    I of(T from, T to);
+
+    /**
+     * <p>
+     * エポック数で表された開始時点と終了時点から期間を生成する。
+     * </p>
+     * <p>
+     * Creates an interval from the points of start and end expressed as the numbers since the epoch.
+     * </p>
+     *
+     * @param from 開始エポック数 - the epoch of start, must be less than to
+     * @param to   終了エポック数 - the epoch of end, must be greater than from
+     * @return 期間 - the interval
+     */
+    default I of(long from, long to) {
+        return of(fromEpoch(from), fromEpoch(to));
+    }
+}
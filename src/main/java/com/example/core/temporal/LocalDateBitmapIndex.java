@@ -0,0 +1,186 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>
+ * 日ごとに、その日に開始または終了する{@link LocalDateInterval}の識別子を圧縮されたビットマップで保持する不変な索引を表す。
+ * </p>
+ * <p>
+ * LocalDateBitmapIndex is an immutable index of {@link LocalDateInterval}s, the id being the position in the source list,
+ * which maps each epoch day to the compressed bitmaps of the ids starting and ending on that day,
+ * and keeps the bitmap of the ids active on every 64th day as a checkpoint.<br>
+ * An interval is active on the days from its start to its end, both inclusive, as {@link LocalDateInterval#contains(java.time.temporal.Temporal)}.
+ * Building costs O(N + D) for N intervals over D days regardless of their lengths, and a query replays the events
+ * from the nearest checkpoint into a single accumulator of N bits in place, instead of the scan of intervals.
+ * </p>
+ */
+public final class LocalDateBitmapIndex {
+    /**
+     * The interval of the days between the checkpoints.
+     */
+    static final int CHECKPOINT_DAYS = 64;
+
+    private final long firstDay;
+    private final int size;
+    private final IdBitmap[] starts;
+    private final IdBitmap[] ends;
+    private final IdBitmap[] checkpoints;
+
+    private LocalDateBitmapIndex(long firstDay, int size, IdBitmap[] starts, IdBitmap[] ends, IdBitmap[] checkpoints) {
+        this.firstDay = firstDay;
+        this.size = size;
+        this.starts = starts;
+        this.ends = ends;
+        this.checkpoints = checkpoints;
+    }
+
+    /**
+     * <p>
+     * 期間のリストから索引を構築する。
+     * </p>
+     * <p>
+     * Builds an index from the specified intervals, identified by their positions in the list.
+     * </p>
+     *
+     * @param intervals 期間のリスト - the intervals, not null
+     * @return 索引 - the index
+     */
+    public static LocalDateBitmapIndex of(@NonNull List<LocalDateInterval> intervals) {
+        if (intervals.isEmpty()) {
+            return new LocalDateBitmapIndex(0L, 0, new IdBitmap[0], new IdBitmap[0], new IdBitmap[0]);
+        }
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (LocalDateInterval interval : intervals) {
+            firstDay = Math.min(firstDay, interval.epochFrom);
+            lastDay = Math.max(lastDay, interval.epochTo);
+        }
+        if (lastDay - firstDay >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("intervals span too many days");
+        }
+        int days = (int) (lastDay - firstDay + 1);
+        IdBitmap.Builder[] startBuilders = new IdBitmap.Builder[days];
+        IdBitmap.Builder[] endBuilders = new IdBitmap.Builder[days];
+        int id = 0;
+        for (LocalDateInterval interval : intervals) {
+            // ids are visited in ascending order, so each builder receives them sorted
+            add(startBuilders, (int) (interval.epochFrom - firstDay), id);
+            add(endBuilders, (int) (interval.epochTo - firstDay), id);
+            id++;
+        }
+        IdBitmap[] starts = build(startBuilders);
+        IdBitmap[] ends = build(endBuilders);
+        IdBitmap[] checkpoints = new IdBitmap[(days + CHECKPOINT_DAYS - 1) / CHECKPOINT_DAYS];
+        long[] active = new long[(intervals.size() + 63) >>> 6];
+        for (int day = 0; day < days; day++) {
+            starts[day].orInto(active);
+            if (day % CHECKPOINT_DAYS == 0) {
+                checkpoints[day / CHECKPOINT_DAYS] = IdBitmap.ofWords(active);
+            }
+            ends[day].andNotInto(active);
+        }
+        return new LocalDateBitmapIndex(firstDay, intervals.size(), starts, ends, checkpoints);
+    }
+
+    private static void add(IdBitmap.Builder[] builders, int index, int id) {
+        if (builders[index] == null) {
+            builders[index] = new IdBitmap.Builder();
+        }
+        builders[index].add(id);
+    }
+
+    private static IdBitmap[] build(IdBitmap.Builder[] builders) {
+        IdBitmap[] bitmaps = new IdBitmap[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            bitmaps[i] = builders[i] == null ? IdBitmap.empty() : builders[i].build();
+        }
+        return bitmaps;
+    }
+
+    /**
+     * <p>
+     * dateを含む期間の識別子を返す。
+     * </p>
+     * <p>
+     * Returns the ids of the intervals active on the specified date.
+     * </p>
+     *
+     * @param date 日付 - the date, not null
+     * @return 識別子 - the ids
+     */
+    public IdBitmap activeOn(@NonNull LocalDate date) {
+        long index = date.toEpochDay() - firstDay;
+        if (index < 0 || index >= starts.length) {
+            return IdBitmap.empty();
+        }
+        return IdBitmap.ofWords(activeWords((int) index));
+    }
+
+    /**
+     * <p>
+     * range内のいずれかの日を含む期間の識別子を返す。
+     * </p>
+     * <p>
+     * Returns the ids of the intervals active on any day in the specified range, both ends inclusive,
+     * that is, the ones active on its first day or starting on its following days.
+     * </p>
+     *
+     * @param range 日付の範囲 - the range of dates, not null
+     * @return 識別子 - the ids
+     */
+    public IdBitmap activeOnAny(@NonNull LocalDateInterval range) {
+        if (range.epochTo < firstDay || range.epochFrom - firstDay >= starts.length) {
+            return IdBitmap.empty();
+        }
+        int from = (int) Math.max(range.epochFrom - firstDay, 0L);
+        int to = (int) Math.min(range.epochTo - firstDay, starts.length - 1L);
+        long[] result = activeWords(from);
+        for (int i = from + 1; i <= to; i++) {
+            starts[i].orInto(result);
+        }
+        return IdBitmap.ofWords(result);
+    }
+
+    /**
+     * <p>
+     * range内のすべての日を含む期間の識別子を返す。
+     * </p>
+     * <p>
+     * Returns the ids of the intervals active on every day in the specified range, both ends inclusive,
+     * that is, the ones active on its first day and not ending before its last day.
+     * </p>
+     *
+     * @param range 日付の範囲 - the range of dates, not null
+     * @return 識別子 - the ids
+     */
+    public IdBitmap activeOnAll(@NonNull LocalDateInterval range) {
+        if (range.epochFrom < firstDay || range.epochTo - firstDay >= starts.length) {
+            return IdBitmap.empty();
+        }
+        int from = (int) (range.epochFrom - firstDay);
+        int to = (int) (range.epochTo - firstDay);
+        long[] result = activeWords(from);
+        for (int i = from; i < to; i++) {
+            ends[i].andNotInto(result);
+        }
+        return IdBitmap.ofWords(result);
+    }
+
+    /**
+     * Returns the words of the ids active on the day, replaying the events after the nearest checkpoint.
+     */
+    private long[] activeWords(int day) {
+        long[] words = new long[(size + 63) >>> 6];
+        int checkpoint = day / CHECKPOINT_DAYS * CHECKPOINT_DAYS;
+        checkpoints[checkpoint / CHECKPOINT_DAYS].orInto(words);
+        for (int i = checkpoint + 1; i <= day; i++) {
+            ends[i - 1].andNotInto(words);
+            starts[i].orInto(words);
+        }
+        return words;
+    }
+}
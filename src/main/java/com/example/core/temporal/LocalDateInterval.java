@@ -13,12 +13,86 @@ import java.time.LocalDate;
  * </p>
  */
 public class LocalDateInterval extends AbstractTemporalInterval<LocalDate, LocalDateInterval> {
+    /**
+     * <p>
+     * LocalDateIntervalのエポック数との相互変換と生成方法。
+     * </p>
+     * <p>
+     * The {@link IntervalType} of LocalDateInterval.
+     * </p>
+     */
+    public static final IntervalType<LocalDate, LocalDateInterval> TYPE = new IntervalType<>() {
+        @Override
+        public long toEpoch(LocalDate date) {
+            return date.toEpochDay();
+        }
+
+        @Override
+        public LocalDate fromEpoch(long epoch) {
+            return LocalDate.ofEpochDay(epoch);
+        }
+
+        @Override
+        public LocalDateInterval of(LocalDate from, LocalDate to) {
+            return new LocalDateInterval(from, to);
+        }
+    };
+
+    private static volatile IntervalCache<LocalDate, LocalDateInterval> cache = IntervalCache.bounded(TYPE, 1024);
+
     public LocalDateInterval(LocalDate from, LocalDate to) {
         super(from, to);
     }
 
+    /**
+     * <p>
+     * fromとtoの期間を、共有のキャッシュにあれば共有して返す。
+     * </p>
+     * <p>
+     * Returns the shared interval between from and to from the shared cache, by default the one of 1024 slots
+     * by {@link IntervalCache#bounded(IntervalType, int)}, instead of constructing a new one for each call.
+     * </p>
+     *
+     * @param from 開始時点 - the point of start, must be before to, not null
+     * @param to   終了時点 - the point of end, must be after before, not null
+     * @return 期間 - the interval
+     * @see IntervalCache
+     */
+    public static LocalDateInterval interned(LocalDate from, LocalDate to) {
+        return cache.intern(from, to);
+    }
+
+    /**
+     * <p>
+     * {@link #interned(LocalDate, LocalDate)}が使用する共有のキャッシュを設定する。
+     * </p>
+     * <p>
+     * Replaces the shared cache used by {@link #interned(LocalDate, LocalDate)}, such as by a larger one
+     * or by the one of {@link IntervalCache#lru(IntervalType, int)}.
+     * </p>
+     *
+     * @param cache 共有のキャッシュ - the shared cache, not null
+     */
+    public static void setInternCache(@NonNull IntervalCache<LocalDate, LocalDateInterval> cache) {
+        LocalDateInterval.cache = cache;
+    }
+
+    /**
+     * <p>
+     * {@link #interned(LocalDate, LocalDate)}が使用する共有のキャッシュを返す。
+     * </p>
+     * <p>
+     * Returns the shared cache used by {@link #interned(LocalDate, LocalDate)}, for reading its statistics.
+     * </p>
+     *
+     * @return 共有のキャッシュ - the shared cache
+     */
+    public static IntervalCache<LocalDate, LocalDateInterval> getInternCache() {
+        return cache;
+    }
+
     @Override
     protected long toEpoch(@NonNull LocalDate date) {
-        return date.toEpochDay();
+        return TYPE.toEpoch(date);
     }
 }
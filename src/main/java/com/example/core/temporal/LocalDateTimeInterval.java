@@ -14,12 +14,86 @@ import java.time.ZoneOffset;
  * </p>
  */
 public class LocalDateTimeInterval extends AbstractTemporalInterval<LocalDateTime, LocalDateTimeInterval> {
+    /**
+     * <p>
+     * LocalDateTimeIntervalのエポック数との相互変換と生成方法。
+     * </p>
+     * <p>
+     * The {@link IntervalType} of LocalDateTimeInterval.
+     * </p>
+     */
+    public static final IntervalType<LocalDateTime, LocalDateTimeInterval> TYPE = new IntervalType<>() {
+        @Override
+        public long toEpoch(LocalDateTime dateTime) {
+            return dateTime.toEpochSecond(ZoneOffset.UTC);
+        }
+
+        @Override
+        public LocalDateTime fromEpoch(long epoch) {
+            return LocalDateTime.ofEpochSecond(epoch, 0, ZoneOffset.UTC);
+        }
+
+        @Override
+        public LocalDateTimeInterval of(LocalDateTime from, LocalDateTime to) {
+            return new LocalDateTimeInterval(from, to);
+        }
+    };
+
+    private static volatile IntervalCache<LocalDateTime, LocalDateTimeInterval> cache = IntervalCache.bounded(TYPE, 1024);
+
     public LocalDateTimeInterval(LocalDateTime from, LocalDateTime to) {
         super(from, to);
     }
 
+    /**
+     * <p>
+     * fromとtoの期間を、共有のキャッシュにあれば共有して返す。
+     * </p>
+     * <p>
+     * Returns the shared interval between from and to from the shared cache, by default the one of 1024 slots
+     * by {@link IntervalCache#bounded(IntervalType, int)}, instead of constructing a new one for each call.
+     * </p>
+     *
+     * @param from 開始時点 - the point of start, must be before to, not null
+     * @param to   終了時点 - the point of end, must be after before, not null
+     * @return 期間 - the interval
+     * @see IntervalCache
+     */
+    public static LocalDateTimeInterval interned(LocalDateTime from, LocalDateTime to) {
+        return cache.intern(from, to);
+    }
+
+    /**
+     * <p>
+     * {@link #interned(LocalDateTime, LocalDateTime)}が使用する共有のキャッシュを設定する。
+     * </p>
+     * <p>
+     * Replaces the shared cache used by {@link #interned(LocalDateTime, LocalDateTime)}, such as by a larger one
+     * or by the one of {@link IntervalCache#lru(IntervalType, int)}.
+     * </p>
+     *
+     * @param cache 共有のキャッシュ - the shared cache, not null
+     */
+    public static void setInternCache(@NonNull IntervalCache<LocalDateTime, LocalDateTimeInterval> cache) {
+        LocalDateTimeInterval.cache = cache;
+    }
+
+    /**
+     * <p>
+     * {@link #interned(LocalDateTime, LocalDateTime)}が使用する共有のキャッシュを返す。
+     * </p>
+     * <p>
+     * Returns the shared cache used by {@link #interned(LocalDateTime, LocalDateTime)}, for reading its statistics.
+     * </p>
+     *
+     * @return 共有のキャッシュ - the shared cache
+     */
+    public static IntervalCache<LocalDateTime, LocalDateTimeInterval> getInternCache() {
+        return cache;
+    }
+
     @Override
     protected long toEpoch(@NonNull LocalDateTime dateTime) {
-        return dateTime.toEpochSecond(ZoneOffset.UTC);
+        return TYPE.toEpoch(dateTime);
     }
 }
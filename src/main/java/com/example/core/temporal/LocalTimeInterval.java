@@ -15,12 +15,86 @@ import java.time.ZoneOffset;
  * </p>
  */
 public class LocalTimeInterval extends AbstractTemporalInterval<LocalTime, LocalTimeInterval> {
+    /**
+     * <p>
+     * LocalTimeIntervalのエポック数との相互変換と生成方法。
+     * </p>
+     * <p>
+     * The {@link IntervalType} of LocalTimeInterval.
+     * </p>
+     */
+    public static final IntervalType<LocalTime, LocalTimeInterval> TYPE = new IntervalType<>() {
+        @Override
+        public long toEpoch(LocalTime time) {
+            return time.toEpochSecond(LocalDate.EPOCH, ZoneOffset.UTC);
+        }
+
+        @Override
+        public LocalTime fromEpoch(long epoch) {
+            return LocalTime.ofSecondOfDay(epoch);
+        }
+
+        @Override
+        public LocalTimeInterval of(LocalTime from, LocalTime to) {
+            return new LocalTimeInterval(from, to);
+        }
+    };
+
+    private static volatile IntervalCache<LocalTime, LocalTimeInterval> cache = IntervalCache.bounded(TYPE, 1024);
+
     public LocalTimeInterval(LocalTime from, LocalTime to) {
         super(from, to);
     }
 
+    /**
+     * <p>
+     * fromとtoの期間を、共有のキャッシュにあれば共有して返す。
+     * </p>
+     * <p>
+     * Returns the shared interval between from and to from the shared cache, by default the one of 1024 slots
+     * by {@link IntervalCache#bounded(IntervalType, int)}, instead of constructing a new one for each call.
+     * </p>
+     *
+     * @param from 開始時点 - the point of start, must be before to, not null
+     * @param to   終了時点 - the point of end, must be after before, not null
+     * @return 期間 - the interval
+     * @see IntervalCache
+     */
+    public static LocalTimeInterval interned(LocalTime from, LocalTime to) {
+        return cache.intern(from, to);
+    }
+
+    /**
+     * <p>
+     * {@link #interned(LocalTime, LocalTime)}が使用する共有のキャッシュを設定する。
+     * </p>
+     * <p>
+     * Replaces the shared cache used by {@link #interned(LocalTime, LocalTime)}, such as by a larger one
+     * or by the one of {@link IntervalCache#lru(IntervalType, int)}.
+     * </p>
+     *
+     * @param cache 共有のキャッシュ - the shared cache, not null
+     */
+    public static void setInternCache(@NonNull IntervalCache<LocalTime, LocalTimeInterval> cache) {
+        LocalTimeInterval.cache = cache;
+    }
+
+    /**
+     * <p>
+     * {@link #interned(LocalTime, LocalTime)}が使用する共有のキャッシュを返す。
+     * </p>
+     * <p>
+     * Returns the shared cache used by {@link #interned(LocalTime, LocalTime)}, for reading its statistics.
+     * </p>
+     *
+     * @return 共有のキャッシュ - the shared cache
+     */
+    public static IntervalCache<LocalTime, LocalTimeInterval> getInternCache() {
+        return cache;
+    }
+
     @Override
     protected long toEpoch(@NonNull LocalTime time) {
-        return time.toEpochSecond(LocalDate.EPOCH, ZoneOffset.UTC);
+        return TYPE.toEpoch(time);
     }
 }
@@ -0,0 +1,240 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * <p>
+ * 1日の各秒が使用中かどうかを表すビットマスク。
+ * </p>
+ * <p>
+ * LocalTimeOccupancy is a mask of 86,400 bits, one per second of a day, which tells whether each second is busy.<br>
+ * A {@link LocalTimeInterval} occupies the seconds from its start inclusive to its end exclusive, so that
+ * intervals touching each other do not conflict, as {@link LocalTimeInterval#overlapsAsOpen(AbstractTemporalInterval)}.
+ * All the operations work on whole {@code long} words.
+ * </p>
+ * <p>
+ * This class is mutable and not thread-safe.
+ * </p>
+ */
+public final class LocalTimeOccupancy {
+    private static final int SECONDS_OF_DAY = 86_400;
+    /**
+     * The latest second which can be the end of a {@link LocalTimeInterval}, 23:59:59.
+     */
+    private static final int LAST_SECOND = SECONDS_OF_DAY - 1;
+    private static final int WORDS = SECONDS_OF_DAY / Long.SIZE;
+
+    private final long[] words = new long[WORDS];
+
+    /**
+     * <p>
+     * 期間を使用中とした占有状況を生成する。
+     * </p>
+     * <p>
+     * Creates an occupancy in which the specified intervals are busy.
+     * </p>
+     *
+     * @param intervals 期間の集合 - the intervals, not null
+     * @return 占有状況 - the occupancy
+     */
+    public static LocalTimeOccupancy of(@NonNull Collection<LocalTimeInterval> intervals) {
+        LocalTimeOccupancy occupancy = new LocalTimeOccupancy();
+        for (LocalTimeInterval interval : intervals) {
+            occupancy.occupy(interval);
+        }
+        return occupancy;
+    }
+
+    /**
+     * <p>
+     * 期間を使用中にする。
+     * </p>
+     * <p>
+     * Marks the seconds of the interval as busy.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     */
+    public void occupy(@NonNull LocalTimeInterval interval) {
+        int from = (int) interval.epochFrom;
+        int to = (int) interval.epochTo;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+            words[first] |= (-1L << from) & (-1L >>> -to);
+            return;
+        }
+        words[first] |= -1L << from;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= -1L >>> -to;
+    }
+
+    /**
+     * <p>
+     * 期間を未使用にする。
+     * </p>
+     * <p>
+     * Marks the seconds of the interval as free.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     */
+    public void release(@NonNull LocalTimeInterval interval) {
+        int from = (int) interval.epochFrom;
+        int to = (int) interval.epochTo;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+            words[first] &= ~((-1L << from) & (-1L >>> -to));
+            return;
+        }
+        words[first] &= ~(-1L << from);
+        for (int i = first + 1; i < last; i++) {
+            words[i] = 0L;
+        }
+        words[last] &= ~(-1L >>> -to);
+    }
+
+    /**
+     * <p>
+     * timeの1秒間が使用中かどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if the second of the specified time is busy.
+     * </p>
+     *
+     * @param time 時刻 - the time, not null
+     * @return 使用中であればtrue - true if the second is busy
+     */
+    public boolean isBusy(@NonNull LocalTime time) {
+        int second = time.toSecondOfDay();
+        return (words[second >>> 6] & (1L << second)) != 0;
+    }
+
+    /**
+     * <p>
+     * 期間全体が未使用かどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if all the seconds of the interval are free.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @return 未使用であればtrue - true if the interval is free
+     */
+    public boolean isFree(@NonNull LocalTimeInterval interval) {
+        int from = (int) interval.epochFrom;
+        int to = (int) interval.epochTo;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+            return (words[first] & (-1L << from) & (-1L >>> -to)) == 0;
+        }
+        long busy = (words[first] & (-1L << from)) | (words[last] & (-1L >>> -to));
+        for (int i = first + 1; i < last; i++) {
+            busy |= words[i];
+        }
+        return busy == 0;
+    }
+
+    /**
+     * <p>
+     * otherと使用中の秒が重複するかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if any second is busy both in this and the other occupancy.
+     * </p>
+     *
+     * @param other 比較対象 - the other occupancy, not null
+     * @return 重複すればtrue - true if they overlap
+     */
+    public boolean overlaps(@NonNull LocalTimeOccupancy other) {
+        long busy = 0L;
+        for (int i = 0; i < WORDS; i++) {
+            busy |= words[i] & other.words[i];
+        }
+        return busy != 0;
+    }
+
+    /**
+     * <p>
+     * 使用中の秒数を返す。
+     * </p>
+     * <p>
+     * Returns the number of busy seconds.
+     * </p>
+     *
+     * @return 使用中の秒数 - the number of busy seconds
+     */
+    public int getBusySeconds() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * seconds秒以上連続して未使用である最初の期間を返す。
+     * </p>
+     * <p>
+     * Finds the earliest free slot of the specified length.
+     * </p>
+     *
+     * @param seconds 秒数 - the length of slot in seconds, must be positive
+     * @return 未使用の期間 - the free interval of the length, or empty if none
+     */
+    public Optional<LocalTimeInterval> firstFreeSlot(long seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("seconds must be positive");
+        }
+        int position = 0;
+        while (position + seconds <= LAST_SECOND) {
+            int start = nextFree(position);
+            int end = nextBusy(start);
+            if (end - start >= seconds && start + seconds <= LAST_SECOND) {
+                return Optional.of(new LocalTimeInterval(
+                        LocalTime.ofSecondOfDay(start), LocalTime.ofSecondOfDay(start + seconds)));
+            }
+            position = end;
+        }
+        return Optional.empty();
+    }
+
+    private int nextFree(int from) {
+        if (from >= SECONDS_OF_DAY) {
+            return SECONDS_OF_DAY;
+        }
+        int index = from >>> 6;
+        long word = ~words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return SECONDS_OF_DAY;
+            }
+            word = ~words[index];
+        }
+        return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(word), SECONDS_OF_DAY);
+    }
+
+    private int nextBusy(int from) {
+        if (from >= SECONDS_OF_DAY) {
+            return SECONDS_OF_DAY;
+        }
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return SECONDS_OF_DAY;
+            }
+            word = words[index];
+        }
+        return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(word), SECONDS_OF_DAY);
+    }
+}
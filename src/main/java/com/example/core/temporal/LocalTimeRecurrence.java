@@ -0,0 +1,407 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * 指定された曜日ごとに、日付の範囲にわたって繰り返される時刻の期間を表す。
+ * </p>
+ * <p>
+ * LocalTimeRecurrence is a {@link LocalTimeInterval} recurring on the specified days of week,
+ * on every date of a {@link LocalDateInterval} including both its start and end, such as the opening hours or the shifts.
+ * An occurrence created by {@link #of(LocalTime, Duration, Set, LocalDateInterval)} may cross midnight,
+ * such as the night shift from 22:00 to 06:00 of the next day, and starts on the matching day.<br>
+ * The occurrences are numbered in order, and the occurrence of an index is computed in O(1)
+ * from the days of week after the start of the range, so that the occurrences are streamed lazily
+ * by a sized and splittable {@link Stream}, and the queries are answered in O(1) without expanding them.
+ * The boundary semantics are the same as {@link LocalDateTimeInterval}.
+ * </p>
+ * <p>
+ * This class is immutable.
+ * </p>
+ */
+public final class LocalTimeRecurrence {
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    /**
+     * The interval of time of day, or null if an occurrence crosses midnight.
+     */
+    private final LocalTimeInterval time;
+    /**
+     * The second of day of the start of an occurrence.
+     */
+    private final long start;
+    /**
+     * The length of an occurrence in seconds.
+     */
+    private final long length;
+    private final Set<DayOfWeek> days;
+    private final LocalDateInterval range;
+    /**
+     * The offsets in days from the start of the range of the matching days in the first week, in ascending order.
+     */
+    private final int[] offsets;
+    /**
+     * The number of the matching days whose offset in a week is less than the index, 0 to 7.
+     */
+    private final int[] before = new int[8];
+    private final long count;
+
+    private LocalTimeRecurrence(LocalTimeInterval time, long start, long length, Set<DayOfWeek> days,
+                                LocalDateInterval range) {
+        this.time = time;
+        this.start = start;
+        this.length = length;
+        this.days = Collections.unmodifiableSet(EnumSet.copyOf(days));
+        this.range = range;
+        DayOfWeek first = range.from.getDayOfWeek();
+        this.offsets = new int[days.size()];
+        int n = 0;
+        for (int offset = 0; offset < 7; offset++) {
+            before[offset] = n;
+            if (days.contains(first.plus(offset))) {
+                offsets[n++] = offset;
+            }
+        }
+        before[7] = n;
+        this.count = indexOnOrAfter(range.epochTo + 1L);
+    }
+
+    /**
+     * <p>
+     * 指定された曜日に繰り返される期間を生成する。
+     * </p>
+     * <p>
+     * Creates the recurrence on the specified days of week.
+     * </p>
+     *
+     * @param time  時刻の期間 - the interval of time of day, not null
+     * @param days  曜日 - the days of week, not null
+     * @param range 日付の範囲 - the range of dates including both its start and end, not null
+     * @return 繰り返される期間 - the recurrence
+     */
+    public static LocalTimeRecurrence of(@NonNull LocalTimeInterval time, @NonNull Set<DayOfWeek> days,
+                                         @NonNull LocalDateInterval range) {
+        return new LocalTimeRecurrence(time, time.epochFrom, time.epochTo - time.epochFrom,
+                days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : days, range);
+    }
+
+    /**
+     * <p>
+     * 指定された曜日の開始時刻から、指定された長さだけ繰り返される期間を生成する。
+     * </p>
+     * <p>
+     * Creates the recurrence starting at the specified time on the specified days of week and lasting for the duration,
+     * which may cross midnight and end on a following day.
+     * </p>
+     *
+     * @param start    開始時刻 - the time of start, truncated to seconds, not null
+     * @param duration 長さ - the duration in whole seconds, must be positive, not null
+     * @param days     曜日 - the days of week, not null
+     * @param range    日付の範囲 - the range of dates of the starts including both its start and end, not null
+     * @return 繰り返される期間 - the recurrence
+     */
+    public static LocalTimeRecurrence of(@NonNull LocalTime start, @NonNull Duration duration,
+                                         @NonNull Set<DayOfWeek> days, @NonNull LocalDateInterval range) {
+        if (duration.isNegative() || duration.isZero() || duration.getNano() != 0) {
+            throw new IllegalArgumentException("duration must be positive whole seconds");
+        }
+        long from = LocalTimeInterval.TYPE.toEpoch(start);
+        long length = duration.getSeconds();
+        LocalTimeInterval time = from + length < SECONDS_PER_DAY
+                ? LocalTimeInterval.TYPE.of(from, from + length)
+                : null;
+        return new LocalTimeRecurrence(time, from, length, days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : days, range);
+    }
+
+    /**
+     * <p>
+     * 毎日繰り返される期間を生成する。
+     * </p>
+     * <p>
+     * Creates the recurrence on every day.
+     * </p>
+     *
+     * @param time  時刻の期間 - the interval of time of day, not null
+     * @param range 日付の範囲 - the range of dates including both its start and end, not null
+     * @return 繰り返される期間 - the recurrence
+     */
+    public static LocalTimeRecurrence daily(@NonNull LocalTimeInterval time, @NonNull LocalDateInterval range) {
+        return of(time, EnumSet.allOf(DayOfWeek.class), range);
+    }
+
+    /**
+     * <p>
+     * 月曜日から金曜日に繰り返される期間を生成する。
+     * </p>
+     * <p>
+     * Creates the recurrence on the weekdays, from Monday to Friday.
+     * </p>
+     *
+     * @param time  時刻の期間 - the interval of time of day, not null
+     * @param range 日付の範囲 - the range of dates including both its start and end, not null
+     * @return 繰り返される期間 - the recurrence
+     */
+    public static LocalTimeRecurrence weekdays(@NonNull LocalTimeInterval time, @NonNull LocalDateInterval range) {
+        return of(time, EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), range);
+    }
+
+    /**
+     * <p>
+     * 時刻の期間を返す。
+     * </p>
+     * <p>
+     * Returns the interval of time of day, which is not defined if an occurrence crosses midnight.
+     * </p>
+     *
+     * @return 時刻の期間 - the interval of time of day
+     * @throws IllegalStateException 日付をまたぐ場合 - if an occurrence crosses midnight
+     */
+    public LocalTimeInterval getTime() {
+        if (time == null) {
+            throw new IllegalStateException("an occurrence crosses midnight: " + this);
+        }
+        return time;
+    }
+
+    /**
+     * <p>
+     * 開始時刻を返す。
+     * </p>
+     * <p>
+     * Returns the time of start of an occurrence.
+     * </p>
+     *
+     * @return 開始時刻 - the time of start
+     */
+    public LocalTime getStart() {
+        return LocalTimeInterval.TYPE.fromEpoch(start);
+    }
+
+    /**
+     * <p>
+     * 期間の長さを返す。
+     * </p>
+     * <p>
+     * Returns the duration of an occurrence.
+     * </p>
+     *
+     * @return 長さ - the duration
+     */
+    public Duration getDuration() {
+        return Duration.ofSeconds(length);
+    }
+
+    /**
+     * <p>
+     * 曜日を返す。
+     * </p>
+     * <p>
+     * Returns the days of week.
+     * </p>
+     *
+     * @return 曜日 - the unmodifiable set of the days of week
+     */
+    public Set<DayOfWeek> getDays() {
+        return days;
+    }
+
+    /**
+     * <p>
+     * 日付の範囲を返す。
+     * </p>
+     * <p>
+     * Returns the range of dates.
+     * </p>
+     *
+     * @return 日付の範囲 - the range of dates including both its start and end
+     */
+    public LocalDateInterval getRange() {
+        return range;
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the occurrences, in O(1).
+     * </p>
+     *
+     * @return 期間の数 - the number of the occurrences
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * <p>
+     * 指定された順番の期間を返す。
+     * </p>
+     * <p>
+     * Returns the occurrence at the specified index, in O(1).
+     * </p>
+     *
+     * @param index 順番 - the index, zero based and less than {@link #count()}
+     * @return 期間 - the occurrence
+     */
+    public LocalDateTimeInterval get(long index) {
+        if (index < 0L || index >= count) {
+            throw new IndexOutOfBoundsException("index: " + index + ", count: " + count);
+        }
+        long day = epochDay(index);
+        return LocalDateTimeInterval.TYPE.of(day * SECONDS_PER_DAY + start, day * SECONDS_PER_DAY + start + length);
+    }
+
+    /**
+     * <p>
+     * すべての期間を、開始時点の昇順に遅延して生成する。
+     * </p>
+     * <p>
+     * Returns the sized and splittable stream generating the occurrences lazily, in ascending order.
+     * </p>
+     *
+     * @return 期間のStream - the stream of the occurrences
+     */
+    public Stream<LocalDateTimeInterval> stream() {
+        return LongStream.range(0L, count).mapToObj(this::get);
+    }
+
+    /**
+     * <p>
+     * dateTimeを含む期間があるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if an occurrence contains the specified date-time, in O(1).
+     * </p>
+     *
+     * @param dateTime 比較対象日時 - the date-time to compare to, not null
+     * @return dateTimeを含む期間があればtrue - true if an occurrence contains the date-time
+     * @see AbstractTemporalInterval#contains(java.time.temporal.Temporal)
+     */
+    public boolean contains(@NonNull LocalDateTime dateTime) {
+        long epoch = LocalDateTimeInterval.TYPE.toEpoch(dateTime);
+        return overlapsAsClosed(epoch, epoch);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間があるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if an occurrence overlaps with the specified interval, regarding both as Open interval, in O(1).
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間があればtrue - true if an occurrence overlaps
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public boolean overlapsAsOpen(@NonNull LocalDateTimeInterval other) {
+        return overlapsAsOpen(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間があるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if an occurrence overlaps with the specified interval, regarding both as Closed interval, in O(1).
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間があればtrue - true if an occurrence overlaps
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public boolean overlapsAsClosed(@NonNull LocalDateTimeInterval other) {
+        return overlapsAsClosed(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間を遅延して生成する。
+     * </p>
+     * <p>
+     * Returns the sized stream generating the occurrences which overlap with the specified interval lazily,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間のStream - the stream of the overlapping occurrences, in ascending order
+     */
+    public Stream<LocalDateTimeInterval> overlappingAsOpen(@NonNull LocalDateTimeInterval other) {
+        return overlapping(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間を遅延して生成する。
+     * </p>
+     * <p>
+     * Returns the sized stream generating the occurrences which overlap with the specified interval lazily,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間のStream - the stream of the overlapping occurrences, in ascending order
+     */
+    public Stream<LocalDateTimeInterval> overlappingAsClosed(@NonNull LocalDateTimeInterval other) {
+        return overlapping(Epochs.before(other.epochFrom), Epochs.after(other.epochTo));
+    }
+
+    @Override
+    public String toString() {
+        return (time != null ? time.toString() : getStart() + " for " + getDuration()) + " on " + days + " in " + range;
+    }
+
+    private boolean overlapsAsOpen(long from, long to) {
+        long first = firstEndingAfter(from);
+        return first < count && startOf(first) < to;
+    }
+
+    private boolean overlapsAsClosed(long from, long to) {
+        return overlapsAsOpen(Epochs.before(from), Epochs.after(to));
+    }
+
+    private Stream<LocalDateTimeInterval> overlapping(long from, long to) {
+        long first = firstEndingAfter(from);
+        // the first occurrence starting at or after to, whose date is the ceiling of (to - start of day) in days
+        long last = Math.min(count, indexOnOrAfter(Math.floorDiv(to - start - 1L, SECONDS_PER_DAY) + 1L));
+        return LongStream.range(first, Math.max(first, last)).mapToObj(this::get);
+    }
+
+    /**
+     * Returns the index of the first occurrence ending after the epoch, whose date is after (epoch - end of day) in days.
+     */
+    private long firstEndingAfter(long epoch) {
+        return Math.min(count, indexOnOrAfter(Math.floorDiv(epoch - start - length, SECONDS_PER_DAY) + 1L));
+    }
+
+    /**
+     * Returns the index of the first occurrence on or after the epoch day, not bounded by the end of the range.
+     */
+    private long indexOnOrAfter(long epochDay) {
+        long days = epochDay - range.epochFrom;
+        if (days <= 0L) {
+            return 0L;
+        }
+        return days / 7L * offsets.length + before[(int) (days % 7L)];
+    }
+
+    private long epochDay(long index) {
+        return range.epochFrom + index / offsets.length * 7L + offsets[(int) (index % offsets.length)];
+    }
+
+    private long startOf(long index) {
+        return epochDay(index) * SECONDS_PER_DAY + start;
+    }
+}
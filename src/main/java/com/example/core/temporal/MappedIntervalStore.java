@@ -0,0 +1,353 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.Temporal;
+import java.util.function.LongConsumer;
+
+/**
+ * <p>
+ * ファイルにメモリマップされた、ヒープ外の期間の集合を表す。
+ * </p>
+ * <p>
+ * MappedIntervalStore is an off-heap store of intervals, which maps a file of fixed-width records
+ * of the epochs of start and end by {@link java.nio.channels.FileChannel#map}.<br>
+ * The predicates are evaluated against the mapped records without deserializing them,
+ * and an interval is materialized only on {@link #get(long)}.
+ * The store should be closed when no longer used, after which it cannot be accessed.
+ * Java 11 provides no way to unmap a file explicitly, so the mappings are released when they are garbage collected.
+ * </p>
+ * <p>
+ * The file consists of a header of 16 bytes, the magic number, the width of a record, the type of the intervals
+ * and the number of records, followed by the records of 16 bytes, the epoch of start and the epoch of end,
+ * all in little endian.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class MappedIntervalStore<T extends Temporal, I extends AbstractTemporalInterval<T, I>> implements AutoCloseable {
+    private static final int MAGIC = 0x54495632;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+    /**
+     * A mapping is limited to 2GB, so the records are mapped by segments of 1GB.
+     */
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1L;
+    private static final int WRITE_BUFFER_RECORDS = 4096;
+
+    private final IntervalType<T, I> type;
+    private MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedIntervalStore(IntervalType<T, I> type, MappedByteBuffer[] segments, long size) {
+        this.type = type;
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * <p>
+     * 期間の配列をファイルに書き込む。
+     * </p>
+     * <p>
+     * Writes the intervals to the file, replacing the existing file atomically.<br>
+     * The intervals are written to a temporary file in the same directory, forced to the storage device
+     * and moved to the file, so that a store opened on the existing file keeps reading its own mapping.
+     * </p>
+     *
+     * @param path      ファイル - the file, not null
+     * @param intervals 期間の配列 - the intervals of {@link LocalDateInterval}, {@link LocalDateTimeInterval} or {@link LocalTimeInterval}, not null
+     * @throws IOException 書き込みに失敗した場合 - if an I/O error occurs
+     */
+    public static void write(@NonNull Path path, @NonNull IntervalArray<?, ?> intervals) throws IOException {
+        byte tag = tag(intervals.type);
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            write(temporary, tag, intervals);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void write(Path path, byte tag, IntervalArray<?, ?> intervals) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * WRITE_BUFFER_RECORDS).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putShort((short) RECORD_BYTES).put(tag).put((byte) 0).putLong(intervals.size);
+            for (int i = 0; i < intervals.size; i++) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(intervals.froms[i]).putLong(intervals.tos[i]);
+            }
+            flush(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * <p>
+     * ファイルをメモリマップして開く。
+     * </p>
+     * <p>
+     * Opens the file by mapping it into memory read-only.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param path ファイル - the file written by {@link #write(Path, IntervalArray)}, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return ストア - the store
+     * @throws IOException 読み込みに失敗した場合 - if an I/O error occurs or the file is not a store of the type
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> MappedIntervalStore<T, I> open(
+            @NonNull IntervalType<T, I> type, @NonNull Path path) throws IOException {
+        byte tag = tag(type);
+        // the mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("not an interval store: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long size = header.getLong(8);
+            if (header.getInt(0) != MAGIC || header.getShort(4) != RECORD_BYTES
+                    || size < 0 || channel.size() != HEADER_BYTES + size * RECORD_BYTES) {
+                throw new IOException("not an interval store: " + path);
+            }
+            if (header.get(6) != tag) {
+                throw new IOException("interval store of another type: " + path);
+            }
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long records = Math.min(size - first, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * RECORD_BYTES, records * RECORD_BYTES);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedIntervalStore<>(type, segments, size);
+        }
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * index番目の期間の開始エポック数を返す。
+     * </p>
+     * <p>
+     * Returns the epoch of start of the interval at the specified index.
+     * </p>
+     *
+     * @param index 位置 - the index
+     * @return 開始エポック数 - the epoch of start
+     */
+    public long getEpochFrom(long index) {
+        checkIndex(index);
+        return segments()[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) * RECORD_BYTES);
+    }
+
+    /**
+     * <p>
+     * index番目の期間の終了エポック数を返す。
+     * </p>
+     * <p>
+     * Returns the epoch of end of the interval at the specified index.
+     * </p>
+     *
+     * @param index 位置 - the index
+     * @return 終了エポック数 - the epoch of end
+     */
+    public long getEpochTo(long index) {
+        checkIndex(index);
+        return segments()[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) * RECORD_BYTES + 8);
+    }
+
+    /**
+     * <p>
+     * index番目の期間を生成して返す。
+     * </p>
+     * <p>
+     * Materializes the interval at the specified index.
+     * </p>
+     *
+     * @param index 位置 - the index
+     * @return 期間 - the interval
+     */
+    public I get(long index) {
+        return type.of(getEpochFrom(index), getEpochTo(index));
+    }
+
+    /**
+     * <p>
+     * temporalを含む期間の位置に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for the index of each interval which contains the specified temporal.
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @param action   実行する処理 - the action accepting the index, not null
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public void forEachContaining(@NonNull T temporal, @NonNull LongConsumer action) {
+        long epoch = type.toEpoch(temporal);
+        forEachOverlappingAsClosed(epoch, epoch, action);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間の位置に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for the index of each interval which overlaps with the specified interval,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param other  比較対象期間 - the other interval to compare to, not null
+     * @param action 実行する処理 - the action accepting the index, not null
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public void forEachOverlappingAsOpen(@NonNull I other, @NonNull LongConsumer action) {
+        forEachOverlappingAsOpen(other.epochFrom, other.epochTo, action);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間の位置に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for the index of each interval which overlaps with the interval expressed as
+     * the numbers since the epoch, regarding both as Open interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action accepting the index, not null
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public void forEachOverlappingAsOpen(long from, long to, @NonNull LongConsumer action) {
+        MappedByteBuffer[] segments = segments();
+        for (int s = 0; s < segments.length; s++) {
+            MappedByteBuffer segment = segments[s];
+            long first = (long) s << SEGMENT_SHIFT;
+            int records = segment.capacity() / RECORD_BYTES;
+            for (int i = 0; i < records; i++) {
+                int offset = i * RECORD_BYTES;
+                if (segment.getLong(offset) < to && from < segment.getLong(offset + 8)) {
+                    action.accept(first + i);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間の位置に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for the index of each interval which overlaps with the specified interval,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param other  比較対象期間 - the other interval to compare to, not null
+     * @param action 実行する処理 - the action accepting the index, not null
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public void forEachOverlappingAsClosed(@NonNull I other, @NonNull LongConsumer action) {
+        forEachOverlappingAsClosed(other.epochFrom, other.epochTo, action);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間の位置に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for the index of each interval which overlaps with the interval expressed as
+     * the numbers since the epoch, regarding both as Closed interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action accepting the index, not null
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public void forEachOverlappingAsClosed(long from, long to, @NonNull LongConsumer action) {
+        forEachOverlappingAsOpen(Epochs.before(from), Epochs.after(to), action);
+    }
+
+    /**
+     * <p>
+     * ストアを閉じる。以降のアクセスは失敗する。
+     * </p>
+     * <p>
+     * Closes the store, dropping the references to the mappings so that they are released by the garbage collector.
+     * Accessing the records after closing throws {@link IllegalStateException}, and closing twice has no effect.
+     * </p>
+     */
+    @Override
+    public void close() {
+        segments = null;
+    }
+
+    private MappedByteBuffer[] segments() {
+        MappedByteBuffer[] segments = this.segments;
+        if (segments == null) {
+            throw new IllegalStateException("store is closed");
+        }
+        return segments;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * The type of the intervals in the header, as {@link IntervalParser#of(IntervalType)} supports.
+     */
+    private static byte tag(IntervalType<?, ?> type) {
+        if (type == LocalDateInterval.TYPE) {
+            return 1;
+        }
+        if (type == LocalDateTimeInterval.TYPE) {
+            return 2;
+        }
+        if (type == LocalTimeInterval.TYPE) {
+            return 3;
+        }
+        throw new IllegalArgumentException("unsupported type: " + type);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * 大量の期間に対する集計と抽出を並列に行う。
+ * </p>
+ * <p>
+ * ParallelIntervals performs the bulk operations, count, filter, anyMatch and indices,
+ * over a large list or array of intervals on the common {@link java.util.concurrent.ForkJoinPool}.<br>
+ * The range is split by its size into a few chunks per worker, and the results are always in the order of the source
+ * regardless of the scheduling.
+ * </p>
+ */
+public final class ParallelIntervals {
+    /**
+     * The smallest chunk to be evaluated by a task, below which splitting costs more than it saves.
+     */
+    private static final int MIN_CHUNK = 8192;
+
+    private ParallelIntervals() {
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間の数を返す。
+     * </p>
+     * <p>
+     * Counts the intervals which match the predicate.
+     * </p>
+     *
+     * @param intervals 期間の配列 - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @return 期間の数 - the number of matching intervals
+     */
+    public static long count(@NonNull IntervalArray<?, ?> intervals, @NonNull EpochPredicate predicate) {
+        return count(intervals.size, test(intervals, predicate));
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間の数を返す。
+     * </p>
+     * <p>
+     * Counts the intervals which match the predicate.
+     * </p>
+     *
+     * @param intervals 期間のリスト - the intervals, not null
+     * @param predicate 条件 - the predicate, e.g. {@code interval -> interval.overlapsAsOpen(quarter)}, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 期間の数 - the number of matching intervals
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> long count(
+            @NonNull List<? extends I> intervals, @NonNull Predicate<? super I> predicate) {
+        List<? extends I> list = randomAccess(intervals);
+        return count(list.size(), i -> predicate.test(list.get(i)));
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間が存在するかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if any interval matches the predicate, cancelling the remaining chunks once found.
+     * </p>
+     *
+     * @param intervals 期間の配列 - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @return 条件を満たす期間が存在すればtrue - true if any interval matches
+     */
+    public static boolean anyMatch(@NonNull IntervalArray<?, ?> intervals, @NonNull EpochPredicate predicate) {
+        return anyMatch(intervals.size, test(intervals, predicate));
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間が存在するかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if any interval matches the predicate, cancelling the remaining chunks once found.
+     * </p>
+     *
+     * @param intervals 期間のリスト - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 条件を満たす期間が存在すればtrue - true if any interval matches
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> boolean anyMatch(
+            @NonNull List<? extends I> intervals, @NonNull Predicate<? super I> predicate) {
+        List<? extends I> list = randomAccess(intervals);
+        return anyMatch(list.size(), i -> predicate.test(list.get(i)));
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間の位置を昇順に返す。
+     * </p>
+     * <p>
+     * Returns the indices of the intervals which match the predicate, in ascending order.
+     * </p>
+     *
+     * @param intervals 期間の配列 - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @return 位置 - the indices in ascending order
+     */
+    public static int[] indices(@NonNull IntervalArray<?, ?> intervals, @NonNull EpochPredicate predicate) {
+        return indices(intervals.size, test(intervals, predicate));
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間の位置を昇順に返す。
+     * </p>
+     * <p>
+     * Returns the indices of the intervals which match the predicate, in ascending order.
+     * </p>
+     *
+     * @param intervals 期間のリスト - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 位置 - the indices in ascending order
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> int[] indices(
+            @NonNull List<? extends I> intervals, @NonNull Predicate<? super I> predicate) {
+        List<? extends I> list = randomAccess(intervals);
+        return indices(list.size(), i -> predicate.test(list.get(i)));
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間を元の順序で返す。
+     * </p>
+     * <p>
+     * Returns the intervals which match the predicate, in the order of the source.
+     * </p>
+     *
+     * @param intervals 期間の配列 - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 期間の配列 - the matching intervals
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> IntervalArray<T, I> filter(
+            @NonNull IntervalArray<T, I> intervals, @NonNull EpochPredicate predicate) {
+        IntervalArray.Builder<T, I> builder = IntervalArray.builder(intervals.type);
+        for (int index : indices(intervals, predicate)) {
+            builder.add(intervals.froms[index], intervals.tos[index]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * <p>
+     * 条件を満たす期間を元の順序で返す。
+     * </p>
+     * <p>
+     * Returns the intervals which match the predicate, in the order of the source.
+     * </p>
+     *
+     * @param intervals 期間のリスト - the intervals, not null
+     * @param predicate 条件 - the predicate, not null
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 期間のリスト - the matching intervals
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> List<I> filter(
+            @NonNull List<? extends I> intervals, @NonNull Predicate<? super I> predicate) {
+        List<? extends I> list = randomAccess(intervals);
+        int[] indices = indices(list.size(), i -> predicate.test(list.get(i)));
+        List<I> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(list.get(index));
+        }
+        return result;
+    }
+
+    private static IntPredicate test(IntervalArray<?, ?> intervals, EpochPredicate predicate) {
+        long[] froms = intervals.froms;
+        long[] tos = intervals.tos;
+        return i -> predicate.test(froms[i], tos[i]);
+    }
+
+    private static <E> List<E> randomAccess(List<E> list) {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+
+    private static long count(int size, IntPredicate test) {
+        return ForkJoinPool.commonPool().invoke(new CountTask(test, 0, size, chunk(size)));
+    }
+
+    private static boolean anyMatch(int size, IntPredicate test) {
+        return ForkJoinPool.commonPool().invoke(new AnyMatchTask(test, 0, size, chunk(size), new AtomicBoolean()));
+    }
+
+    private static int[] indices(int size, IntPredicate test) {
+        return ForkJoinPool.commonPool().invoke(new IndicesTask(test, 0, size, chunk(size)));
+    }
+
+    /**
+     * Splits into about four chunks per worker, so that a slow chunk can be balanced by stealing.
+     */
+    private static int chunk(int size) {
+        return Math.max(MIN_CHUNK, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+    }
+
+    private static final class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntPredicate test;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        private CountTask(IntPredicate test, int from, int to, int chunk) {
+            this.test = test;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunk) {
+                long count = 0;
+                for (int i = from; i < to; i++) {
+                    count += test.test(i) ? 1 : 0;
+                }
+                return count;
+            }
+            int mid = (from + to) >>> 1;
+            CountTask right = new CountTask(test, mid, to, chunk);
+            right.fork();
+            long left = new CountTask(test, from, mid, chunk).compute();
+            return left + right.join();
+        }
+    }
+
+    private static final class AnyMatchTask extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntPredicate test;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final AtomicBoolean found;
+
+        private AnyMatchTask(IntPredicate test, int from, int to, int chunk, AtomicBoolean found) {
+            this.test = test;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.found = found;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (found.get()) {
+                return true;
+            }
+            if (to - from <= chunk) {
+                for (int i = from; i < to; i++) {
+                    if (test.test(i)) {
+                        found.set(true);
+                        return true;
+                    }
+                }
+                return false;
+            }
+            int mid = (from + to) >>> 1;
+            AnyMatchTask right = new AnyMatchTask(test, mid, to, chunk, found);
+            right.fork();
+            boolean left = new AnyMatchTask(test, from, mid, chunk, found).compute();
+            return right.join() || left;
+        }
+    }
+
+    private static final class IndicesTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntPredicate test;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        private IndicesTask(IntPredicate test, int from, int to, int chunk) {
+            this.test = test;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= chunk) {
+                int[] indices = new int[to - from];
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    indices[count] = i;
+                    count += test.test(i) ? 1 : 0;
+                }
+                return Arrays.copyOf(indices, count);
+            }
+            int mid = (from + to) >>> 1;
+            IndicesTask right = new IndicesTask(test, mid, to, chunk);
+            right.fork();
+            int[] left = new IndicesTask(test, from, mid, chunk).compute();
+            int[] rightIndices = right.join();
+            int[] indices = Arrays.copyOf(left, left.length + rightIndices.length);
+            System.arraycopy(rightIndices, 0, indices, left.length, rightIndices.length);
+            return indices;
+        }
+    }
+}
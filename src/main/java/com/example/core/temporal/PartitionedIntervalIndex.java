@@ -0,0 +1,282 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * キーごとに分割された、複数のスレッドから同時に更新できる期間の索引を表す。
+ * </p>
+ * <p>
+ * PartitionedIntervalIndex is a thread-safe index of intervals partitioned by a key, such as the id of a resource,
+ * each partition being a {@link ConcurrentIntervalIndex} with its own locks.<br>
+ * The queries never cross the partitions, so that the updates of the different keys never contend,
+ * and the partitions are bulk loaded in parallel.
+ * The boundary semantics are the same as {@link ConcurrentIntervalIndex}.
+ * </p>
+ *
+ * @param <K> キーの型 - the type of the keys
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ */
+public final class PartitionedIntervalIndex<K, T extends Temporal, I extends AbstractTemporalInterval<T, I>> {
+    private final IntervalType<T, I> type;
+    private final long bucketWidth;
+    private final ConcurrentHashMap<K, ConcurrentIntervalIndex<T, I>> partitions = new ConcurrentHashMap<>();
+
+    private PartitionedIntervalIndex(IntervalType<T, I> type, long bucketWidth) {
+        this.type = type;
+        this.bucketWidth = bucketWidth;
+    }
+
+    /**
+     * <p>
+     * 空の索引を生成する。
+     * </p>
+     * <p>
+     * Creates an empty index, whose partitions lock by the time buckets of {@link ConcurrentIntervalIndex#DEFAULT_BUCKET_WIDTH}.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <K>  キーの型 - the type of the keys
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 索引 - the index
+     */
+    public static <K, T extends Temporal, I extends AbstractTemporalInterval<T, I>> PartitionedIntervalIndex<K, T, I> create(
+            @NonNull IntervalType<T, I> type) {
+        return create(type, ConcurrentIntervalIndex.DEFAULT_BUCKET_WIDTH);
+    }
+
+    /**
+     * <p>
+     * 指定した幅の時間帯でロックする空の索引を生成する。
+     * </p>
+     * <p>
+     * Creates an empty index, whose partitions lock by the time buckets of the specified width.
+     * </p>
+     *
+     * @param type        期間の種類 - the type of the intervals, not null
+     * @param bucketWidth 時間帯の幅 - the width of a time bucket in the epochs, must be positive
+     * @param <K>         キーの型 - the type of the keys
+     * @param <T>         {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>         {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 索引 - the index
+     */
+    public static <K, T extends Temporal, I extends AbstractTemporalInterval<T, I>> PartitionedIntervalIndex<K, T, I> create(
+            @NonNull IntervalType<T, I> type, long bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("bucketWidth must be positive");
+        }
+        return new PartitionedIntervalIndex<>(type, bucketWidth);
+    }
+
+    /**
+     * <p>
+     * キーごとの期間の集合から索引を構築する。各キーの期間は並列に読み込まれる。
+     * </p>
+     * <p>
+     * Builds an index from the intervals of each key, loading the partitions in parallel.
+     * </p>
+     *
+     * @param type      期間の種類 - the type of the intervals, not null
+     * @param intervals キーごとの期間の集合 - the intervals of each key, not null
+     * @param <K>       キーの型 - the type of the keys
+     * @param <T>       {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>       {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 索引 - the index
+     */
+    public static <K, T extends Temporal, I extends AbstractTemporalInterval<T, I>> PartitionedIntervalIndex<K, T, I> of(
+            @NonNull IntervalType<T, I> type, @NonNull Map<K, ? extends Collection<? extends I>> intervals) {
+        return of(type, ConcurrentIntervalIndex.DEFAULT_BUCKET_WIDTH, intervals);
+    }
+
+    /**
+     * <p>
+     * キーごとの期間の集合から、指定した幅の時間帯でロックする索引を構築する。各キーの期間は並列に読み込まれる。
+     * </p>
+     * <p>
+     * Builds an index from the intervals of each key, whose partitions lock by the time buckets of the specified width,
+     * loading the partitions in parallel.
+     * </p>
+     *
+     * @param type        期間の種類 - the type of the intervals, not null
+     * @param bucketWidth 時間帯の幅 - the width of a time bucket in the epochs, must be positive
+     * @param intervals   キーごとの期間の集合 - the intervals of each key, not null
+     * @param <K>         キーの型 - the type of the keys
+     * @param <T>         {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>         {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @return 索引 - the index
+     */
+    public static <K, T extends Temporal, I extends AbstractTemporalInterval<T, I>> PartitionedIntervalIndex<K, T, I> of(
+            @NonNull IntervalType<T, I> type, long bucketWidth, @NonNull Map<K, ? extends Collection<? extends I>> intervals) {
+        PartitionedIntervalIndex<K, T, I> index = create(type, bucketWidth);
+        index.addAll(intervals);
+        return index;
+    }
+
+    /**
+     * <p>
+     * キーごとの期間の集合を追加する。各キーの期間は並列に追加される。
+     * </p>
+     * <p>
+     * Adds the intervals of each key regardless of the overlaps, loading the partitions in parallel.
+     * </p>
+     *
+     * @param intervals キーごとの期間の集合 - the intervals of each key, not null
+     */
+    public void addAll(@NonNull Map<K, ? extends Collection<? extends I>> intervals) {
+        intervals.entrySet().parallelStream().forEach(entry -> {
+            ConcurrentIntervalIndex<T, I> partition = partition(entry.getKey());
+            for (I interval : entry.getValue()) {
+                partition.add(interval);
+            }
+        });
+    }
+
+    /**
+     * <p>
+     * 期間を追加されたことのあるキーを返す。
+     * </p>
+     * <p>
+     * Returns the keys which have ever had an interval.
+     * </p>
+     *
+     * @return キー - the unmodifiable view of the keys
+     */
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(partitions.keySet());
+    }
+
+    /**
+     * <p>
+     * keyの期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of the intervals of the key.
+     * </p>
+     *
+     * @param key キー - the key, not null
+     * @return 期間の数 - the number of intervals
+     */
+    public int size(@NonNull K key) {
+        ConcurrentIntervalIndex<T, I> partition = partitions.get(key);
+        return partition == null ? 0 : partition.size();
+    }
+
+    /**
+     * <p>
+     * keyに期間を追加する。
+     * </p>
+     * <p>
+     * Adds the interval to the key regardless of the overlaps.
+     * </p>
+     *
+     * @param key      キー - the key, not null
+     * @param interval 期間 - the interval, not null
+     */
+    public void add(@NonNull K key, @NonNull I interval) {
+        partition(key).add(interval);
+    }
+
+    /**
+     * <p>
+     * 開区間とみなしてkeyに重複する期間がない場合に限り、期間を追加する。
+     * </p>
+     * <p>
+     * Adds the interval to the key atomically only if no interval of the key overlaps with it, regarding both as Open interval.
+     * </p>
+     *
+     * @param key      キー - the key, not null
+     * @param interval 期間 - the interval, not null
+     * @return 追加すればtrue - true if the interval is added
+     * @see ConcurrentIntervalIndex#addIfNoOverlap(AbstractTemporalInterval)
+     */
+    public boolean addIfNoOverlap(@NonNull K key, @NonNull I interval) {
+        return partition(key).addIfNoOverlap(interval);
+    }
+
+    /**
+     * <p>
+     * keyから期間を1件削除する。
+     * </p>
+     * <p>
+     * Removes an interval equal to the specified one from the key.
+     * </p>
+     *
+     * @param key      キー - the key, not null
+     * @param interval 期間 - the interval, not null
+     * @return 削除すればtrue - true if an interval is removed
+     * @see ConcurrentIntervalIndex#remove(AbstractTemporalInterval)
+     */
+    public boolean remove(@NonNull K key, @NonNull I interval) {
+        ConcurrentIntervalIndex<T, I> partition = partitions.get(key);
+        return partition != null && partition.remove(interval);
+    }
+
+    /**
+     * <p>
+     * keyの期間のうち、temporalを含む期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals of the key which contain the specified temporal.
+     * </p>
+     *
+     * @param key      キー - the key, not null
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @return temporalを含む期間 - the intervals containing the temporal, in order of the epoch of start
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public List<I> containing(@NonNull K key, @NonNull T temporal) {
+        ConcurrentIntervalIndex<T, I> partition = partitions.get(key);
+        return partition == null ? new ArrayList<>() : partition.containing(temporal);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、keyの期間のうち、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals of the key which overlap with the specified interval, regarding both as Open interval.
+     * </p>
+     *
+     * @param key   キー - the key, not null
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsOpen(@NonNull K key, @NonNull I other) {
+        ConcurrentIntervalIndex<T, I> partition = partitions.get(key);
+        return partition == null ? new ArrayList<>() : partition.overlappingAsOpen(other);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、keyの期間のうち、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals of the key which overlap with the specified interval, regarding both as Closed interval.
+     * </p>
+     *
+     * @param key   キー - the key, not null
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in order of the epoch of start
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsClosed(@NonNull K key, @NonNull I other) {
+        ConcurrentIntervalIndex<T, I> partition = partitions.get(key);
+        return partition == null ? new ArrayList<>() : partition.overlappingAsClosed(other);
+    }
+
+    private ConcurrentIntervalIndex<T, I> partition(K key) {
+        return partitions.computeIfAbsent(key, k -> ConcurrentIntervalIndex.create(type, bucketWidth));
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 期間をキーとする、永続的な不変のマップを表す。
+ * </p>
+ * <p>
+ * PersistentIntervalMap is a persistent immutable map keyed by intervals, an AVL tree ordered by the epochs of start and end
+ * whose nodes are augmented with the maximum epoch of end in their subtrees.<br>
+ * An update returns a new version in O(log n) by copying only the path from the root,
+ * sharing all the other nodes with the previous version, so that a snapshot is the map itself and taken in O(1).
+ * The keys are equal if their epochs are equal, as {@link AbstractTemporalInterval#equals(AbstractTemporalInterval)}.
+ * </p>
+ * <p>
+ * The queries find the overlapping intervals in O(log n + k), with the boundary semantics same as
+ * {@link AbstractTemporalInterval#contains(Temporal)},
+ * {@link AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)} and
+ * {@link AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)}.
+ * </p>
+ *
+ * @param <T> {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+ * @param <I> {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+ * @param <V> 値の型 - the type of the values
+ */
+public final class PersistentIntervalMap<T extends Temporal, I extends AbstractTemporalInterval<T, I>, V> {
+    private final IntervalType<T, I> type;
+    private final Node<I, V> root;
+
+    private PersistentIntervalMap(IntervalType<T, I> type, Node<I, V> root) {
+        this.type = type;
+        this.root = root;
+    }
+
+    /**
+     * <p>
+     * 空のマップを返す。
+     * </p>
+     * <p>
+     * Returns an empty map.
+     * </p>
+     *
+     * @param type 期間の種類 - the type of the intervals, not null
+     * @param <T>  {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>  {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @param <V>  値の型 - the type of the values
+     * @return 空のマップ - the empty map
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>, V> PersistentIntervalMap<T, I, V> empty(
+            @NonNull IntervalType<T, I> type) {
+        return new PersistentIntervalMap<>(type, null);
+    }
+
+    /**
+     * <p>
+     * 期間の数を返す。
+     * </p>
+     * <p>
+     * Returns the number of intervals.
+     * </p>
+     *
+     * @return 期間の数 - the number of intervals
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * <p>
+     * 空のマップであるかどうかを判定する。
+     * </p>
+     * <p>
+     * Checks if this map is empty.
+     * </p>
+     *
+     * @return 空であればtrue - true if this map is empty
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * <p>
+     * 期間に値を対応付けた新しいマップを返す。
+     * </p>
+     * <p>
+     * Returns a new map which maps the interval to the value, replacing the value of the equal interval.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @param value    値 - the value, not null
+     * @return 新しいマップ - the new map
+     */
+    public PersistentIntervalMap<T, I, V> put(@NonNull I interval, @NonNull V value) {
+        return new PersistentIntervalMap<>(type, put(root, interval, value));
+    }
+
+    /**
+     * <p>
+     * 期間を除いた新しいマップを返す。
+     * </p>
+     * <p>
+     * Returns a new map without the interval, or this map if it does not contain the interval.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @return 新しいマップ - the new map
+     */
+    public PersistentIntervalMap<T, I, V> remove(@NonNull I interval) {
+        Node<I, V> removed = remove(root, interval.epochFrom, interval.epochTo);
+        return removed == root ? this : new PersistentIntervalMap<>(type, removed);
+    }
+
+    /**
+     * <p>
+     * 期間に対応付けられた値を返す。
+     * </p>
+     * <p>
+     * Returns the value mapped to the interval.
+     * </p>
+     *
+     * @param interval 期間 - the interval, not null
+     * @return 値 - the value, or empty if none
+     */
+    public Optional<V> get(@NonNull I interval) {
+        Node<I, V> node = root;
+        while (node != null) {
+            int compare = compare(interval.epochFrom, interval.epochTo, node);
+            if (compare == 0) {
+                return Optional.of(node.value);
+            }
+            node = compare < 0 ? node.left : node.right;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * <p>
+     * すべての期間と値に対し、期間の昇順にactionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval and value, in ascending order of the intervals.
+     * </p>
+     *
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEach(@NonNull BiConsumer<? super I, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * <p>
+     * temporalを含む期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which contain the specified temporal.
+     * </p>
+     *
+     * @param temporal 比較対象日時/日付/時刻 - the temporal to compare to, not null
+     * @return temporalを含む期間 - the intervals containing the temporal, in ascending order
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public List<I> containing(@NonNull T temporal) {
+        long epoch = type.toEpoch(temporal);
+        return overlappingAsClosed(epoch, epoch);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the specified interval, regarding both as Open interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in ascending order
+     * @see AbstractTemporalInterval#overlapsAsOpen(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsOpen(@NonNull I other) {
+        return overlappingAsOpen(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間 - the overlapping intervals, in ascending order
+     * @see AbstractTemporalInterval#overlapsAsOpen(long, long)
+     */
+    public List<I> overlappingAsOpen(long from, long to) {
+        List<I> result = new ArrayList<>();
+        forEachOverlappingAsOpen(from, to, (interval, value) -> result.add(interval));
+        return result;
+    }
+
+    /**
+     * <p>
+     * 双方を開区間とみなし、エポック数で表された期間と重複する期間と値に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval and value which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Open interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEachOverlappingAsOpen(long from, long to, @NonNull BiConsumer<? super I, ? super V> action) {
+        search(root, from, to, action);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、otherと重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the specified interval, regarding both as Closed interval.
+     * </p>
+     *
+     * @param other 比較対象期間 - the other interval to compare to, not null
+     * @return otherと重複する期間 - the overlapping intervals, in ascending order
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public List<I> overlappingAsClosed(@NonNull I other) {
+        return overlappingAsClosed(other.epochFrom, other.epochTo);
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間を返す。
+     * </p>
+     * <p>
+     * Returns the intervals which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from 比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to   比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @return 重複する期間 - the overlapping intervals, in ascending order
+     * @see AbstractTemporalInterval#overlapsAsClosed(long, long)
+     */
+    public List<I> overlappingAsClosed(long from, long to) {
+        return overlappingAsOpen(Epochs.before(from), Epochs.after(to));
+    }
+
+    /**
+     * <p>
+     * 双方を閉区間とみなし、エポック数で表された期間と重複する期間と値に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each interval and value which overlap with the interval expressed as the numbers since the epoch,
+     * regarding both as Closed interval.
+     * </p>
+     *
+     * @param from   比較対象期間の開始エポック数 - the epoch of start of the other interval
+     * @param to     比較対象期間の終了エポック数 - the epoch of end of the other interval
+     * @param action 実行する処理 - the action, not null
+     */
+    public void forEachOverlappingAsClosed(long from, long to, @NonNull BiConsumer<? super I, ? super V> action) {
+        search(root, Epochs.before(from), Epochs.after(to), action);
+    }
+
+    private static <I extends AbstractTemporalInterval<?, I>, V> void forEach(
+            Node<I, V> node, BiConsumer<? super I, ? super V> action) {
+        if (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+            forEach(node.right, action);
+        }
+    }
+
+    /**
+     * Visits the subtrees in order, skipping those ending not after from and the right ones starting not before to.
+     */
+    private static <I extends AbstractTemporalInterval<?, I>, V> void search(
+            Node<I, V> node, long from, long to, BiConsumer<? super I, ? super V> action) {
+        if (node == null || node.maxTo <= from) {
+            return;
+        }
+        search(node.left, from, to, action);
+        if (node.key.epochFrom < to) {
+            if (from < node.key.epochTo) {
+                action.accept(node.key, node.value);
+            }
+            search(node.right, from, to, action);
+        }
+    }
+
+    private static int compare(long from, long to, Node<?, ?> node) {
+        int compare = Long.compare(from, node.key.epochFrom);
+        return compare != 0 ? compare : Long.compare(to, node.key.epochTo);
+    }
+
+    private static <I extends AbstractTemporalInterval<?, I>, V> Node<I, V> put(Node<I, V> node, I key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int compare = compare(key.epochFrom, key.epochTo, node);
+        if (compare == 0) {
+            return new Node<>(key, value, node.left, node.right);
+        }
+        return compare < 0
+                ? balance(node.key, node.value, put(node.left, key, value), node.right)
+                : balance(node.key, node.value, node.left, put(node.right, key, value));
+    }
+
+    private static <I extends AbstractTemporalInterval<?, I>, V> Node<I, V> remove(Node<I, V> node, long from, long to) {
+        if (node == null) {
+            return null;
+        }
+        int compare = compare(from, to, node);
+        if (compare < 0) {
+            Node<I, V> left = remove(node.left, from, to);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (compare > 0) {
+            Node<I, V> right = remove(node.right, from, to);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<I, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left,
+                remove(node.right, successor.key.epochFrom, successor.key.epochTo));
+    }
+
+    private static <I extends AbstractTemporalInterval<?, I>, V> Node<I, V> balance(
+            I key, V value, Node<I, V> left, Node<I, V> right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left);
+            }
+            return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right);
+            }
+            return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    /**
+     * Rotates the node whose right child is heavy to the left.
+     */
+    private static <I extends AbstractTemporalInterval<?, I>, V> Node<I, V> rotateLeft(Node<I, V> node) {
+        Node<I, V> right = node.right;
+        return new Node<>(right.key, right.value, new Node<>(node.key, node.value, node.left, right.left), right.right);
+    }
+
+    /**
+     * Rotates the node whose left child is heavy to the right.
+     */
+    private static <I extends AbstractTemporalInterval<?, I>, V> Node<I, V> rotateRight(Node<I, V> node) {
+        Node<I, V> left = node.left;
+        return new Node<>(left.key, left.value, left.left, new Node<>(node.key, node.value, left.right, node.right));
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<I extends AbstractTemporalInterval<?, I>, V> {
+        private final I key;
+        private final V value;
+        private final Node<I, V> left;
+        private final Node<I, V> right;
+        private final int height;
+        private final int size;
+        private final long maxTo;
+
+        Node(I key, V value, Node<I, V> left, Node<I, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+            long maxTo = key.epochTo;
+            if (left != null) {
+                maxTo = Math.max(maxTo, left.maxTo);
+            }
+            if (right != null) {
+                maxTo = Math.max(maxTo, right.maxTo);
+            }
+            this.maxTo = maxTo;
+        }
+    }
+}
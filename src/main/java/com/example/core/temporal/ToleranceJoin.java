@@ -0,0 +1,284 @@
+package com.example.core.temporal;
+
+import lombok.NonNull;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * 許容誤差の範囲で、期間と時点または期間と期間の組をすべて求める。
+ * </p>
+ * <p>
+ * ToleranceJoin finds every pair of an interval and a point, or of two intervals, which are within a tolerance
+ * of each other, by the partitioned hash join on the buckets of epochs.<br>
+ * Each interval of the build side is widened by the tolerance and replicated to every bucket it spans,
+ * each point or interval of the probe side is placed in the buckets it spans, and the buckets are joined in parallel
+ * on the common {@link java.util.concurrent.ForkJoinPool}, each by sorting both sides by the epoch of start
+ * and sweeping them as {@link IntervalJoin}.
+ * A pair of intervals sharing several buckets is reported only in the bucket of the start of their intersection,
+ * so that no pair is reported twice.
+ * An interval spanning more than {@link #MAX_REPLICATION} buckets is not replicated,
+ * but joined with the whole other side by a single sweep, so that the replication stays bounded.
+ * </p>
+ * <p>
+ * The bucket width should be about the typical length of the intervals plus the tolerance:
+ * the narrower buckets replicate the intervals more, and the wider buckets compare more pairs.
+ * The action is called from multiple threads in no particular order, so it must be thread-safe.
+ * </p>
+ */
+public final class ToleranceJoin {
+    /**
+     * The maximum number of the buckets an interval is replicated to, beyond which it is joined by a single sweep.
+     */
+    public static final int MAX_REPLICATION = 64;
+
+    private ToleranceJoin() {
+    }
+
+    /**
+     * <p>
+     * 閉区間とみなし、許容誤差を加えた期間に含まれる時点と期間の組に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each pair of an interval and a point which is within the tolerance of the interval,
+     * that is, contained by the interval widened by the tolerance on both sides as Closed interval.
+     * </p>
+     *
+     * @param type        期間の種類 - the type of the intervals, not null
+     * @param intervals   期間の集合 - the intervals, not null
+     * @param points      時点の集合 - the points, not null
+     * @param tolerance   許容誤差 - the tolerance in the epochs, not negative
+     * @param bucketWidth 分割の幅 - the width of a bucket in the epochs, must be positive
+     * @param action      実行する処理 - the thread-safe action accepting the interval and the point, not null
+     * @param <T>         {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>         {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @see AbstractTemporalInterval#contains(Temporal)
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> void pointsWithin(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> intervals,
+            @NonNull Collection<? extends T> points, long tolerance, long bucketWidth,
+            @NonNull BiConsumer<? super I, ? super T> action) {
+        check(tolerance, bucketWidth);
+        Build build = build(intervals, tolerance, bucketWidth);
+        List<Span> all = new ArrayList<>();
+        for (T point : points) {
+            long epoch = type.toEpoch(point);
+            Span probe = new Span(point, epoch, epoch);
+            // a point is in a single bucket, so that its pairs are never reported twice
+            Partition partition = build.partitions.get(Math.floorDiv(epoch, bucketWidth));
+            if (partition != null) {
+                partition.probes.add(probe);
+            }
+            if (!build.oversize.isEmpty()) {
+                all.add(probe);
+            }
+        }
+        join(build, all, List.of(), bucketWidth, action);
+    }
+
+    /**
+     * <p>
+     * 閉区間とみなし、間隔が許容誤差以下の期間の組に対し、actionを実行する。
+     * </p>
+     * <p>
+     * Performs the action for each pair of intervals of left and right which are within the tolerance of each other,
+     * that is, the interval of left widened by the tolerance on both sides overlaps the interval of right as Closed interval.
+     * </p>
+     *
+     * @param type        期間の種類 - the type of the intervals, not null
+     * @param left        左側の期間の集合 - the intervals of left side, not null
+     * @param right       右側の期間の集合 - the intervals of right side, not null
+     * @param tolerance   許容誤差 - the tolerance in the epochs, not negative
+     * @param bucketWidth 分割の幅 - the width of a bucket in the epochs, must be positive
+     * @param action      実行する処理 - the thread-safe action accepting the interval of left and the interval of right, not null
+     * @param <T>         {@link java.time.temporal.Temporal}の実装クラス - the implementation of {@link java.time.temporal.Temporal}
+     * @param <I>         {@link com.example.core.temporal.AbstractTemporalInterval}のサブクラス - the subclass of {@link com.example.core.temporal.AbstractTemporalInterval}
+     * @see AbstractTemporalInterval#overlapsAsClosed(AbstractTemporalInterval)
+     */
+    public static <T extends Temporal, I extends AbstractTemporalInterval<T, I>> void intervalsWithin(
+            @NonNull IntervalType<T, I> type, @NonNull Collection<? extends I> left,
+            @NonNull Collection<? extends I> right, long tolerance, long bucketWidth,
+            @NonNull BiConsumer<? super I, ? super I> action) {
+        check(tolerance, bucketWidth);
+        Build build = build(left, tolerance, bucketWidth);
+        List<Span> all = new ArrayList<>();
+        List<Span> oversize = new ArrayList<>();
+        for (I interval : right) {
+            Span probe = new Span(interval, interval.epochFrom, interval.epochTo);
+            long first = Math.floorDiv(interval.epochFrom, bucketWidth);
+            long last = Math.floorDiv(interval.epochTo, bucketWidth);
+            if (isOversize(first, last)) {
+                oversize.add(probe);
+            } else {
+                for (long bucket = first; ; bucket++) {
+                    Partition partition = build.partitions.get(bucket);
+                    if (partition != null) {
+                        partition.probes.add(probe);
+                    }
+                    if (bucket == last) {
+                        break;
+                    }
+                }
+            }
+            if (!build.oversize.isEmpty()) {
+                all.add(probe);
+            }
+        }
+        join(build, all, oversize, bucketWidth, action);
+    }
+
+    private static void check(long tolerance, long bucketWidth) {
+        if (tolerance < 0L) {
+            throw new IllegalArgumentException("tolerance must not be negative");
+        }
+        if (bucketWidth <= 0L) {
+            throw new IllegalArgumentException("bucketWidth must be positive");
+        }
+    }
+
+    /**
+     * Replicates each interval widened by the tolerance to every bucket it spans, unless it spans too many buckets.
+     */
+    private static Build build(Collection<? extends AbstractTemporalInterval<?, ?>> intervals,
+                               long tolerance, long bucketWidth) {
+        Build build = new Build();
+        for (AbstractTemporalInterval<?, ?> interval : intervals) {
+            Span span = new Span(interval, lower(interval, tolerance), upper(interval, tolerance));
+            long first = Math.floorDiv(span.from, bucketWidth);
+            long last = Math.floorDiv(span.to, bucketWidth);
+            if (isOversize(first, last)) {
+                build.oversize.add(span);
+                continue;
+            }
+            build.replicated.add(span);
+            for (long bucket = first; ; bucket++) {
+                build.partitions.computeIfAbsent(bucket, b -> new Partition()).builds.add(span);
+                if (bucket == last) {
+                    break;
+                }
+            }
+        }
+        return build;
+    }
+
+    /**
+     * Joins the partitions in parallel, and then the oversize builds with all the probes
+     * and the replicated builds with the oversize probes, so that each pair falls in exactly one of them.
+     */
+    private static <L, R> void join(Build build, List<Span> all, List<Span> oversize, long bucketWidth,
+                                    BiConsumer<? super L, ? super R> action) {
+        IntervalOperationEvent event = IntervalMetrics.begin();
+        LongAdder count = event == null ? null : new LongAdder();
+        BiConsumer<? super L, ? super R> counted = count == null ? action : (l, r) -> {
+            count.increment();
+            action.accept(l, r);
+        };
+        build.partitions.entrySet().parallelStream().forEach(entry -> {
+            Partition partition = entry.getValue();
+            sweep(sort(partition.builds), sort(partition.probes), entry.getKey(), bucketWidth, counted);
+        });
+        if (!build.oversize.isEmpty()) {
+            sweep(sort(build.oversize), sort(all), 0L, 0L, counted);
+        }
+        if (!oversize.isEmpty()) {
+            sweep(sort(build.replicated), sort(oversize), 0L, 0L, counted);
+        }
+        IntervalMetrics.end(event, IntervalMetrics.Operation.JOIN, count == null ? 0L : count.sum());
+    }
+
+    /**
+     * Sweeps the builds and the probes sorted by the epoch of start as Closed interval, as {@link IntervalJoin},
+     * reporting a pair only in the bucket of the start of its intersection, or always if the width is 0.
+     */
+    @SuppressWarnings("unchecked")
+    private static <L, R> void sweep(Span[] builds, Span[] probes, long bucket, long bucketWidth,
+                                     BiConsumer<? super L, ? super R> action) {
+        int i = 0;
+        int j = 0;
+        while (i < builds.length && j < probes.length) {
+            Span b = builds[i];
+            Span p = probes[j];
+            if (b.from <= p.from) {
+                for (int k = j; k < probes.length && probes[k].from <= b.to; k++) {
+                    if (isOwner(b, probes[k], bucket, bucketWidth)) {
+                        action.accept((L) b.value, (R) probes[k].value);
+                    }
+                }
+                i++;
+            } else {
+                for (int k = i; k < builds.length && builds[k].from <= p.to; k++) {
+                    if (isOwner(builds[k], p, bucket, bucketWidth)) {
+                        action.accept((L) builds[k].value, (R) p.value);
+                    }
+                }
+                j++;
+            }
+        }
+    }
+
+    private static boolean isOwner(Span build, Span probe, long bucket, long bucketWidth) {
+        return bucketWidth == 0L || Math.floorDiv(Math.max(build.from, probe.from), bucketWidth) == bucket;
+    }
+
+    private static boolean isOversize(long first, long last) {
+        // the difference overflows to negative only for the spans of more than 2^63 buckets
+        return last - first >= MAX_REPLICATION || last - first < 0L;
+    }
+
+    private static Span[] sort(List<Span> spans) {
+        Span[] sorted = spans.toArray(new Span[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(span -> span.from));
+        return sorted;
+    }
+
+    private static long lower(AbstractTemporalInterval<?, ?> interval, long tolerance) {
+        long lower = interval.epochFrom - tolerance;
+        return lower > interval.epochFrom ? Long.MIN_VALUE : lower;
+    }
+
+    private static long upper(AbstractTemporalInterval<?, ?> interval, long tolerance) {
+        long upper = interval.epochTo + tolerance;
+        return upper < interval.epochTo ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * A point, an interval or an interval widened by the tolerance, as the epochs of Closed interval.
+     */
+    private static final class Span {
+        private final Object value;
+        private final long from;
+        private final long to;
+
+        private Span(Object value, long from, long to) {
+            this.value = value;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * The builds replicated to the buckets and the builds spanning too many buckets.
+     */
+    private static final class Build {
+        private final Map<Long, Partition> partitions = new HashMap<>();
+        private final List<Span> replicated = new ArrayList<>();
+        private final List<Span> oversize = new ArrayList<>();
+    }
+
+    /**
+     * The intervals of the build side and the points or intervals of the probe side in a bucket.
+     */
+    private static final class Partition {
+        private final List<Span> builds = new ArrayList<>();
+        private final List<Span> probes = new ArrayList<>();
+    }
+}
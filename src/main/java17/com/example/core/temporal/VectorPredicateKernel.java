@@ -0,0 +1,50 @@
+package com.example.core.temporal;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The kernel of {@link BatchPredicates} on the Vector API, loaded from META-INF/versions/17 of the multi-release JAR.
+ * Each word of the mask is assembled from the masks of the lanes compared at once.
+ */
+final class VectorPredicateKernel implements BatchPredicates.Kernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    VectorPredicateKernel() {
+        if (64 % SPECIES.length() != 0) {
+            throw new UnsupportedOperationException("lanes must divide 64: " + SPECIES.length());
+        }
+    }
+
+    @Override
+    public int evaluate(long[] froms, long[] tos, int size, long lo, long hi, long[] mask) {
+        int lanes = SPECIES.length();
+        LongVector his = LongVector.broadcast(SPECIES, hi);
+        LongVector los = LongVector.broadcast(SPECIES, lo);
+        int count = 0;
+        int words = size >>> 6;
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            long word = 0L;
+            for (int b = 0; b < 64; b += lanes) {
+                VectorMask<Long> before = LongVector.fromArray(SPECIES, froms, base + b).compare(VectorOperators.LT, his);
+                VectorMask<Long> after = los.compare(VectorOperators.LT, LongVector.fromArray(SPECIES, tos, base + b));
+                word |= before.and(after).toLong() << b;
+            }
+            mask[w] = word;
+            count += Long.bitCount(word);
+        }
+        if ((size & 63) != 0) {
+            int base = words << 6;
+            long word = 0L;
+            for (int b = 0; base + b < size; b++) {
+                word |= (((froms[base + b] - hi) & (lo - tos[base + b])) >>> 63) << b;
+            }
+            mask[words] = word;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
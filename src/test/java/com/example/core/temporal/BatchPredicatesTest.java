@@ -0,0 +1,212 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BatchPredicatesTest {
+    private final long[] froms = {0L, 10L, 20L};
+    private final long[] tos = {10L, 20L, 30L};
+
+    @Nested
+    class Kernel {
+        /**
+         * <pre>
+         *           @
+         * |---0---|---1---|---2---|
+         * </pre>
+         */
+        @Test
+        public void test_contains_boundary_shouldSetBoth() {
+            long[] mask = new long[1];
+            assertThat(BatchPredicates.contains(froms, tos, 3, 10L, mask)).isEqualTo(2);
+            assertThat(mask[0]).isEqualTo(0b011L);
+        }
+
+        /**
+         * <pre>
+         * |---0---|---1---|---2---|
+         *         |-other-|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsOpen_touching_shouldBeExcluded() {
+            long[] mask = new long[1];
+            assertThat(BatchPredicates.overlapsAsOpen(froms, tos, 3, 10L, 20L, mask)).isEqualTo(1);
+            assertThat(mask[0]).isEqualTo(0b010L);
+        }
+
+        /**
+         * <pre>
+         * |---0---|---1---|---2---|
+         *         |-other-|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsClosed_touching_shouldBeIncluded() {
+            long[] mask = new long[1];
+            assertThat(BatchPredicates.overlapsAsClosed(froms, tos, 3, 10L, 20L, mask)).isEqualTo(3);
+            assertThat(mask[0]).isEqualTo(0b111L);
+        }
+
+        @Test
+        public void test_overlapsAsClosed_extremeProbe_shouldSetAll() {
+            long[] mask = new long[1];
+            assertThat(BatchPredicates.overlapsAsClosed(froms, tos, 3, Long.MIN_VALUE, Long.MAX_VALUE, mask))
+                    .isEqualTo(3);
+            assertThat(BatchPredicates.overlapsAsOpen(froms, tos, 3, Long.MAX_VALUE - 1L, Long.MAX_VALUE, mask))
+                    .isEqualTo(0);
+        }
+
+        @Test
+        public void test_maskShorterThanSize_shouldThrow() {
+            assertThatThrownBy(() -> BatchPredicates.contains(new long[65], new long[65], 65, 0L, new long[1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        public void test_sizeBeyondArrays_shouldThrow() {
+            assertThatThrownBy(() -> BatchPredicates.contains(froms, tos, 4, 0L, new long[1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        public void test_reversedProbe_shouldThrow() {
+            assertThatThrownBy(() -> BatchPredicates.overlapsAsOpen(froms, tos, 3, 20L, 10L, new long[1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> BatchPredicates.overlapsAsClosed(froms, tos, 3, 11L, 10L, new long[1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        public void test_builder_epochOutOfRange_shouldThrow() {
+            assertThatThrownBy(() -> IntervalArray.builder(LocalDateTimeInterval.TYPE)
+                    .add(Long.MIN_VALUE, 0L)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class RandomIntervals {
+        @Test
+        public void test_random_shouldMatchBitSet() {
+            Random random = new Random(42L);
+            LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            // not a multiple of 64, so that the last partial word is also checked
+            for (int i = 0; i < 1000; i++) {
+                LocalDateTime from = origin.plusMinutes(random.nextInt(10000));
+                intervals.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(120))));
+            }
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array =
+                    IntervalArray.of(LocalDateTimeInterval.TYPE, intervals);
+            BitSet expected = new BitSet();
+            long[] mask = new long[(array.size() + 63) / 64];
+            for (int i = 0; i < 100; i++) {
+                LocalDateTime from = origin.plusMinutes(random.nextInt(10000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(120)));
+
+                int count = array.overlapsAsOpen(query.getEpochFrom(), query.getEpochTo(), mask);
+                array.overlapsAsOpen(query, expected);
+                assertThat(BitSet.valueOf(mask)).isEqualTo(expected);
+                assertThat(count).isEqualTo(expected.cardinality());
+
+                count = array.overlapsAsClosed(query.getEpochFrom(), query.getEpochTo(), mask);
+                array.overlapsAsClosed(query, expected);
+                assertThat(BitSet.valueOf(mask)).isEqualTo(expected);
+                assertThat(count).isEqualTo(expected.cardinality());
+
+                count = array.contains(query.getEpochFrom(), mask);
+                array.contains(from, expected);
+                assertThat(BitSet.valueOf(mask)).isEqualTo(expected);
+                assertThat(count).isEqualTo(expected.cardinality());
+            }
+        }
+    }
+
+    @Nested
+    class VectorKernel {
+        @Test
+        public void test_random_shouldMatchScalar() {
+            BatchPredicates.Kernel vector = BatchPredicates.vectorKernel().orElse(null);
+            assumeTrue(vector != null, "the Vector API is not available");
+            Random random = new Random(42L);
+            for (int i = 0; i < 200; i++) {
+                int size = random.nextInt(300);
+                long[] froms = new long[size];
+                long[] tos = new long[size];
+                for (int j = 0; j < size; j++) {
+                    froms[j] = random.nextInt(10000) - 5000L;
+                    tos[j] = froms[j] + 1L + random.nextInt(100);
+                }
+                if (size > 0) {
+                    froms[0] = BatchPredicates.MIN_EPOCH;
+                    tos[size - 1] = BatchPredicates.MAX_EPOCH;
+                }
+                long lo = random.nextInt(12000) - 6000L;
+                long hi = lo + random.nextInt(200);
+                long[] expected = new long[(size + 63) / 64];
+                long[] actual = new long[(size + 63) / 64];
+                assertThat(vector.evaluate(froms, tos, size, lo, hi, actual))
+                        .isEqualTo(BatchPredicates.scalar(froms, tos, size, lo, hi, expected));
+                assertThat(actual).containsExactly(expected);
+            }
+        }
+
+        /**
+         * <pre>
+         * |---MIN_EPOCH---|    ...    |---MAX_EPOCH---|
+         * </pre>
+         */
+        @Test
+        public void test_bounds_shouldMatchScalarAndBitSet() {
+            IntervalArray.Builder<LocalDateTime, LocalDateTimeInterval> builder = IntervalArray.builder(LocalDateTimeInterval.TYPE);
+            for (int i = 0; i < 64; i++) {
+                builder.add(BatchPredicates.MIN_EPOCH, BatchPredicates.MIN_EPOCH + 1L + i);
+                builder.add(BatchPredicates.MAX_EPOCH - 1L - i, BatchPredicates.MAX_EPOCH);
+            }
+            builder.add(BatchPredicates.MIN_EPOCH, BatchPredicates.MAX_EPOCH);
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array = builder.build();
+            BatchPredicates.Kernel vector = BatchPredicates.vectorKernel().orElse(null);
+            long[] bounds = {Long.MIN_VALUE, BatchPredicates.MIN_EPOCH - 1L, BatchPredicates.MIN_EPOCH,
+                    BatchPredicates.MIN_EPOCH + 1L, BatchPredicates.MIN_EPOCH + 64L, 0L, BatchPredicates.MAX_EPOCH - 64L,
+                    BatchPredicates.MAX_EPOCH - 1L, BatchPredicates.MAX_EPOCH, BatchPredicates.MAX_EPOCH + 1L, Long.MAX_VALUE};
+            int words = (array.size + 63) / 64;
+            for (long from : bounds) {
+                for (long to : bounds) {
+                    if (from > to) {
+                        continue;
+                    }
+                    long[] open = new long[words];
+                    long[] closed = new long[words];
+                    BitSet expectedOpen = array.overlapsAsOpen(from, to, new BitSet());
+                    BitSet expectedClosed = array.overlapsAsClosed(from, to, new BitSet());
+                    assertThat(array.overlapsAsOpen(from, to, open)).isEqualTo(expectedOpen.cardinality());
+                    assertThat(BitSet.valueOf(open)).isEqualTo(expectedOpen);
+                    assertThat(array.overlapsAsClosed(from, to, closed)).isEqualTo(expectedClosed.cardinality());
+                    assertThat(BitSet.valueOf(closed)).isEqualTo(expectedClosed);
+
+                    long lo = Math.max(BatchPredicates.MIN_EPOCH, Math.min(BatchPredicates.MAX_EPOCH, from));
+                    long hi = Math.max(BatchPredicates.MIN_EPOCH, Math.min(BatchPredicates.MAX_EPOCH, to));
+                    long[] scalar = new long[words];
+                    assertThat(BatchPredicates.scalar(array.froms, array.tos, array.size, lo, hi, scalar))
+                            .isEqualTo(expectedOpen.cardinality());
+                    assertThat(scalar).containsExactly(open);
+                    if (vector != null) {
+                        long[] vectorized = new long[words];
+                        vector.evaluate(array.froms, array.tos, array.size, lo, hi, vectorized);
+                        assertThat(vectorized).containsExactly(scalar);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentIntervalIndexTest {
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private final LocalDateTimeInterval booking = new LocalDateTimeInterval(origin, origin.plusHours(2L));
+
+    @Nested
+    class Update {
+        /**
+         * <pre>
+         * |---booking---|
+         *               |---next---|
+         * </pre>
+         */
+        @Test
+        public void test_addIfNoOverlap_touching_shouldBeAdded() {
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index = ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            assertThat(index.addIfNoOverlap(booking)).isTrue();
+            assertThat(index.addIfNoOverlap(new LocalDateTimeInterval(origin.plusHours(2L), origin.plusHours(3L)))).isTrue();
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        /**
+         * <pre>
+         * |---booking---|
+         *          |---next---|
+         * </pre>
+         */
+        @Test
+        public void test_addIfNoOverlap_overlapping_shouldBeRejected() {
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index = ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            index.add(booking);
+            assertThat(index.addIfNoOverlap(new LocalDateTimeInterval(origin.plusHours(1L), origin.plusHours(3L)))).isFalse();
+            assertThat(index.size()).isEqualTo(1);
+        }
+
+        @Test
+        public void test_remove_shouldAllowAddAgain() {
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index = ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            index.add(booking);
+            assertThat(index.remove(new LocalDateTimeInterval(origin, origin.plusHours(2L)))).isTrue();
+            assertThat(index.remove(booking)).isFalse();
+            assertThat(index.size()).isZero();
+            assertThat(index.addIfNoOverlap(booking)).isTrue();
+        }
+    }
+
+    @Nested
+    class Query {
+        /**
+         * <pre>
+         * |---booking---|
+         *               @
+         * </pre>
+         */
+        @Test
+        public void test_containing_equalTo_shouldBeFound() {
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index = ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            index.add(booking);
+            assertThat(index.containing(origin.plusHours(2L))).containsExactly(booking);
+            assertThat(index.overlappingAsOpen(booking.getEpochTo(), booking.getEpochTo() + 1L)).isEmpty();
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index = ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                LocalDateTime from = origin.plusMinutes(random.nextInt(100_000));
+                LocalDateTimeInterval interval = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(600)));
+                intervals.add(interval);
+                index.add(interval);
+            }
+            for (int i = 0; i < 500; i++) {
+                index.remove(intervals.remove(random.nextInt(intervals.size())));
+            }
+            for (int i = 0; i < 100; i++) {
+                LocalDateTime from = origin.plusMinutes(random.nextInt(100_000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(60)));
+                long open = intervals.stream().filter(interval -> interval.overlapsAsOpen(query)).count();
+                long closed = intervals.stream().filter(interval -> interval.overlapsAsClosed(query)).count();
+                assertThat(index.overlappingAsOpen(query)).hasSize((int) open);
+                assertThat(index.overlappingAsClosed(query)).hasSize((int) closed);
+            }
+        }
+
+        /**
+         * <pre>
+         * |--------------------long--------------------|
+         * |-0-|-1-|-2-| ... |-999-|
+         *                 @ query
+         * </pre>
+         */
+        @Test
+        public void test_remove_long_shouldShrinkScan() {
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index = ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            for (int i = 0; i < 1000; i++) {
+                index.add(new LocalDateTimeInterval(origin.plusHours(i), origin.plusHours(i + 1L)));
+            }
+            LocalDateTimeInterval longer = new LocalDateTimeInterval(origin, origin.plusHours(1000L));
+            long query = LocalDateTimeInterval.TYPE.toEpoch(origin.plusMinutes(500L * 60L + 30L));
+            index.add(longer);
+            assertThat(index.candidateCount(query, query)).isGreaterThan(500);
+            assertThat(index.remove(longer)).isTrue();
+            // an hour rounded up to 2^12 seconds reaches back to the previous interval only
+            assertThat(index.candidateCount(query, query)).isLessThanOrEqualTo(2);
+            assertThat(index.containing(origin.plusMinutes(500L * 60L + 30L))).hasSize(1);
+        }
+    }
+
+    @Nested
+    class Concurrency {
+        @Test
+        public void test_concurrentAddIfNoOverlap_shouldNeverOverlap() throws Exception {
+            ConcurrentIntervalIndex<LocalDateTime, LocalDateTimeInterval> index =
+                    ConcurrentIntervalIndex.create(LocalDateTimeInterval.TYPE, 600L);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 5000; i++) {
+                        LocalDateTime from = origin.plusMinutes(random.nextInt(20_000));
+                        LocalDateTimeInterval interval = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(180)));
+                        if (index.addIfNoOverlap(interval) && i % 10 == 0) {
+                            index.remove(interval);
+                        }
+                    }
+                }));
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            List<LocalDateTimeInterval> all = index.overlappingAsOpen(Long.MIN_VALUE, Long.MAX_VALUE);
+            assertThat(all).hasSize(index.size());
+            for (int i = 1; i < all.size(); i++) {
+                assertThat(all.get(i - 1).getEpochTo()).isLessThanOrEqualTo(all.get(i).getEpochFrom());
+            }
+        }
+    }
+}
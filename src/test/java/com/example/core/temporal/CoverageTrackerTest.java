@@ -0,0 +1,149 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoverageTrackerTest {
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private final LocalDateTimeInterval first = new LocalDateTimeInterval(origin, origin.plusHours(2L));
+    private final LocalDateTimeInterval overlapping = new LocalDateTimeInterval(origin.plusHours(1L), origin.plusHours(3L));
+    private final LocalDateTimeInterval touching = new LocalDateTimeInterval(origin.plusHours(3L), origin.plusHours(4L));
+
+    @Nested
+    class Events {
+        /**
+         * <pre>
+         * |---first---|
+         *       |--overlapping--|
+         *                       |-touching-|
+         * </pre>
+         */
+        @Test
+        public void test_add_shouldCoverUnion() {
+            CoverageTracker<LocalDateTime, LocalDateTimeInterval> tracker = CoverageTracker.create(LocalDateTimeInterval.TYPE);
+            tracker.add(first);
+            tracker.add(overlapping);
+            tracker.add(touching);
+            assertThat(tracker.getCoveredLength()).isEqualTo(4L * 3600L);
+            assertThat(tracker.getPeakConcurrency()).isEqualTo(2);
+            assertThat(tracker.getConcurrency(origin.plusHours(3L))).isEqualTo(1);
+            assertThat(tracker.getConcurrency(origin.plusMinutes(90L))).isEqualTo(2);
+        }
+
+        @Test
+        public void test_expire_shouldUncover() {
+            CoverageTracker<LocalDateTime, LocalDateTimeInterval> tracker = CoverageTracker.create(LocalDateTimeInterval.TYPE);
+            tracker.add(first);
+            tracker.add(overlapping);
+            tracker.expire(overlapping);
+            assertThat(tracker.size()).isEqualTo(1);
+            assertThat(tracker.getCoveredLength()).isEqualTo(2L * 3600L);
+            assertThat(tracker.getPeakConcurrency()).isEqualTo(1);
+        }
+
+        /**
+         * <pre>
+         * |---first---|
+         *       |--overlapping--|
+         *             ^ watermark
+         * </pre>
+         */
+        @Test
+        public void test_advanceTo_shouldExpireEnded() {
+            CoverageTracker<LocalDateTime, LocalDateTimeInterval> tracker = CoverageTracker.create(LocalDateTimeInterval.TYPE);
+            tracker.add(first);
+            tracker.add(overlapping);
+            tracker.add(touching);
+            tracker.expire(touching);
+            assertThat(tracker.advanceTo(origin.plusHours(2L))).isEqualTo(1);
+            // only the part of overlapping after the watermark is in the window
+            assertThat(tracker.getCoveredLength()).isEqualTo(3600L);
+            // the explicitly expired interval is not expired twice
+            assertThat(tracker.advanceTo(origin.plusHours(5L))).isEqualTo(1);
+            assertThat(tracker.size()).isZero();
+            assertThat(tracker.getCoveredLength()).isZero();
+        }
+    }
+
+    @Nested
+    class Window {
+        /**
+         * <pre>
+         * |-----------first-----------|
+         *       |--overlapping--|
+         *                ^ watermark
+         * </pre>
+         */
+        @Test
+        public void test_advanceTo_shouldClipToWindow() {
+            LocalDateTimeInterval longer = new LocalDateTimeInterval(origin, origin.plusHours(4L));
+            CoverageTracker<LocalDateTime, LocalDateTimeInterval> tracker = CoverageTracker.create(LocalDateTimeInterval.TYPE);
+            tracker.add(longer);
+            tracker.add(overlapping);
+            assertThat(tracker.getPeakConcurrency()).isEqualTo(2);
+            tracker.advanceTo(origin.plusMinutes(150L));
+            assertThat(tracker.size()).isEqualTo(2);
+            assertThat(tracker.getCoveredLength()).isEqualTo(90L * 60L);
+            assertThat(tracker.getPeakConcurrency()).isEqualTo(2);
+            tracker.advanceTo(origin.plusHours(3L));
+            assertThat(tracker.getCoveredLength()).isEqualTo(3600L);
+            assertThat(tracker.getPeakConcurrency()).isEqualTo(1);
+        }
+
+        @Test
+        public void test_longRun_shouldBoundNodes() {
+            Random random = new Random(42L);
+            CoverageTracker<LocalDateTime, LocalDateTimeInterval> tracker = CoverageTracker.create(LocalDateTimeInterval.TYPE);
+            int peakNodes = 0;
+            for (int i = 0; i < 100_000; i++) {
+                LocalDateTime from = origin.plusMinutes(i);
+                tracker.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(30))));
+                tracker.advanceTo(from);
+                peakNodes = Math.max(peakNodes, tracker.nodeCount());
+            }
+            tracker.advanceTo(origin.plusYears(1L));
+            assertThat(tracker.size()).isZero();
+            assertThat(tracker.getCoveredLength()).isZero();
+            // about 30 intervals are active at once, each on 2 paths of 62 nodes
+            assertThat(peakNodes).isLessThan(30 * 2 * 62);
+            assertThat(tracker.nodeCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class RandomEvents {
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            CoverageTracker<LocalDateTime, LocalDateTimeInterval> tracker = CoverageTracker.create(LocalDateTimeInterval.TYPE);
+            List<LocalDateTimeInterval> active = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                if (random.nextInt(3) == 0 && !active.isEmpty()) {
+                    tracker.expire(active.remove(random.nextInt(active.size())));
+                } else {
+                    LocalDateTime from = origin.plusMinutes(random.nextInt(5000));
+                    LocalDateTimeInterval interval = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(300)));
+                    active.add(interval);
+                    tracker.add(interval);
+                }
+                long covered = IntervalSet.of(LocalDateTimeInterval.TYPE, active).toList().stream()
+                        .mapToLong(span -> span.getEpochTo() - span.getEpochFrom())
+                        .sum();
+                int peak = active.stream()
+                        .mapToInt(a -> (int) active.stream().filter(b -> b.contains(a.getEpochFrom()) && a.getEpochFrom() < b.getEpochTo()).count())
+                        .max()
+                        .orElse(0);
+                assertThat(tracker.getCoveredLength()).isEqualTo(covered);
+                assertThat(tracker.getPeakConcurrency()).isEqualTo(peak);
+                assertThat(tracker.size()).isEqualTo(active.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CoverageTreeTest {
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private final LocalDateTimeInterval first = new LocalDateTimeInterval(origin, origin.plusHours(2L));
+    private final LocalDateTimeInterval overlapping = new LocalDateTimeInterval(origin.plusHours(1L), origin.plusHours(3L));
+    private final LocalDateTimeInterval touching = new LocalDateTimeInterval(origin.plusHours(3L), origin.plusHours(4L));
+
+    private LocalDateTimeInterval window(long fromHours, long toHours) {
+        return new LocalDateTimeInterval(origin.plusHours(fromHours), origin.plusHours(toHours));
+    }
+
+    @Nested
+    class Static {
+        /**
+         * <pre>
+         * |---first---|
+         *       |--overlapping--|
+         *                       |-touching-|
+         *                       @
+         * </pre>
+         */
+        @Test
+        public void test_getCount_touching_shouldCountBoth() {
+            CoverageTree<LocalDateTime, LocalDateTimeInterval> tree =
+                    CoverageTree.of(LocalDateTimeInterval.TYPE, List.of(first, overlapping, touching));
+            assertThat(tree.getCount(origin.plusHours(3L))).isEqualTo(2);
+            assertThat(tree.getCount(origin.plusMinutes(90L))).isEqualTo(2);
+            assertThat(tree.getCount(origin.minusSeconds(1L))).isZero();
+            assertThat(tree.getCount(origin.plusHours(5L))).isZero();
+        }
+
+        /**
+         * <pre>
+         *                 |--window--|
+         * |---first---|
+         *       |--overlapping--|
+         *                       |-touching-|
+         * </pre>
+         */
+        @Test
+        public void test_getMax_touching_shouldDifferBySemantics() {
+            CoverageTree<LocalDateTime, LocalDateTimeInterval> tree =
+                    CoverageTree.of(LocalDateTimeInterval.TYPE, List.of(first, overlapping, touching));
+            assertThat(tree.getMaxAsClosed(window(2L, 4L))).isEqualTo(2);
+            assertThat(tree.getMaxAsOpen(window(2L, 4L))).isEqualTo(1);
+            assertThat(tree.getMaxAsOpen(window(0L, 4L))).isEqualTo(2);
+        }
+
+        @Test
+        public void test_empty_shouldBeZero() {
+            CoverageTree<LocalDateTime, LocalDateTimeInterval> tree = CoverageTree.of(LocalDateTimeInterval.TYPE, List.of());
+            assertThat(tree.getCount(origin)).isZero();
+            assertThat(tree.getMaxAsClosed(window(0L, 1L))).isZero();
+            assertThat(tree.getMaxAsOpen(window(0L, 1L))).isZero();
+        }
+    }
+
+    @Nested
+    class Updatable {
+        @Test
+        public void test_add_notInUniverse_shouldThrow() {
+            CoverageTree<LocalDateTime, LocalDateTimeInterval> tree = CoverageTree.of(LocalDateTimeInterval.TYPE, List.of(first));
+            assertThatThrownBy(() -> tree.add(overlapping)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        public void test_addAndRemove_shouldUpdateCounts() {
+            CoverageTree<LocalDateTime, LocalDateTimeInterval> tree =
+                    CoverageTree.of(LocalDateTimeInterval.TYPE, List.of(first), List.of(overlapping));
+            assertThat(tree.getMaxAsOpen(window(0L, 3L))).isEqualTo(1);
+            tree.add(overlapping);
+            assertThat(tree.size()).isEqualTo(2);
+            assertThat(tree.getMaxAsOpen(window(0L, 3L))).isEqualTo(2);
+            tree.remove(first);
+            assertThat(tree.getMaxAsOpen(window(0L, 3L))).isEqualTo(1);
+            assertThat(tree.getCount(origin)).isZero();
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            List<LocalDateTimeInterval> universe = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                LocalDateTime from = origin.plusMinutes(random.nextInt(2000));
+                universe.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(120))));
+            }
+            List<LocalDateTimeInterval> active = new ArrayList<>(universe.subList(0, 150));
+            CoverageTree<LocalDateTime, LocalDateTimeInterval> tree = CoverageTree.of(LocalDateTimeInterval.TYPE, active, universe);
+            for (int i = 0; i < 300; i++) {
+                if (random.nextBoolean() && !active.isEmpty()) {
+                    tree.remove(active.remove(random.nextInt(active.size())));
+                } else {
+                    LocalDateTimeInterval interval = universe.get(random.nextInt(universe.size()));
+                    active.add(interval);
+                    tree.add(interval);
+                }
+                long from = origin.plusMinutes(random.nextInt(2000)).toEpochSecond(ZoneOffset.UTC);
+                long to = from + 60L * (1 + random.nextInt(120));
+                int closed = 0;
+                int open = 0;
+                // the maximum is reached at an epoch or just after it
+                for (long t = from; t <= to; t += 30L) {
+                    long epoch = t;
+                    closed = Math.max(closed, (int) active.stream().filter(a -> a.contains(epoch)).count());
+                    if (t < to) {
+                        open = Math.max(open, (int) active.stream().filter(a -> a.overlapsAsOpen(epoch, epoch + 1L)).count());
+                    }
+                }
+                assertThat(tree.getMaxAsClosed(from, to)).isEqualTo(closed);
+                assertThat(tree.getMaxAsOpen(from, to)).isEqualTo(open);
+                assertThat(tree.getCount(from)).isEqualTo((int) active.stream().filter(a -> a.contains(from)).count());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdBitmapTest {
+    private final Random random = new Random(42L);
+
+    /**
+     * Generates a sparse part, a dense part and a part beyond the first container.
+     */
+    private BitSet generate() {
+        BitSet bits = new BitSet();
+        for (int i = 0; i < 1000; i++) {
+            bits.set(random.nextInt(60_000));
+        }
+        for (int i = 0; i < 30_000; i++) {
+            bits.set(65_536 + random.nextInt(40_000));
+        }
+        for (int i = 0; i < 100; i++) {
+            bits.set(1 << 20 + random.nextInt(4));
+        }
+        return bits;
+    }
+
+    private IdBitmap bitmap(BitSet bits) {
+        return IdBitmap.of(bits.stream().toArray());
+    }
+
+    @Nested
+    class Of {
+        @Test
+        public void test_of_unsortedDuplicated_shouldBeSortedDistinct() {
+            IdBitmap bitmap = IdBitmap.of(5, 70_000, 1, 5);
+            assertThat(bitmap.toArray()).containsExactly(1, 5, 70_000);
+            assertThat(bitmap.cardinality()).isEqualTo(3);
+            assertThat(bitmap.contains(70_000)).isTrue();
+            assertThat(bitmap.contains(2)).isFalse();
+            assertThat(bitmap.contains(-1)).isFalse();
+        }
+
+        @Test
+        public void test_empty_shouldBeEmpty() {
+            assertThat(IdBitmap.empty().isEmpty()).isTrue();
+            assertThat(IdBitmap.of().toArray()).isEmpty();
+        }
+    }
+
+    @Nested
+    class Operations {
+        @Test
+        public void test_and_shouldMatchBitSet() {
+            for (int round = 0; round < 5; round++) {
+                BitSet left = generate();
+                BitSet right = generate();
+                BitSet expected = (BitSet) left.clone();
+                expected.and(right);
+                assertThat(bitmap(left).and(bitmap(right)).toArray()).isEqualTo(expected.stream().toArray());
+            }
+        }
+
+        @Test
+        public void test_or_shouldMatchBitSet() {
+            for (int round = 0; round < 5; round++) {
+                BitSet left = generate();
+                BitSet right = generate();
+                BitSet expected = (BitSet) left.clone();
+                expected.or(right);
+                IdBitmap result = bitmap(left).or(bitmap(right));
+                assertThat(result.toArray()).isEqualTo(expected.stream().toArray());
+                assertThat(result.cardinality()).isEqualTo(expected.cardinality());
+            }
+        }
+
+        @Test
+        public void test_and_disjoint_shouldBeEmpty() {
+            assertThat(IdBitmap.of(1, 2, 3).and(IdBitmap.of(4, 70_000)).isEmpty()).isTrue();
+        }
+
+        @Test
+        public void test_intoWords_shouldMatchBitSet() {
+            for (int round = 0; round < 5; round++) {
+                BitSet left = generate();
+                BitSet right = generate();
+                BitSet expected = (BitSet) left.clone();
+                expected.or(right);
+                long[] words = new long[(1 << 23) / 64 + 1];
+                bitmap(left).orInto(words);
+                bitmap(right).orInto(words);
+                assertThat(IdBitmap.ofWords(words).toArray()).isEqualTo(expected.stream().toArray());
+
+                expected.andNot(right);
+                bitmap(right).andNotInto(words);
+                assertThat(IdBitmap.ofWords(words).toArray()).isEqualTo(expected.stream().toArray());
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntervalArrayTest {
+    private final LocalDate originFrom = LocalDate.of(2020, 1, 1);
+    private final LocalDate originTo = originFrom.plusDays(30L);
+    private final LocalDateInterval origin = new LocalDateInterval(originFrom, originTo);
+    private final LocalDateInterval before = new LocalDateInterval(originFrom.minusDays(10L), originFrom);
+    private final LocalDateInterval after = new LocalDateInterval(originTo.plusDays(1L), originTo.plusDays(10L));
+    private final IntervalArray<LocalDate, LocalDateInterval> array =
+            IntervalArray.of(LocalDateInterval.TYPE, List.of(before, origin, after));
+
+    @Nested
+    class Conversion {
+        @Test
+        public void test_toList_shouldBeEqualToSource() {
+            List<LocalDateInterval> list = array.toList();
+            assertThat(list).hasSize(3);
+            assertThat(list.get(0).equals(before)).isTrue();
+            assertThat(list.get(1).equals(origin)).isTrue();
+            assertThat(list.get(2).equals(after)).isTrue();
+            assertThat(list.get(1).getFrom()).isEqualTo(originFrom);
+        }
+
+        @Test
+        public void test_get_outOfBounds_shouldThrow() {
+            assertThatThrownBy(() -> array.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        /**
+         * <pre>
+         * from = to
+         * </pre>
+         */
+        @Test
+        public void test_builder_fromIsEqualTo_shouldThrow() {
+            assertThatThrownBy(() -> IntervalArray.builder(LocalDateInterval.TYPE).add(1L, 1L))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Predicates {
+        /**
+         * <pre>
+         *                @
+         * |----before----|----origin----| |----after----|
+         * </pre>
+         */
+        @Test
+        public void test_contains_equalFrom_shouldSetBoth() {
+            BitSet result = array.contains(originFrom, new BitSet());
+            assertThat(result.stream().toArray()).containsExactly(0, 1);
+        }
+
+        /**
+         * <pre>
+         * |----before----|----origin----| |----after----|
+         *                |---interval---|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsOpen_touching_shouldBeExcluded() {
+            BitSet result = array.overlapsAsOpen(origin, new BitSet());
+            assertThat(result.stream().toArray()).containsExactly(1);
+        }
+
+        /**
+         * <pre>
+         * |----before----|----origin----| |----after----|
+         *                |---interval---|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsClosed_touching_shouldBeIncluded() {
+            int[] indices = new int[array.size()];
+            int count = array.overlapsAsClosedIndices(origin.getEpochFrom(), origin.getEpochTo(), indices);
+            assertThat(count).isEqualTo(2);
+            assertThat(indices[0]).isZero();
+            assertThat(indices[1]).isOne();
+        }
+
+        @Test
+        public void test_indices_shorterThanSize_shouldThrow() {
+            assertThatThrownBy(() -> array.containsIndices(0L, new int[2]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                LocalDate from = originFrom.plusDays(random.nextInt(1000));
+                intervals.add(new LocalDateInterval(from, from.plusDays(1 + random.nextInt(30))));
+            }
+            IntervalArray<LocalDate, LocalDateInterval> array = IntervalArray.of(LocalDateInterval.TYPE, intervals);
+            BitSet result = new BitSet();
+            int[] indices = new int[array.size()];
+            for (int i = 0; i < 100; i++) {
+                LocalDate from = originFrom.plusDays(random.nextInt(1000));
+                LocalDateInterval query = new LocalDateInterval(from, from.plusDays(1 + random.nextInt(30)));
+                array.overlapsAsOpen(query, result);
+                int count = array.overlapsAsOpenIndices(query.getEpochFrom(), query.getEpochTo(), indices);
+                assertThat(result.cardinality()).isEqualTo(count);
+                for (int j = 0; j < intervals.size(); j++) {
+                    assertThat(result.get(j)).isEqualTo(intervals.get(j).overlapsAsOpen(query));
+                }
+                array.contains(from, result);
+                for (int j = 0; j < intervals.size(); j++) {
+                    assertThat(result.get(j)).isEqualTo(intervals.get(j).contains(from));
+                }
+            }
+        }
+    }
+}
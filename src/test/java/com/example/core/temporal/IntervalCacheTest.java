@@ -0,0 +1,92 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntervalCacheTest {
+    private final LocalDate originFrom = LocalDate.of(2020, 1, 1);
+    private final LocalDate originTo = originFrom.plusDays(30L);
+
+    @Nested
+    class Lru {
+        @Test
+        public void test_intern_same_shouldBeShared() {
+            IntervalCache<LocalDate, LocalDateInterval> cache = IntervalCache.lru(LocalDateInterval.TYPE, 2);
+            LocalDateInterval first = cache.intern(originFrom, originTo);
+            assertThat(cache.intern(originFrom, originTo)).isSameAs(first);
+            assertThat(cache.intern(originFrom.toEpochDay(), originTo.toEpochDay())).isSameAs(first);
+            assertThat(cache.getHitCount()).isEqualTo(2L);
+            assertThat(cache.getMissCount()).isEqualTo(1L);
+        }
+
+        @Test
+        public void test_intern_beyondMaxSize_shouldEvictLeastRecentlyUsed() {
+            IntervalCache<LocalDate, LocalDateInterval> cache = IntervalCache.lru(LocalDateInterval.TYPE, 2);
+            LocalDateInterval first = cache.intern(originFrom, originTo);
+            LocalDateInterval second = cache.intern(originFrom, originTo.plusDays(1L));
+            cache.intern(originFrom, originTo);
+            cache.intern(originFrom, originTo.plusDays(2L));
+            assertThat(cache.intern(originFrom, originTo)).isSameAs(first);
+            assertThat(cache.intern(originFrom, originTo.plusDays(1L))).isNotSameAs(second);
+        }
+
+        @Test
+        public void test_lru_notPositive_shouldThrow() {
+            assertThatThrownBy(() -> IntervalCache.lru(LocalDateInterval.TYPE, 0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Bounded {
+        @Test
+        public void test_intern_same_shouldBeShared() {
+            IntervalCache<LocalDate, LocalDateInterval> cache = IntervalCache.bounded(LocalDateInterval.TYPE, 16);
+            LocalDateInterval first = cache.intern(originFrom, originTo);
+            assertThat(cache.intern(originFrom, originTo)).isSameAs(first);
+            assertThat(cache.intern(originFrom, originTo.plusDays(1L)).equals(first)).isFalse();
+            cache.clear();
+            assertThat(cache.intern(originFrom, originTo)).isNotSameAs(first);
+        }
+
+        @Test
+        public void test_intern_fractionOfSecond_shouldNotBeShared() {
+            IntervalCache<LocalDateTime, LocalDateTimeInterval> cache = IntervalCache.bounded(LocalDateTimeInterval.TYPE, 16);
+            LocalDateTime from = LocalDateTime.of(2020, 1, 1, 9, 0);
+            LocalDateTimeInterval exact = cache.intern(from, from.plusHours(1L));
+            LocalDateTimeInterval fraction = cache.intern(from.plusNanos(1L), from.plusHours(1L));
+            assertThat(fraction).isNotSameAs(exact);
+            assertThat(fraction.getFrom()).isEqualTo(from.plusNanos(1L));
+            assertThat(cache.intern(from, from.plusHours(1L))).isSameAs(exact);
+        }
+    }
+
+    @Nested
+    class Interned {
+        @Test
+        public void test_interned_shouldBeShared() {
+            assertThat(LocalDateInterval.interned(originFrom, originTo)).isSameAs(LocalDateInterval.interned(originFrom, originTo));
+        }
+
+        @Test
+        public void test_setInternCache_shouldBeUsedAndReadable() {
+            IntervalCache<LocalDate, LocalDateInterval> original = LocalDateInterval.getInternCache();
+            IntervalCache<LocalDate, LocalDateInterval> cache = IntervalCache.lru(LocalDateInterval.TYPE, 16);
+            try {
+                LocalDateInterval.setInternCache(cache);
+                LocalDateInterval first = LocalDateInterval.interned(originFrom, originTo);
+                assertThat(LocalDateInterval.interned(originFrom, originTo)).isSameAs(first);
+                assertThat(LocalDateInterval.getInternCache()).isSameAs(cache);
+                assertThat(cache.getHitCount()).isEqualTo(1L);
+                assertThat(cache.getMissCount()).isEqualTo(1L);
+            } finally {
+                LocalDateInterval.setInternCache(original);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntervalCodecTest {
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private IntervalArray<LocalDateTime, LocalDateTimeInterval> randomArray(Random random, int size) {
+        IntervalArray.Builder<LocalDateTime, LocalDateTimeInterval> builder = IntervalArray.builder(LocalDateTimeInterval.TYPE);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime from = origin.plusSeconds(random.nextInt(1_000_000));
+            builder.add(new LocalDateTimeInterval(from, from.plusSeconds(1 + random.nextInt(3600))));
+        }
+        return builder.build();
+    }
+
+    private static void assertEqual(IntervalArray<?, ?> actual, IntervalArray<?, ?> expected) {
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.getEpochFrom(i)).isEqualTo(expected.getEpochFrom(i));
+            assertThat(actual.getEpochTo(i)).isEqualTo(expected.getEpochTo(i));
+        }
+    }
+
+    @Nested
+    class Buffer {
+        @Test
+        public void test_roundTrip_shouldBeEqual() {
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array = randomArray(new Random(42L), 1000);
+            ByteBuffer buffer = ByteBuffer.allocate(array.size() * IntervalCodec.MAX_INTERVAL_BYTES);
+            int bytes = IntervalCodec.encode(array, buffer);
+            buffer.flip();
+            assertThat(buffer.remaining()).isEqualTo(bytes);
+
+            IntervalArray.Builder<LocalDateTime, LocalDateTimeInterval> builder = IntervalArray.builder(LocalDateTimeInterval.TYPE);
+            assertThat(IntervalCodec.decode(buffer, builder)).isEqualTo(1000L);
+            assertEqual(builder.build(), array);
+        }
+
+        @Test
+        public void test_sortedDays_shouldBeTwoBytesEach() {
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            LocalDate from = LocalDate.of(2020, 1, 1);
+            for (int i = 0; i < 100; i++) {
+                intervals.add(new LocalDateInterval(from.plusDays(i), from.plusDays(i + 7)));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            IntervalCodec.encode(IntervalArray.of(LocalDateInterval.TYPE, intervals), buffer);
+            // the first start takes 3 bytes, the other deltas and lengths take 1 byte each
+            assertThat(buffer.position()).isEqualTo(3 + 1 + 99 * 2);
+        }
+
+        @Test
+        public void test_decreasingStarts_shouldBeDecoded() {
+            List<LocalTimeInterval> intervals = List.of(
+                    new LocalTimeInterval(LocalTime.of(12, 0), LocalTime.of(13, 0)),
+                    new LocalTimeInterval(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            IntervalCodec.encode(IntervalArray.of(LocalTimeInterval.TYPE, intervals), buffer);
+            buffer.flip();
+            List<LocalTimeInterval> decoded = new ArrayList<>();
+            IntervalCodec.decode(buffer, (from, to) -> decoded.add(LocalTimeInterval.TYPE.of(from, to)));
+            assertThat(decoded).hasSize(2);
+            assertThat(decoded.get(0).equals(intervals.get(0))).isTrue();
+            assertThat(decoded.get(1).equals(intervals.get(1))).isTrue();
+        }
+
+        @Test
+        public void test_truncated_shouldThrow() {
+            ByteBuffer buffer = ByteBuffer.wrap(new byte[]{2, (byte) 0x81});
+            assertThatThrownBy(() -> IntervalCodec.decode(buffer, (from, to) -> {
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        public void test_collection_shouldEqualArray() {
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array = randomArray(new Random(42L), 1000);
+            List<LocalDateTimeInterval> intervals = array.toList();
+            ByteBuffer expected = ByteBuffer.allocate(array.size() * IntervalCodec.MAX_INTERVAL_BYTES);
+            ByteBuffer actual = ByteBuffer.allocate(array.size() * IntervalCodec.MAX_INTERVAL_BYTES);
+            IntervalCodec.encode(array, expected);
+            assertThat(IntervalCodec.encode(intervals, actual)).isEqualTo(expected.position());
+            assertThat(actual.flip()).isEqualTo(expected.flip());
+        }
+
+        /**
+         * The 10th byte of a variable-length integer may carry only the 64th bit.
+         */
+        @Test
+        public void test_overlongVarint_shouldThrow() {
+            byte[] bytes = new byte[11];
+            Arrays.fill(bytes, 0, 9, (byte) 0xFF);
+            bytes[9] = 0x02;
+            bytes[10] = 0x01;
+            assertThatThrownBy(() -> IntervalCodec.decode(ByteBuffer.wrap(bytes), (from, to) -> {
+            })).isInstanceOf(IllegalArgumentException.class);
+
+            bytes[9] = 0x01;
+            List<Long> froms = new ArrayList<>();
+            IntervalCodec.decode(ByteBuffer.wrap(bytes), (from, to) -> froms.add(from));
+            assertThat(froms).containsExactly(Long.MIN_VALUE);
+        }
+
+        @Test
+        public void test_zeroLength_shouldThrow() {
+            ByteBuffer buffer = ByteBuffer.wrap(new byte[]{2, 0});
+            assertThatThrownBy(() -> IntervalCodec.decode(buffer, (from, to) -> {
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Channel {
+        @Test
+        public void test_roundTrip_shouldBeEqual() throws IOException {
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array = randomArray(new Random(42L), 100_000);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long bytes = IntervalCodec.write(array, Channels.newChannel(out));
+            assertThat(out.size()).isEqualTo(bytes);
+
+            IntervalArray.Builder<LocalDateTime, LocalDateTimeInterval> builder = IntervalArray.builder(LocalDateTimeInterval.TYPE);
+            long count = IntervalCodec.read(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), builder);
+            assertThat(count).isEqualTo(100_000L);
+            assertEqual(builder.build(), array);
+        }
+
+        @Test
+        public void test_collection_shouldEqualArray() throws IOException {
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array = randomArray(new Random(42L), 10_000);
+            List<LocalDateTimeInterval> intervals = array.toList();
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            IntervalCodec.write(array, Channels.newChannel(expected));
+            IntervalCodec.write(intervals, Channels.newChannel(actual));
+            assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+        }
+
+        @Test
+        public void test_shortReads_shouldBeDecoded() throws IOException {
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> array = randomArray(new Random(42L), 1000);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IntervalCodec.write(array, Channels.newChannel(out));
+            // returns at most 3 bytes per read, so that the intervals straddle the reads
+            InputStream in = new ByteArrayInputStream(out.toByteArray()) {
+                @Override
+                public synchronized int read(byte[] b, int off, int len) {
+                    return super.read(b, off, Math.min(len, 3));
+                }
+            };
+
+            IntervalArray.Builder<LocalDateTime, LocalDateTimeInterval> builder = IntervalArray.builder(LocalDateTimeInterval.TYPE);
+            IntervalCodec.read(Channels.newChannel(in), builder);
+            assertEqual(builder.build(), array);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntervalCollectorsTest {
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private final LocalDateTimeInterval first = new LocalDateTimeInterval(origin, origin.plusHours(2L));
+    private final LocalDateTimeInterval overlapping = new LocalDateTimeInterval(origin.plusHours(1L), origin.plusHours(3L));
+    private final LocalDateTimeInterval touching = new LocalDateTimeInterval(origin.plusHours(3L), origin.plusHours(4L));
+    private final LocalDateTimeInterval separate = new LocalDateTimeInterval(origin.plusHours(5L), origin.plusHours(6L));
+
+    private static void assertEpochs(List<LocalDateTimeInterval> actual, long... epochs) {
+        assertThat(actual).hasSize(epochs.length / 2);
+        for (int i = 0; i < actual.size(); i++) {
+            assertThat(actual.get(i).getEpochFrom()).isEqualTo(epochs[i * 2]);
+            assertThat(actual.get(i).getEpochTo()).isEqualTo(epochs[i * 2 + 1]);
+        }
+    }
+
+    private List<LocalDateTimeInterval> randomIntervals(Random random, int size) {
+        List<LocalDateTimeInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            LocalDateTime from = origin.plusMinutes(random.nextInt(100_000));
+            intervals.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(60))));
+        }
+        return intervals;
+    }
+
+    /**
+     * Sorts and merges by the definition, merging touching intervals only if closed.
+     */
+    private static List<long[]> expected(List<LocalDateTimeInterval> intervals, boolean closed) {
+        List<LocalDateTimeInterval> sorted = new ArrayList<>(intervals);
+        sorted.sort((a, b) -> Long.compare(a.getEpochFrom(), b.getEpochFrom()));
+        List<long[]> runs = new ArrayList<>();
+        for (LocalDateTimeInterval interval : sorted) {
+            long[] last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last != null && (closed ? interval.getEpochFrom() <= last[1] : interval.getEpochFrom() < last[1])) {
+                last[1] = Math.max(last[1], interval.getEpochTo());
+            } else {
+                runs.add(new long[]{interval.getEpochFrom(), interval.getEpochTo()});
+            }
+        }
+        return runs;
+    }
+
+    private static void assertRuns(List<LocalDateTimeInterval> actual, List<long[]> expected) {
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getEpochFrom()).isEqualTo(expected.get(i)[0]);
+            assertThat(actual.get(i).getEpochTo()).isEqualTo(expected.get(i)[1]);
+        }
+    }
+
+    @Nested
+    class Sorted {
+        /**
+         * <pre>
+         * |---first---|
+         *       |--overlapping--|
+         *                       |-touching-|
+         *                                      |-separate-|
+         * </pre>
+         */
+        @Test
+        public void test_coalescingAsOpen_touching_shouldBeSeparate() {
+            List<LocalDateTimeInterval> result = Stream.of(first, overlapping, touching, separate)
+                    .collect(IntervalCollectors.coalescingAsOpen(LocalDateTimeInterval.TYPE));
+            assertEpochs(result, first.getEpochFrom(), overlapping.getEpochTo(),
+                    touching.getEpochFrom(), touching.getEpochTo(), separate.getEpochFrom(), separate.getEpochTo());
+            assertThat(result.get(1)).isSameAs(touching);
+            assertThat(result.get(2)).isSameAs(separate);
+        }
+
+        /**
+         * <pre>
+         * |---first---|
+         *       |--overlapping--|
+         *                       |-touching-|
+         *                                      |-separate-|
+         * </pre>
+         */
+        @Test
+        public void test_coalescingAsClosed_touching_shouldBeCoalesced() {
+            List<LocalDateTimeInterval> result = Stream.of(first, overlapping, touching, separate)
+                    .collect(IntervalCollectors.coalescingAsClosed(LocalDateTimeInterval.TYPE));
+            assertEpochs(result, first.getEpochFrom(), touching.getEpochTo(),
+                    separate.getEpochFrom(), separate.getEpochTo());
+            assertThat(result.get(1)).isSameAs(separate);
+        }
+
+        @Test
+        public void test_contained_shouldReuseOuter() {
+            LocalDateTimeInterval inner = new LocalDateTimeInterval(origin.plusMinutes(10L), origin.plusMinutes(20L));
+            List<LocalDateTimeInterval> result = Stream.of(first, inner)
+                    .collect(IntervalCollectors.coalescingAsOpen(LocalDateTimeInterval.TYPE));
+            assertThat(result).containsExactly(first);
+        }
+
+        @Test
+        public void test_empty_shouldBeEmpty() {
+            assertThat(Stream.<LocalDateTimeInterval>empty()
+                    .collect(IntervalCollectors.coalescingAsClosed(LocalDateTimeInterval.TYPE))).isEmpty();
+        }
+    }
+
+    @Nested
+    class Unsorted {
+        @Test
+        public void test_reversed_shouldBeSorted() {
+            List<LocalDateTimeInterval> result = Stream.of(separate, touching, overlapping, first)
+                    .collect(IntervalCollectors.coalescingAsOpen(LocalDateTimeInterval.TYPE));
+            assertEpochs(result, first.getEpochFrom(), overlapping.getEpochTo(),
+                    touching.getEpochFrom(), touching.getEpochTo(), separate.getEpochFrom(), separate.getEpochTo());
+        }
+
+        @Test
+        public void test_random_shouldMatchDefinition() {
+            List<LocalDateTimeInterval> intervals = randomIntervals(new Random(42L), 10_000);
+            assertRuns(intervals.stream().collect(IntervalCollectors.coalescingAsOpen(LocalDateTimeInterval.TYPE)),
+                    expected(intervals, false));
+            assertRuns(intervals.stream().collect(IntervalCollectors.coalescingAsClosed(LocalDateTimeInterval.TYPE)),
+                    expected(intervals, true));
+        }
+
+        @Test
+        public void test_parallel_shouldMatchDefinition() {
+            List<LocalDateTimeInterval> intervals = randomIntervals(new Random(42L), 100_000);
+            assertRuns(intervals.parallelStream().collect(IntervalCollectors.coalescingAsOpen(LocalDateTimeInterval.TYPE)),
+                    expected(intervals, false));
+            List<LocalDateTimeInterval> sorted = new ArrayList<>(intervals);
+            sorted.sort((a, b) -> Long.compare(a.getEpochFrom(), b.getEpochFrom()));
+            assertRuns(sorted.parallelStream().collect(IntervalCollectors.coalescingAsClosed(LocalDateTimeInterval.TYPE)),
+                    expected(intervals, true));
+            Collections.reverse(sorted);
+            assertRuns(sorted.parallelStream().collect(IntervalCollectors.coalescingAsClosed(LocalDateTimeInterval.TYPE)),
+                    expected(intervals, true));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntervalFileLoaderTest {
+    @TempDir
+    Path directory;
+
+    private Path write(String content) throws IOException {
+        return Files.write(directory.resolve("intervals.txt"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    class Csv {
+        @Test
+        public void test_load_shouldReportErrorsByLine() throws IOException {
+            Path path = write("id,from,to\r\n"
+                    + "1,2020-01-01,2020-02-01\r\n"
+                    + "2,2020-02-01,2020-01-01\r\n"
+                    + "\r\n"
+                    + "3,\"2020-03-01\",\"2020-04-01\"\r\n"
+                    + "4,2020-13-01,2020-04-01\r\n"
+                    + "5,2020-05-01");
+            IntervalFileLoader.Result<LocalDate, LocalDateInterval> result =
+                    IntervalFileLoader.csv(LocalDateInterval.TYPE, ',', 1, 2, true).load(path);
+
+            assertThat(result.getIntervals().size()).isEqualTo(2);
+            assertThat(result.getIntervals().get(1).equals(
+                    new LocalDateInterval(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 4, 1)))).isTrue();
+            assertThat(result.getErrors()).extracting(IntervalFileLoader.RowError::getLine).containsExactly(3L, 6L, 7L);
+            assertThat(result.getErrors().get(0).getMessage()).isEqualTo("from must be before to");
+        }
+
+        @Test
+        public void test_load_largeFile_shouldKeepLineOrderAcrossChunks() throws IOException {
+            LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+            int rows = 100_000;
+            String content = IntStream.range(0, rows)
+                    .mapToObj(i -> i == 77_777
+                            ? "broken"
+                            : origin.plusMinutes(i) + ":00," + origin.plusMinutes(i + 30L) + ":00")
+                    .collect(Collectors.joining("\n", "", "\n"));
+            Path path = write(content);
+            assertThat(Files.size(path)).isGreaterThan(3L << 20);
+
+            IntervalFileLoader.Result<LocalDateTime, LocalDateTimeInterval> result =
+                    IntervalFileLoader.csv(LocalDateTimeInterval.TYPE).load(path);
+
+            IntervalArray<LocalDateTime, LocalDateTimeInterval> intervals = result.getIntervals();
+            assertThat(intervals.size()).isEqualTo(rows - 1);
+            for (int i = 1; i < intervals.size(); i++) {
+                assertThat(intervals.getEpochFrom(i)).isGreaterThan(intervals.getEpochFrom(i - 1));
+            }
+            assertThat(result.getErrors()).hasSize(1);
+            assertThat(result.getErrors().get(0).getLine()).isEqualTo(77_778L);
+        }
+
+        @Test
+        public void test_sameColumns_shouldThrowIllegalArgumentException() {
+            assertThatThrownBy(() -> IntervalFileLoader.csv(LocalDateInterval.TYPE, ',', 1, 1, false))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Ndjson {
+        @Test
+        public void test_load_shouldFindKeys() throws IOException {
+            Path path = write("{\"id\": 1, \"from\": \"09:00\", \"to\": \"10:30\"}\n"
+                    + "{\"to\":\"12:00\",\"from\":\"11:00:30.5\"}\n"
+                    + "{\"from\": \"13:00\"}\n");
+            IntervalFileLoader.Result<LocalTime, LocalTimeInterval> result =
+                    IntervalFileLoader.ndjson(LocalTimeInterval.TYPE).load(path);
+
+            assertThat(result.getIntervals().size()).isEqualTo(2);
+            assertThat(result.getIntervals().getEpochFrom(0)).isEqualTo(9 * 3600L);
+            assertThat(result.getIntervals().getEpochFrom(1)).isEqualTo(11 * 3600L + 30L);
+            assertThat(result.getErrors()).hasSize(1);
+            assertThat(result.getErrors().get(0).toString()).isEqualTo("line 3: missing string \"to\"");
+        }
+    }
+}
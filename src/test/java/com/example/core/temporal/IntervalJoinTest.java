@@ -0,0 +1,115 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntervalJoinTest {
+    private final LocalDateTime originFrom = LocalDateTime.of(2020, 1, 1, 9, 0);
+    private final LocalDateTime originTo = originFrom.plusHours(8L);
+    private final LocalDateTimeInterval origin = new LocalDateTimeInterval(originFrom, originTo);
+    private final LocalDateTimeInterval touching = new LocalDateTimeInterval(originTo, originTo.plusHours(1L));
+    private final LocalDateTimeInterval inside = new LocalDateTimeInterval(originFrom.plusHours(1L), originFrom.plusHours(2L));
+
+    @Nested
+    class OverlapsAsOpen {
+        /**
+         * <pre>
+         * |----------origin----------|
+         *     |-inside-|             |-touching-|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsOpen_touching_shouldBeExcluded() {
+            List<String> pairs = new ArrayList<>();
+            IntervalJoin.overlapsAsOpen(List.of(origin), List.of(touching, inside),
+                    (l, r) -> pairs.add(l.getEpochFrom() + "-" + r.getEpochFrom()));
+            assertThat(pairs).containsExactly(origin.getEpochFrom() + "-" + inside.getEpochFrom());
+        }
+    }
+
+    @Nested
+    class OverlapsAsClosed {
+        /**
+         * <pre>
+         * |----------origin----------|
+         *     |-inside-|             |-touching-|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsClosed_touching_shouldBeIncluded() {
+            List<LocalDateTimeInterval> rights = new ArrayList<>();
+            IntervalJoin.overlapsAsClosed(List.of(origin), List.of(touching, inside), (l, r) -> rights.add(r));
+            assertThat(rights).containsExactly(inside, touching);
+        }
+
+        /**
+         * <pre>
+         * |----------origin----------|
+         * |----------origin----------|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsClosed_sameFrom_shouldBeReportedOnce() {
+            List<LocalDateTimeInterval> lefts = new ArrayList<>();
+            IntervalJoin.overlapsAsClosed(List.of(origin), List.of(origin), (l, r) -> lefts.add(l));
+            assertThat(lefts).containsExactly(origin);
+        }
+    }
+
+    @Nested
+    class RandomIntervals {
+        private final Random random = new Random(42L);
+
+        @Test
+        public void test_random_shouldMatchNestedLoop() {
+            List<LocalDateTimeInterval> left = generate(500);
+            List<LocalDateTimeInterval> right = generate(700);
+            assertThat(join(left, right, false)).isEqualTo(nestedLoop(left, right, false));
+            assertThat(join(left, right, true)).isEqualTo(nestedLoop(left, right, true));
+        }
+
+        private List<LocalDateTimeInterval> generate(int size) {
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                LocalDateTime from = originFrom.plusMinutes(random.nextInt(10_000));
+                intervals.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(200))));
+            }
+            return intervals;
+        }
+
+        private Set<List<Integer>> join(List<LocalDateTimeInterval> left, List<LocalDateTimeInterval> right, boolean closed) {
+            Set<List<Integer>> pairs = new HashSet<>();
+            if (closed) {
+                IntervalJoin.overlapsAsClosed(left, right, (l, r) -> assertThat(pairs.add(pair(l, r))).isTrue());
+            } else {
+                IntervalJoin.overlapsAsOpen(left, right, (l, r) -> assertThat(pairs.add(pair(l, r))).isTrue());
+            }
+            return pairs;
+        }
+
+        private Set<List<Integer>> nestedLoop(List<LocalDateTimeInterval> left, List<LocalDateTimeInterval> right, boolean closed) {
+            Set<List<Integer>> pairs = new HashSet<>();
+            for (LocalDateTimeInterval l : left) {
+                for (LocalDateTimeInterval r : right) {
+                    if (closed ? l.overlapsAsClosed(r) : l.overlapsAsOpen(r)) {
+                        pairs.add(pair(l, r));
+                    }
+                }
+            }
+            return pairs;
+        }
+
+        private List<Integer> pair(LocalDateTimeInterval l, LocalDateTimeInterval r) {
+            return List.of(System.identityHashCode(l), System.identityHashCode(r));
+        }
+    }
+}
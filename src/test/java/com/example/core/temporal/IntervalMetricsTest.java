@@ -0,0 +1,114 @@
+package com.example.core.temporal;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntervalMetricsTest {
+    private final LocalDate origin = LocalDate.of(2020, 1, 1);
+    private final LocalDateInterval january = new LocalDateInterval(origin, origin.plusDays(31L));
+    private final LocalDateInterval february = new LocalDateInterval(origin.plusDays(31L), origin.plusDays(60L));
+
+    @AfterEach
+    public void tearDown() {
+        IntervalMetrics.setListener(null);
+    }
+
+    @Nested
+    class Listener {
+        @Test
+        public void test_disabled_shouldRecordNothing() {
+            IntervalMetricsRecorder recorder = new IntervalMetricsRecorder();
+            IntervalMetrics.setListener(recorder);
+            IntervalMetrics.setListener(null);
+            IntervalTree.of(LocalDateInterval.TYPE, Arrays.asList(january, february)).containing(origin);
+            IntervalJoin.overlapsAsClosed(Arrays.asList(january), Arrays.asList(january, february), (l, r) -> {
+            });
+            IntervalCache.lru(LocalDateInterval.TYPE, 2).intern(origin, origin.plusDays(1L));
+            IntervalArray.of(LocalDateInterval.TYPE, Arrays.asList(january, february)).overlapsAsOpen(0L, 1L, new long[1]);
+
+            assertThat(IntervalMetrics.getListener()).isNull();
+            for (IntervalMetrics.Operation operation : IntervalMetrics.Operation.values()) {
+                assertThat(recorder.getCalls(operation)).isZero();
+                assertThat(recorder.getCount(operation)).isZero();
+            }
+        }
+
+        @Test
+        public void test_begin_disabled_shouldBeNull() {
+            assertThat(IntervalMetrics.begin()).isNull();
+
+            IntervalMetrics.setListener(new IntervalMetricsRecorder());
+            assertThat(IntervalMetrics.begin()).isNotNull();
+        }
+
+        @Test
+        public void test_tree_shouldRecordBuildAndQuery() {
+            IntervalMetricsRecorder recorder = new IntervalMetricsRecorder();
+            IntervalMetrics.setListener(recorder);
+            IntervalTree<LocalDate, LocalDateInterval> tree = IntervalTree.of(LocalDateInterval.TYPE, Arrays.asList(january, february));
+            tree.containing(origin.plusDays(31L));
+            tree.overlappingAsOpen(february);
+
+            assertThat(recorder.getCalls(IntervalMetrics.Operation.INDEX_BUILD)).isEqualTo(1L);
+            assertThat(recorder.getCount(IntervalMetrics.Operation.INDEX_BUILD)).isEqualTo(2L);
+            assertThat(recorder.getCalls(IntervalMetrics.Operation.INDEX_QUERY)).isEqualTo(2L);
+            assertThat(recorder.getCount(IntervalMetrics.Operation.INDEX_QUERY)).isEqualTo(3L);
+            assertThat(Arrays.stream(recorder.getLatencyHistogram(IntervalMetrics.Operation.INDEX_QUERY)).sum()).isEqualTo(2L);
+        }
+
+        @Test
+        public void test_joinCacheAndPredicate_shouldBeRecorded() {
+            IntervalMetricsRecorder recorder = new IntervalMetricsRecorder();
+            IntervalMetrics.setListener(recorder);
+            IntervalJoin.overlapsAsClosed(Arrays.asList(january), Arrays.asList(january, february), (l, r) -> {
+            });
+            IntervalCache<LocalDate, LocalDateInterval> cache = IntervalCache.lru(LocalDateInterval.TYPE, 2);
+            cache.intern(origin, origin.plusDays(1L));
+            cache.intern(origin, origin.plusDays(1L));
+            IntervalArray.of(LocalDateInterval.TYPE, Arrays.asList(january, february)).overlapsAsOpen(0L, 1L, new long[1]);
+
+            assertThat(recorder.getCount(IntervalMetrics.Operation.JOIN)).isEqualTo(2L);
+            assertThat(recorder.getCalls(IntervalMetrics.Operation.CACHE_HIT)).isEqualTo(1L);
+            assertThat(recorder.getCalls(IntervalMetrics.Operation.CACHE_MISS)).isEqualTo(1L);
+            assertThat(recorder.getCount(IntervalMetrics.Operation.PREDICATE)).isEqualTo(2L);
+
+            recorder.reset();
+            assertThat(recorder.getCalls(IntervalMetrics.Operation.JOIN)).isZero();
+            assertThat(recorder.getTotalNanos(IntervalMetrics.Operation.JOIN)).isZero();
+        }
+    }
+
+    @Nested
+    class FlightRecorder {
+        @Test
+        public void test_recording_shouldCommitEvents() throws Exception {
+            Path file = Files.createTempFile("interval", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable(IntervalOperationEvent.class).withoutThreshold();
+                recording.start();
+                IntervalTree.of(LocalDateInterval.TYPE, Arrays.asList(january, february)).containing(origin);
+                recording.stop();
+                recording.dump(file);
+            }
+            List<String> operations = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.example.core.temporal.IntervalOperation"))
+                    .map(event -> event.getString("operation"))
+                    .collect(Collectors.toList());
+            Files.delete(file);
+
+            assertThat(operations).containsExactly("INDEX_BUILD", "INDEX_QUERY");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntervalParserTest {
+    private static long[] parse(IntervalParser parser, CharSequence text) {
+        long[] result = new long[2];
+        parser.parse(text, (from, to) -> {
+            result[0] = from;
+            result[1] = to;
+        });
+        return result;
+    }
+
+    @Nested
+    class LocalDates {
+        @Test
+        public void test_parse_shouldBeEpochDays() {
+            LocalDateInterval expected = new LocalDateInterval(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1));
+            assertThat(parse(IntervalParser.LOCAL_DATE, "2020-01-01/2020-02-01"))
+                    .containsExactly(expected.getEpochFrom(), expected.getEpochTo());
+        }
+
+        @Test
+        public void test_random_shouldMatchLocalDate() {
+            Random random = new Random(42L);
+            for (int i = 0; i < 10_000; i++) {
+                LocalDate from = LocalDate.ofEpochDay(random.nextInt(2_000_000) - 1_000_000);
+                LocalDate to = from.plusDays(1 + random.nextInt(1000));
+                assertThat(parse(IntervalParser.LOCAL_DATE, from + "/" + to))
+                        .containsExactly(from.toEpochDay(), to.toEpochDay());
+            }
+        }
+
+        @Test
+        public void test_signedYear_shouldBeParsed() {
+            assertThat(parse(IntervalParser.LOCAL_DATE, "-0001-12-31/+10000-01-01"))
+                    .containsExactly(LocalDate.of(-1, 12, 31).toEpochDay(), LocalDate.of(10000, 1, 1).toEpochDay());
+        }
+
+        @Test
+        public void test_invalidDay_shouldThrowDateTimeParseException() {
+            assertThatThrownBy(() -> parse(IntervalParser.LOCAL_DATE, "2019-02-29/2019-03-01"))
+                    .isInstanceOf(DateTimeParseException.class)
+                    .extracting(e -> ((DateTimeParseException) e).getErrorIndex())
+                    .isEqualTo(8);
+        }
+
+        @Test
+        public void test_unsignedLongYear_shouldThrowDateTimeParseException() {
+            assertThatThrownBy(() -> parse(IntervalParser.LOCAL_DATE, "2020-01-01/10000-01-01"))
+                    .isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Nested
+    class LocalDateTimes {
+        @Test
+        public void test_parse_withoutSeconds_shouldBeEpochSeconds() {
+            LocalDateTimeInterval expected = new LocalDateTimeInterval(
+                    LocalDateTime.of(2020, 1, 1, 10, 0), LocalDateTime.of(2020, 1, 1, 12, 0));
+            assertThat(parse(IntervalParser.LOCAL_DATE_TIME, "2020-01-01T10:00/2020-01-01T12:00"))
+                    .containsExactly(expected.getEpochFrom(), expected.getEpochTo());
+        }
+
+        @Test
+        public void test_parse_fraction_shouldBeDiscarded() {
+            LocalDateTimeInterval expected = new LocalDateTimeInterval(
+                    LocalDateTime.of(2020, 1, 1, 10, 0, 1), LocalDateTime.of(2020, 1, 1, 12, 0, 2));
+            assertThat(parse(IntervalParser.LOCAL_DATE_TIME, "2020-01-01T10:00:01.999/2020-01-01T12:00:02.123456789"))
+                    .containsExactly(expected.getEpochFrom(), expected.getEpochTo());
+        }
+
+        @Test
+        public void test_missingT_shouldThrowDateTimeParseException() {
+            assertThatThrownBy(() -> parse(IntervalParser.LOCAL_DATE_TIME, "2020-01-01 10:00/2020-01-01T12:00"))
+                    .isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Nested
+    class LocalTimes {
+        @Test
+        public void test_parse_shouldBeSecondsOfDay() {
+            LocalTimeInterval expected = new LocalTimeInterval(LocalTime.of(9, 0), LocalTime.of(17, 30, 15));
+            assertThat(parse(IntervalParser.LOCAL_TIME, "09:00/17:30:15"))
+                    .containsExactly(expected.getEpochFrom(), expected.getEpochTo());
+        }
+
+        @Test
+        public void test_invalidHour_shouldThrowDateTimeParseException() {
+            assertThatThrownBy(() -> parse(IntervalParser.LOCAL_TIME, "09:00/24:00"))
+                    .isInstanceOf(DateTimeParseException.class)
+                    .hasMessageContaining("'24:00'");
+        }
+
+        @Test
+        public void test_notBefore_shouldThrowIllegalArgumentException() {
+            assertThatThrownBy(() -> parse(IntervalParser.LOCAL_TIME, "09:00/09:00"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .isNotInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Nested
+    class Sources {
+        @Test
+        public void test_byteBuffer_shouldNotMovePosition() {
+            ByteBuffer buffer = ByteBuffer.wrap("x,2020-01-01/2020-02-01,y".getBytes(StandardCharsets.US_ASCII));
+            IntervalArray.Builder<LocalDate, LocalDateInterval> builder = IntervalArray.builder(LocalDateInterval.TYPE);
+            IntervalParser.LOCAL_DATE.parse(buffer, 2, 23, builder);
+            IntervalArray<LocalDate, LocalDateInterval> array = builder.build();
+
+            assertThat(buffer.position()).isZero();
+            assertThat(array.get(0).equals(new LocalDateInterval(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1)))).isTrue();
+        }
+
+        @Test
+        public void test_range_shouldParseSubSequence() {
+            long[] result = new long[2];
+            IntervalParser.LOCAL_TIME.parse("[09:00/10:00]", 1, 12, (from, to) -> {
+                result[0] = from;
+                result[1] = to;
+            });
+            assertThat(result).containsExactly(9 * 3600L, 10 * 3600L);
+        }
+
+        @Test
+        public void test_of_shouldMatchType() {
+            assertThat(IntervalParser.of(LocalDateInterval.TYPE)).isSameAs(IntervalParser.LOCAL_DATE);
+            assertThat(IntervalParser.of(LocalDateTimeInterval.TYPE)).isSameAs(IntervalParser.LOCAL_DATE_TIME);
+            assertThat(IntervalParser.of(LocalTimeInterval.TYPE)).isSameAs(IntervalParser.LOCAL_TIME);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntervalSetTest {
+    private final LocalDate base = LocalDate.of(2020, 1, 1);
+
+    private LocalDateInterval interval(int from, int to) {
+        return new LocalDateInterval(base.plusDays(from), base.plusDays(to));
+    }
+
+    private IntervalSet<LocalDate, LocalDateInterval> set(LocalDateInterval... intervals) {
+        return IntervalSet.of(LocalDateInterval.TYPE, List.of(intervals));
+    }
+
+    private List<String> spans(IntervalSet<LocalDate, LocalDateInterval> set) {
+        return set.toList().stream()
+                .map(i -> (i.getFrom().toEpochDay() - base.toEpochDay()) + "-" + (i.getTo().toEpochDay() - base.toEpochDay()))
+                .collect(Collectors.toList());
+    }
+
+    @Nested
+    class Of {
+        /**
+         * <pre>
+         * |----a----|
+         *      |----b----|
+         *                |----c----|    |----d----|
+         * </pre>
+         */
+        @Test
+        public void test_of_overlappingOrTouching_shouldBeCoalesced() {
+            IntervalSet<LocalDate, LocalDateInterval> set = set(interval(20, 25), interval(5, 12), interval(0, 10), interval(12, 15));
+            assertThat(spans(set)).containsExactly("0-15", "20-25");
+        }
+
+        @Test
+        public void test_contains_shouldRegardAsClosed() {
+            IntervalSet<LocalDate, LocalDateInterval> set = set(interval(0, 10), interval(20, 25));
+            assertThat(set.contains(base)).isTrue();
+            assertThat(set.contains(base.plusDays(10L))).isTrue();
+            assertThat(set.contains(base.plusDays(11L))).isFalse();
+            assertThat(set.contains(base.minusDays(1L))).isFalse();
+            assertThat(set.contains(base.plusDays(25L))).isTrue();
+        }
+    }
+
+    @Nested
+    class Operations {
+        private final IntervalSet<LocalDate, LocalDateInterval> a = set(interval(0, 10), interval(20, 30));
+        private final IntervalSet<LocalDate, LocalDateInterval> b = set(interval(5, 20), interval(25, 26));
+
+        @Test
+        public void test_union() {
+            assertThat(spans(a.union(b))).containsExactly("0-30");
+        }
+
+        @Test
+        public void test_intersection_touching_shouldBeDropped() {
+            assertThat(spans(a.intersection(b))).containsExactly("5-10", "25-26");
+        }
+
+        @Test
+        public void test_difference() {
+            assertThat(spans(a.difference(b))).containsExactly("0-5", "20-25", "26-30");
+            assertThat(spans(b.difference(a))).containsExactly("10-20");
+        }
+
+        @Test
+        public void test_complement() {
+            assertThat(spans(a.complement(interval(-5, 40)))).containsExactly("-5-0", "10-20", "30-40");
+            assertThat(a.complement(interval(0, 10)).isEmpty()).isTrue();
+        }
+
+        @Test
+        public void test_random_shouldMatchBitmaps() {
+            Random random = new Random(42L);
+            for (int round = 0; round < 200; round++) {
+                List<LocalDateInterval> left = generate(random);
+                List<LocalDateInterval> right = generate(random);
+                IntervalSet<LocalDate, LocalDateInterval> l = IntervalSet.of(LocalDateInterval.TYPE, left);
+                IntervalSet<LocalDate, LocalDateInterval> r = IntervalSet.of(LocalDateInterval.TYPE, right);
+                boolean[] lCells = cells(left);
+                boolean[] rCells = cells(right);
+                boolean[] union = new boolean[lCells.length];
+                boolean[] intersection = new boolean[lCells.length];
+                boolean[] difference = new boolean[lCells.length];
+                for (int i = 0; i < lCells.length; i++) {
+                    union[i] = lCells[i] || rCells[i];
+                    intersection[i] = lCells[i] && rCells[i];
+                    difference[i] = lCells[i] && !rCells[i];
+                }
+                assertThat(cells(l.union(r).toList())).isEqualTo(union);
+                assertThat(cells(l.intersection(r).toList())).isEqualTo(intersection);
+                assertThat(cells(l.difference(r).toList())).isEqualTo(difference);
+                for (int day = -1; day < 110; day++) {
+                    LocalDate date = base.plusDays(day);
+                    assertThat(l.contains(date)).isEqualTo(left.stream().anyMatch(i -> i.contains(date)));
+                }
+            }
+        }
+
+        private List<LocalDateInterval> generate(Random random) {
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            for (int i = random.nextInt(8); i > 0; i--) {
+                int from = random.nextInt(90);
+                intervals.add(interval(from, from + 1 + random.nextInt(15)));
+            }
+            return intervals;
+        }
+
+        /**
+         * Returns the cells of one day [d, d + 1) covered by the intervals.
+         */
+        private boolean[] cells(List<LocalDateInterval> intervals) {
+            boolean[] cells = new boolean[110];
+            for (LocalDateInterval interval : intervals) {
+                for (long day = interval.getEpochFrom(); day < interval.getEpochTo(); day++) {
+                    cells[(int) (day - base.toEpochDay())] = true;
+                }
+            }
+            return cells;
+        }
+    }
+
+    @Nested
+    class Gaps {
+        /**
+         * <pre>
+         * bounds: |-----------------------------|
+         *            |--a--|    |--b--|
+         * gaps:   |--|     |----|     |---------|
+         * </pre>
+         */
+        @Test
+        public void test_gaps_shouldTouchIntervals() {
+            IntervalSet<LocalDate, LocalDateInterval> set = set(interval(3, 6), interval(10, 13));
+            List<String> gaps = set.gaps(interval(0, 20), 1L)
+                    .map(i -> (i.getFrom().toEpochDay() - base.toEpochDay()) + "-" + (i.getTo().toEpochDay() - base.toEpochDay()))
+                    .collect(Collectors.toList());
+            assertThat(gaps).containsExactly("0-3", "6-10", "13-20");
+        }
+
+        /**
+         * <pre>
+         * bounds:      |--------------|
+         *            |--a--|    |--b--|
+         * gaps:            |----|
+         * </pre>
+         */
+        @Test
+        public void test_firstGap_boundsInsideIntervals_shouldBeBetween() {
+            IntervalSet<LocalDate, LocalDateInterval> set = set(interval(3, 6), interval(10, 13));
+            LocalDateInterval gap = set.firstGap(interval(4, 12), 1L).orElseThrow();
+            assertThat(gap.getFrom()).isEqualTo(base.plusDays(6));
+            assertThat(gap.getTo()).isEqualTo(base.plusDays(10));
+        }
+
+        @Test
+        public void test_firstGap_tooShort_shouldBeSkipped() {
+            IntervalSet<LocalDate, LocalDateInterval> set = set(interval(3, 6), interval(10, 13));
+            LocalDateInterval gap = set.firstGap(interval(0, 20), 5L).orElseThrow();
+            assertThat(gap.getFrom()).isEqualTo(base.plusDays(13));
+            assertThat(gap.getTo()).isEqualTo(base.plusDays(20));
+            assertThat(set.firstGap(interval(0, 20), 8L)).isEmpty();
+        }
+
+        @Test
+        public void test_firstGap_empty_shouldBeBounds() {
+            IntervalSet<LocalDate, LocalDateInterval> set = IntervalSet.empty(LocalDateInterval.TYPE);
+            assertThat(set.firstGap(interval(0, 20), 20L).orElseThrow().equals(interval(0, 20))).isTrue();
+        }
+
+        @Test
+        public void test_random_shouldMatchComplement() {
+            Random random = new Random(42L);
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int from = random.nextInt(10_000);
+                intervals.add(interval(from, from + 1 + random.nextInt(20)));
+            }
+            IntervalSet<LocalDate, LocalDateInterval> set = IntervalSet.of(LocalDateInterval.TYPE, intervals);
+            for (int i = 0; i < 100; i++) {
+                int from = random.nextInt(10_000);
+                LocalDateInterval bounds = interval(from, from + 1 + random.nextInt(500));
+                long minLength = 1 + random.nextInt(5);
+                List<String> expected = spans(set.complement(bounds)).stream()
+                        .filter(span -> {
+                            String[] ends = span.split("-");
+                            return Long.parseLong(ends[1]) - Long.parseLong(ends[0]) >= minLength;
+                        })
+                        .collect(Collectors.toList());
+                List<String> actual = set.gaps(bounds, minLength)
+                        .map(g -> (g.getFrom().toEpochDay() - base.toEpochDay()) + "-" + (g.getTo().toEpochDay() - base.toEpochDay()))
+                        .collect(Collectors.toList());
+                assertThat(actual).isEqualTo(expected);
+                assertThat(set.firstGap(bounds, minLength).isPresent()).isEqualTo(!expected.isEmpty());
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntervalTreeTest {
+    private final LocalDate originFrom = LocalDate.of(2020, 1, 1);
+    private final LocalDate originTo = originFrom.plusDays(30L);
+    private final LocalDateInterval origin = new LocalDateInterval(originFrom, originTo);
+    private final LocalDateInterval before = new LocalDateInterval(originFrom.minusDays(10L), originFrom);
+    private final LocalDateInterval after = new LocalDateInterval(originTo, originTo.plusDays(10L));
+    private final IntervalTree<LocalDate, LocalDateInterval> tree =
+            IntervalTree.of(LocalDateInterval.TYPE, List.of(after, origin, before));
+
+    @Nested
+    class Containing {
+        /**
+         * <pre>
+         *                @
+         * |----before----|----origin----|----after----|
+         * </pre>
+         */
+        @Test
+        public void test_containing_equalFromOrTo_shouldContainBoth() {
+            assertThat(tree.containing(originFrom)).containsExactly(before, origin);
+            assertThat(tree.containing(originTo)).containsExactly(origin, after);
+        }
+
+        /**
+         * <pre>
+         *                        @
+         * |----before----|----origin----|----after----|
+         * </pre>
+         */
+        @Test
+        public void test_containing_between_shouldContainOrigin() {
+            assertThat(tree.containing(originFrom.plusDays(15L))).containsExactly(origin);
+        }
+
+        @Test
+        public void test_containing_outside_shouldBeEmpty() {
+            assertThat(tree.containing(originFrom.minusDays(11L))).isEmpty();
+            assertThat(tree.containing(originTo.plusDays(11L))).isEmpty();
+        }
+    }
+
+    @Nested
+    class OverlappingAsOpen {
+        /**
+         * <pre>
+         * |----before----|----origin----|----after----|
+         *                |---interval---|
+         * </pre>
+         */
+        @Test
+        public void test_overlappingAsOpen_touching_shouldBeExcluded() {
+            assertThat(tree.overlappingAsOpen(origin)).containsExactly(origin);
+        }
+    }
+
+    @Nested
+    class OverlappingAsClosed {
+        /**
+         * <pre>
+         * |----before----|----origin----|----after----|
+         *                |---interval---|
+         * </pre>
+         */
+        @Test
+        public void test_overlappingAsClosed_touching_shouldBeIncluded() {
+            assertThat(tree.overlappingAsClosed(origin)).containsExactly(before, origin, after);
+        }
+    }
+
+    @Nested
+    class RandomIntervals {
+        private final Random random = new Random(42L);
+
+        @Test
+        public void test_localDateTime_shouldMatchLinearScan() {
+            LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                LocalDateTime from = base.plusMinutes(random.nextInt(100_000));
+                intervals.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(500))));
+            }
+            IntervalTree<LocalDateTime, LocalDateTimeInterval> tree = IntervalTree.of(LocalDateTimeInterval.TYPE, intervals);
+            for (int i = 0; i < 200; i++) {
+                LocalDateTime from = base.plusMinutes(random.nextInt(100_000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(500)));
+                assertThat(sorted(tree.containing(from))).isEqualTo(sorted(filter(intervals, x -> x.contains(from))));
+                assertThat(sorted(tree.overlappingAsOpen(query))).isEqualTo(sorted(filter(intervals, x -> x.overlapsAsOpen(query))));
+                assertThat(sorted(tree.overlappingAsClosed(query))).isEqualTo(sorted(filter(intervals, x -> x.overlapsAsClosed(query))));
+            }
+        }
+
+        @Test
+        public void test_localTime_shouldMatchLinearScan() {
+            List<LocalTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                int from = random.nextInt(1000);
+                intervals.add(new LocalTimeInterval(LocalTime.ofSecondOfDay(from), LocalTime.ofSecondOfDay(from + 1 + random.nextInt(50))));
+            }
+            IntervalTree<LocalTime, LocalTimeInterval> tree = IntervalTree.of(LocalTimeInterval.TYPE, intervals);
+            for (int i = 0; i < 1000; i++) {
+                LocalTime point = LocalTime.ofSecondOfDay(random.nextInt(1100));
+                assertThat(sorted(tree.containing(point))).isEqualTo(sorted(filter(intervals, x -> x.contains(point))));
+            }
+        }
+
+        @Test
+        public void test_empty_shouldBeEmpty() {
+            IntervalTree<LocalDate, LocalDateInterval> tree = IntervalTree.of(LocalDateInterval.TYPE, Collections.emptyList());
+            assertThat(tree.size()).isZero();
+            assertThat(tree.overlappingAsClosed(origin)).isEmpty();
+        }
+    }
+
+    private static <I> List<I> filter(List<I> intervals, Predicate<I> predicate) {
+        return intervals.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    private static <I> List<Integer> sorted(List<I> intervals) {
+        return intervals.stream().map(System::identityHashCode).sorted().collect(Collectors.toList());
+    }
+}
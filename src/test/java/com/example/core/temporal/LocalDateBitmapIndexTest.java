@@ -0,0 +1,92 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalDateBitmapIndexTest {
+    private final LocalDate originFrom = LocalDate.of(2020, 1, 1);
+    private final LocalDate originTo = originFrom.plusDays(30L);
+    private final LocalDateInterval origin = new LocalDateInterval(originFrom, originTo);
+    private final LocalDateInterval touching = new LocalDateInterval(originTo, originTo.plusDays(10L));
+    private final LocalDateBitmapIndex index = LocalDateBitmapIndex.of(List.of(origin, touching));
+
+    @Nested
+    class ActiveOn {
+        /**
+         * <pre>
+         * |----origin----|----touching----|
+         *                @
+         * </pre>
+         */
+        @Test
+        public void test_activeOn_equalTo_shouldContainBoth() {
+            assertThat(index.activeOn(originTo).toArray()).containsExactly(0, 1);
+            assertThat(index.activeOn(originFrom).toArray()).containsExactly(0);
+            assertThat(index.activeOn(originFrom.minusDays(1L)).isEmpty()).isTrue();
+            assertThat(index.activeOn(originTo.plusDays(11L)).isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    class Range {
+        @Test
+        public void test_activeOnAll_shouldContainCoveringIntervals() {
+            LocalDateInterval range = new LocalDateInterval(originTo.minusDays(1L), originTo.plusDays(1L));
+            assertThat(index.activeOnAll(range).isEmpty()).isTrue();
+            assertThat(index.activeOnAny(range).toArray()).containsExactly(0, 1);
+            assertThat(index.activeOnAll(new LocalDateInterval(originFrom, originTo)).toArray()).containsExactly(0);
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                LocalDate from = originFrom.plusDays(random.nextInt(365));
+                intervals.add(new LocalDateInterval(from, from.plusDays(1 + random.nextInt(14))));
+            }
+            LocalDateBitmapIndex index = LocalDateBitmapIndex.of(intervals);
+            for (int i = 0; i < 50; i++) {
+                LocalDate from = originFrom.plusDays(random.nextInt(400) - 20);
+                LocalDateInterval range = new LocalDateInterval(from, from.plusDays(1 + random.nextInt(5)));
+                assertThat(index.activeOn(from).toArray()).isEqualTo(
+                        IntStream.range(0, intervals.size()).filter(j -> intervals.get(j).contains(from)).toArray());
+                assertThat(index.activeOnAny(range).toArray()).isEqualTo(
+                        IntStream.range(0, intervals.size()).filter(j -> intervals.get(j).overlapsAsClosed(range)).toArray());
+                assertThat(index.activeOnAll(range).toArray()).isEqualTo(
+                        IntStream.range(0, intervals.size()).filter(j -> intervals.get(j).contains(range.getFrom())
+                                && intervals.get(j).contains(range.getTo())).toArray());
+            }
+        }
+
+        @Test
+        public void test_random_longIntervals_shouldMatchIntervals() {
+            Random random = new Random(7L);
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                LocalDate from = originFrom.plusDays(random.nextInt(1000));
+                intervals.add(new LocalDateInterval(from, from.plusDays(1 + random.nextInt(400))));
+            }
+            LocalDateBitmapIndex index = LocalDateBitmapIndex.of(intervals);
+            for (int i = 0; i < 50; i++) {
+                LocalDate from = originFrom.plusDays(random.nextInt(1500) - 50);
+                LocalDateInterval range = new LocalDateInterval(from, from.plusDays(1 + random.nextInt(200)));
+                assertThat(index.activeOn(from).toArray()).isEqualTo(
+                        IntStream.range(0, intervals.size()).filter(j -> intervals.get(j).contains(from)).toArray());
+                assertThat(index.activeOnAny(range).toArray()).isEqualTo(
+                        IntStream.range(0, intervals.size()).filter(j -> intervals.get(j).overlapsAsClosed(range)).toArray());
+                assertThat(index.activeOnAll(range).toArray()).isEqualTo(
+                        IntStream.range(0, intervals.size()).filter(j -> intervals.get(j).contains(range.getFrom())
+                                && intervals.get(j).contains(range.getTo())).toArray());
+            }
+        }
+    }
+}
@@ -472,4 +472,64 @@ public class LocalDateIntervalTest {
             assertThat(result).isFalse();
         }
     }
+
+    @Nested
+    class Epoch {
+        private final long fromEpoch = originFrom.toEpochDay();
+        private final long toEpoch = originTo.toEpochDay();
+
+        @Test
+        public void test_epoch_equalsToEpochOfFromAndTo() {
+            assertThat(origin.getEpochFrom()).isEqualTo(fromEpoch);
+            assertThat(origin.getEpochTo()).isEqualTo(toEpoch);
+        }
+
+        /**
+         * <pre>
+         * @              @
+         * |----origin----|
+         * </pre>
+         */
+        @Test
+        public void test_contains_equalFromOrTo_shouldBeTrue() {
+            assertThat(origin.contains(fromEpoch)).isTrue();
+            assertThat(origin.contains(toEpoch)).isTrue();
+        }
+
+        /**
+         * <pre>
+         * @                  @
+         *   |----origin----|
+         * </pre>
+         */
+        @Test
+        public void test_contains_outside_shouldBeFalse() {
+            assertThat(origin.contains(fromEpoch - 1L)).isFalse();
+            assertThat(origin.contains(toEpoch + 1L)).isFalse();
+        }
+
+        /**
+         * <pre>
+         * |-----origin-----|
+         *                  |----interval----|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsOpen_intervalFrom_equalOriginTo_shouldBeFalse() {
+            assertThat(origin.overlapsAsOpen(toEpoch, toEpoch + 1L)).isFalse();
+            assertThat(origin.overlapsAsOpen(toEpoch - 1L, toEpoch + 1L)).isTrue();
+        }
+
+        /**
+         * <pre>
+         * |-----origin-----|
+         *                  |----interval----|
+         * </pre>
+         */
+        @Test
+        public void test_overlapsAsClosed_intervalFrom_equalOriginTo_shouldBeTrue() {
+            assertThat(origin.overlapsAsClosed(toEpoch, toEpoch + 1L)).isTrue();
+            assertThat(origin.overlapsAsClosed(toEpoch + 1L, toEpoch + 2L)).isFalse();
+        }
+    }
 }
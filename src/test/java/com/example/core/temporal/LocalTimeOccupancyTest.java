@@ -0,0 +1,104 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalTimeOccupancyTest {
+    private final LocalTimeInterval morning = new LocalTimeInterval(LocalTime.of(9, 0), LocalTime.of(12, 0));
+    private final LocalTimeInterval afternoon = new LocalTimeInterval(LocalTime.of(13, 0), LocalTime.of(17, 30));
+    private final LocalTimeOccupancy occupancy = LocalTimeOccupancy.of(List.of(morning, afternoon));
+
+    @Nested
+    class Busy {
+        @Test
+        public void test_isBusy_shouldRegardEndAsExclusive() {
+            assertThat(occupancy.isBusy(LocalTime.of(9, 0))).isTrue();
+            assertThat(occupancy.isBusy(LocalTime.of(11, 59, 59))).isTrue();
+            assertThat(occupancy.isBusy(LocalTime.of(12, 0))).isFalse();
+            assertThat(occupancy.isBusy(LocalTime.of(8, 59, 59))).isFalse();
+            assertThat(occupancy.getBusySeconds()).isEqualTo(3 * 3600 + 4 * 3600 + 1800);
+        }
+
+        /**
+         * <pre>
+         * |----morning----|
+         *                 |----interval----|
+         * </pre>
+         */
+        @Test
+        public void test_isFree_touching_shouldBeTrue() {
+            assertThat(occupancy.isFree(new LocalTimeInterval(LocalTime.of(12, 0), LocalTime.of(13, 0)))).isTrue();
+            assertThat(occupancy.isFree(new LocalTimeInterval(LocalTime.of(11, 59, 59), LocalTime.of(13, 0)))).isFalse();
+        }
+
+        @Test
+        public void test_release_shouldFreeSeconds() {
+            LocalTimeOccupancy occupancy = LocalTimeOccupancy.of(List.of(morning));
+            occupancy.release(new LocalTimeInterval(LocalTime.of(10, 0), LocalTime.of(10, 30)));
+            assertThat(occupancy.isBusy(LocalTime.of(10, 15))).isFalse();
+            assertThat(occupancy.isBusy(LocalTime.of(10, 30))).isTrue();
+            assertThat(occupancy.getBusySeconds()).isEqualTo(3 * 3600 - 1800);
+        }
+
+        @Test
+        public void test_overlaps() {
+            assertThat(occupancy.overlaps(LocalTimeOccupancy.of(List.of(
+                    new LocalTimeInterval(LocalTime.of(12, 0), LocalTime.of(13, 0)))))).isFalse();
+            assertThat(occupancy.overlaps(LocalTimeOccupancy.of(List.of(
+                    new LocalTimeInterval(LocalTime.of(12, 0), LocalTime.of(13, 0, 1)))))).isTrue();
+        }
+    }
+
+    @Nested
+    class FirstFreeSlot {
+        @Test
+        public void test_firstFreeSlot_shouldBeEarliest() {
+            LocalTimeOccupancy occupancy = LocalTimeOccupancy.of(List.of(
+                    new LocalTimeInterval(LocalTime.MIN, LocalTime.of(9, 0)), morning, afternoon));
+            Optional<LocalTimeInterval> slot = occupancy.firstFreeSlot(3600L);
+            assertThat(slot).isPresent();
+            assertThat(slot.get().getFrom()).isEqualTo(LocalTime.of(12, 0));
+            assertThat(slot.get().getTo()).isEqualTo(LocalTime.of(13, 0));
+            assertThat(occupancy.firstFreeSlot(3601L).get().getFrom()).isEqualTo(LocalTime.of(17, 30));
+        }
+
+        @Test
+        public void test_firstFreeSlot_none_shouldBeEmpty() {
+            LocalTimeOccupancy occupancy = LocalTimeOccupancy.of(List.of(new LocalTimeInterval(LocalTime.MIN, LocalTime.MAX)));
+            assertThat(occupancy.firstFreeSlot(1L)).isEmpty();
+            assertThat(new LocalTimeOccupancy().firstFreeSlot(86_399L).get().getTo()).isEqualTo(LocalTime.of(23, 59, 59));
+            assertThat(new LocalTimeOccupancy().firstFreeSlot(86_400L)).isEmpty();
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            for (int round = 0; round < 50; round++) {
+                List<LocalTimeInterval> intervals = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    int from = random.nextInt(80_000);
+                    intervals.add(new LocalTimeInterval(LocalTime.ofSecondOfDay(from), LocalTime.ofSecondOfDay(from + 1 + random.nextInt(5000))));
+                }
+                LocalTimeOccupancy occupancy = LocalTimeOccupancy.of(intervals);
+                int seconds = 1 + random.nextInt(3000);
+                Optional<LocalTimeInterval> slot = occupancy.firstFreeSlot(seconds);
+                Optional<LocalTimeInterval> expected = Optional.empty();
+                for (int start = 0; start + seconds <= 86_399 && expected.isEmpty(); start++) {
+                    LocalTimeInterval candidate = new LocalTimeInterval(LocalTime.ofSecondOfDay(start), LocalTime.ofSecondOfDay(start + seconds));
+                    if (intervals.stream().noneMatch(candidate::overlapsAsOpen)) {
+                        expected = Optional.of(candidate);
+                    }
+                }
+                assertThat(slot.map(LocalTimeInterval::getEpochFrom)).isEqualTo(expected.map(LocalTimeInterval::getEpochFrom));
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LocalTimeRecurrenceTest {
+    private final LocalTimeInterval hours = new LocalTimeInterval(LocalTime.of(9, 0), LocalTime.of(17, 0));
+    // 2020-01-01 is Wednesday
+    private final LocalDateInterval year = new LocalDateInterval(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+
+    private List<LocalDateTimeInterval> expand(LocalTimeRecurrence recurrence) {
+        return recurrence.getRange().from.datesUntil(recurrence.getRange().to.plusDays(1L))
+                .filter(date -> recurrence.getDays().contains(date.getDayOfWeek()))
+                .map(date -> new LocalDateTimeInterval(date.atTime(recurrence.getStart()),
+                        date.atTime(recurrence.getStart()).plus(recurrence.getDuration())))
+                .collect(Collectors.toList());
+    }
+
+    @Nested
+    class Expansion {
+        @Test
+        public void test_weekdays_shouldCountWeekdaysOfYear() {
+            LocalTimeRecurrence recurrence = LocalTimeRecurrence.weekdays(hours, year);
+            assertThat(recurrence.count()).isEqualTo(262L);
+            assertThat(recurrence.stream().count()).isEqualTo(262L);
+            assertThat(recurrence.get(0L).equals(new LocalDateTimeInterval(
+                    LocalDateTime.of(2020, 1, 1, 9, 0), LocalDateTime.of(2020, 1, 1, 17, 0)))).isTrue();
+            assertThat(recurrence.get(3L).getEpochFrom())
+                    .isEqualTo(LocalDateTimeInterval.TYPE.toEpoch(LocalDateTime.of(2020, 1, 6, 9, 0)));
+        }
+
+        @Test
+        public void test_stream_shouldBeSizedAndSplittable() {
+            Spliterator<LocalDateTimeInterval> spliterator = LocalTimeRecurrence.daily(hours, year).stream().parallel().spliterator();
+            assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+            assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(366L);
+            assertThat(spliterator.trySplit()).isNotNull();
+        }
+
+        @Test
+        public void test_random_shouldMatchEagerExpansion() {
+            Random random = new Random(42L);
+            for (int i = 0; i < 50; i++) {
+                LocalDate from = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(30));
+                LocalDateInterval range = new LocalDateInterval(from, from.plusDays(1 + random.nextInt(60)));
+                Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    if (random.nextBoolean()) {
+                        days.add(day);
+                    }
+                }
+                LocalTimeRecurrence recurrence = LocalTimeRecurrence.of(hours, days, range);
+                List<LocalDateTimeInterval> expected = expand(recurrence);
+                List<LocalDateTimeInterval> actual = recurrence.stream().parallel().collect(Collectors.toList());
+                assertThat(actual).hasSize(expected.size());
+                for (int j = 0; j < expected.size(); j++) {
+                    assertThat(actual.get(j).equals(expected.get(j))).isTrue();
+                }
+            }
+        }
+
+        @Test
+        public void test_get_outOfRange_shouldThrowIndexOutOfBoundsException() {
+            LocalTimeRecurrence recurrence = LocalTimeRecurrence.of(hours, EnumSet.noneOf(DayOfWeek.class), year);
+            assertThat(recurrence.count()).isZero();
+            assertThatThrownBy(() -> recurrence.get(0L)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Nested
+    class Query {
+        /**
+         * <pre>
+         *     |---Mon 09:00-17:00---|
+         *                           @
+         * </pre>
+         */
+        @Test
+        public void test_contains_shouldIncludeBoundaries() {
+            LocalTimeRecurrence recurrence = LocalTimeRecurrence.weekdays(hours, year);
+            assertThat(recurrence.contains(LocalDateTime.of(2020, 1, 6, 17, 0))).isTrue();
+            assertThat(recurrence.contains(LocalDateTime.of(2020, 1, 6, 17, 1))).isFalse();
+            assertThat(recurrence.contains(LocalDateTime.of(2020, 1, 4, 12, 0))).isFalse();
+            assertThat(recurrence.contains(LocalDateTime.of(2021, 1, 4, 12, 0))).isFalse();
+        }
+
+        @Test
+        public void test_random_shouldMatchEagerExpansion() {
+            Random random = new Random(7L);
+            LocalTimeRecurrence recurrence = LocalTimeRecurrence.of(hours, EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.SATURDAY), year);
+            List<LocalDateTimeInterval> expected = expand(recurrence);
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime from = LocalDateTime.of(2019, 12, 1, 0, 0).plusMinutes(random.nextInt(600_000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(5000)));
+                long open = expected.stream().filter(interval -> interval.overlapsAsOpen(query)).count();
+                long closed = expected.stream().filter(interval -> interval.overlapsAsClosed(query)).count();
+
+                assertThat(recurrence.overlapsAsOpen(query)).isEqualTo(open > 0);
+                assertThat(recurrence.overlapsAsClosed(query)).isEqualTo(closed > 0);
+                assertThat(recurrence.overlappingAsOpen(query).count()).isEqualTo(open);
+                assertThat(recurrence.overlappingAsClosed(query).count()).isEqualTo(closed);
+                assertThat(recurrence.contains(from)).isEqualTo(expected.stream().anyMatch(interval -> interval.contains(from)));
+            }
+        }
+    }
+
+    @Nested
+    class Overnight {
+        private final LocalTimeRecurrence nights =
+                LocalTimeRecurrence.of(LocalTime.of(22, 0), Duration.ofHours(8L), EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), year);
+
+        /**
+         * <pre>
+         * Fri                      Sat
+         *             |---22:00-06:00---|
+         *                               @
+         * </pre>
+         */
+        @Test
+        public void test_contains_nextMorning_shouldBeTrue() {
+            assertThat(nights.contains(LocalDateTime.of(2020, 1, 4, 6, 0))).isTrue();
+            assertThat(nights.contains(LocalDateTime.of(2020, 1, 4, 6, 1))).isFalse();
+            assertThat(nights.contains(LocalDateTime.of(2020, 1, 5, 3, 0))).isFalse();
+            assertThat(nights.get(0L).equals(new LocalDateTimeInterval(
+                    LocalDateTime.of(2020, 1, 1, 22, 0), LocalDateTime.of(2020, 1, 2, 6, 0)))).isTrue();
+            assertThatThrownBy(nights::getTime).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        public void test_random_shouldMatchEagerExpansion() {
+            Random random = new Random(11L);
+            List<LocalDateTimeInterval> expected = expand(nights);
+            assertThat(nights.count()).isEqualTo(expected.size());
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime from = LocalDateTime.of(2019, 12, 1, 0, 0).plusMinutes(random.nextInt(600_000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(3000)));
+                long open = expected.stream().filter(interval -> interval.overlapsAsOpen(query)).count();
+                long closed = expected.stream().filter(interval -> interval.overlapsAsClosed(query)).count();
+
+                assertThat(nights.overlapsAsOpen(query)).isEqualTo(open > 0);
+                assertThat(nights.overlapsAsClosed(query)).isEqualTo(closed > 0);
+                assertThat(nights.overlappingAsOpen(query).count()).isEqualTo(open);
+                assertThat(nights.overlappingAsClosed(query).count()).isEqualTo(closed);
+                assertThat(nights.contains(from)).isEqualTo(expected.stream().anyMatch(interval -> interval.contains(from)));
+            }
+        }
+
+        @Test
+        public void test_nonPositiveDuration_shouldThrowIllegalArgumentException() {
+            assertThatThrownBy(() -> LocalTimeRecurrence.of(LocalTime.of(22, 0), Duration.ZERO, EnumSet.allOf(DayOfWeek.class), year))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedIntervalStoreTest {
+    private final LocalDateTime originFrom = LocalDateTime.of(2020, 1, 1, 9, 0);
+    private final LocalDateTime originTo = originFrom.plusHours(8L);
+    private final LocalDateTimeInterval origin = new LocalDateTimeInterval(originFrom, originTo);
+    private final LocalDateTimeInterval touching = new LocalDateTimeInterval(originTo, originTo.plusHours(1L));
+
+    @TempDir
+    Path directory;
+
+    private MappedIntervalStore<LocalDateTime, LocalDateTimeInterval> store(List<LocalDateTimeInterval> intervals) throws IOException {
+        Path path = directory.resolve("intervals.bin");
+        MappedIntervalStore.write(path, IntervalArray.of(LocalDateTimeInterval.TYPE, intervals));
+        return MappedIntervalStore.open(LocalDateTimeInterval.TYPE, path);
+    }
+
+    @Nested
+    class WriteAndOpen {
+        @Test
+        public void test_get_shouldBeEqualToWritten() throws IOException {
+            MappedIntervalStore<LocalDateTime, LocalDateTimeInterval> store = store(List.of(origin, touching));
+            assertThat(store.size()).isEqualTo(2L);
+            assertThat(store.get(0L).getFrom()).isEqualTo(originFrom);
+            assertThat(store.get(1L).equals(touching)).isTrue();
+            assertThatThrownBy(() -> store.get(2L)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        @Test
+        public void test_open_notStore_shouldThrow() throws IOException {
+            Path path = Files.write(directory.resolve("other.bin"), new byte[32]);
+            assertThatThrownBy(() -> MappedIntervalStore.open(LocalDateTimeInterval.TYPE, path))
+                    .isInstanceOf(IOException.class);
+        }
+
+        @Test
+        public void test_open_otherType_shouldThrow() throws IOException {
+            Path path = directory.resolve("dates.bin");
+            LocalDateInterval dates = new LocalDateInterval(originFrom.toLocalDate(), originTo.toLocalDate().plusDays(1L));
+            MappedIntervalStore.write(path, IntervalArray.of(LocalDateInterval.TYPE, List.of(dates)));
+            assertThatThrownBy(() -> MappedIntervalStore.open(LocalDateTimeInterval.TYPE, path))
+                    .isInstanceOf(IOException.class);
+            try (MappedIntervalStore<LocalDate, LocalDateInterval> store = MappedIntervalStore.open(LocalDateInterval.TYPE, path)) {
+                assertThat(store.get(0L).equals(dates)).isTrue();
+            }
+        }
+
+        @Test
+        public void test_write_opened_shouldReplaceWithoutTouchingMapping() throws IOException {
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                intervals.add(new LocalDateTimeInterval(originFrom.plusMinutes(i), originTo.plusMinutes(i)));
+            }
+            try (MappedIntervalStore<LocalDateTime, LocalDateTimeInterval> opened = store(intervals)) {
+                Path path = directory.resolve("intervals.bin");
+                MappedIntervalStore.write(path, IntervalArray.of(LocalDateTimeInterval.TYPE, List.of(touching)));
+                assertThat(opened.get(9_999L).equals(intervals.get(9_999))).isTrue();
+                try (MappedIntervalStore<LocalDateTime, LocalDateTimeInterval> replaced =
+                             MappedIntervalStore.open(LocalDateTimeInterval.TYPE, path)) {
+                    assertThat(replaced.size()).isEqualTo(1L);
+                    assertThat(replaced.get(0L).equals(touching)).isTrue();
+                }
+                try (Stream<Path> files = Files.list(directory)) {
+                    assertThat(files).containsExactly(path);
+                }
+            }
+        }
+
+        @Test
+        public void test_close_shouldRejectAccess() throws IOException {
+            MappedIntervalStore<LocalDateTime, LocalDateTimeInterval> store = store(List.of(origin));
+            store.close();
+            store.close();
+            assertThat(store.size()).isEqualTo(1L);
+            assertThatThrownBy(() -> store.get(0L)).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> store.forEachContaining(originFrom, index -> {
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        public void test_empty_shouldBeEmpty() throws IOException {
+            assertThat(store(List.of()).size()).isZero();
+        }
+    }
+
+    @Nested
+    class Predicates {
+        /**
+         * <pre>
+         * |----origin----|----touching----|
+         *                @
+         * </pre>
+         */
+        @Test
+        public void test_forEachContaining_equalTo_shouldContainBoth() throws IOException {
+            List<Long> indices = new ArrayList<>();
+            store(List.of(origin, touching)).forEachContaining(originTo, indices::add);
+            assertThat(indices).containsExactly(0L, 1L);
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() throws IOException {
+            Random random = new Random(42L);
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                LocalDateTime from = originFrom.plusMinutes(random.nextInt(100_000));
+                intervals.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(500))));
+            }
+            MappedIntervalStore<LocalDateTime, LocalDateTimeInterval> store = store(intervals);
+            for (int i = 0; i < 20; i++) {
+                LocalDateTime from = originFrom.plusMinutes(random.nextInt(100_000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(500)));
+                List<Long> open = new ArrayList<>();
+                List<Long> closed = new ArrayList<>();
+                store.forEachOverlappingAsOpen(query, open::add);
+                store.forEachOverlappingAsClosed(query, closed::add);
+                List<Long> expectedOpen = new ArrayList<>();
+                List<Long> expectedClosed = new ArrayList<>();
+                for (int j = 0; j < intervals.size(); j++) {
+                    if (intervals.get(j).overlapsAsOpen(query)) {
+                        expectedOpen.add((long) j);
+                    }
+                    if (intervals.get(j).overlapsAsClosed(query)) {
+                        expectedClosed.add((long) j);
+                    }
+                }
+                assertThat(open).isEqualTo(expectedOpen);
+                assertThat(closed).isEqualTo(expectedClosed);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelIntervalsTest {
+    private final LocalDate base = LocalDate.of(2020, 1, 1);
+    private final LocalDateInterval quarter = new LocalDateInterval(base.plusDays(90L), base.plusDays(181L));
+    private final List<LocalDateInterval> intervals = generate(100_000);
+    private final IntervalArray<LocalDate, LocalDateInterval> array = IntervalArray.of(LocalDateInterval.TYPE, intervals);
+
+    private List<LocalDateInterval> generate(int size) {
+        Random random = new Random(42L);
+        List<LocalDateInterval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate from = base.plusDays(random.nextInt(3650));
+            intervals.add(new LocalDateInterval(from, from.plusDays(1 + random.nextInt(30))));
+        }
+        return intervals;
+    }
+
+    private int[] expectedIndices() {
+        return IntStream.range(0, intervals.size()).filter(i -> intervals.get(i).overlapsAsOpen(quarter)).toArray();
+    }
+
+    @Nested
+    class OfList {
+        @Test
+        public void test_count_shouldMatchSequential() {
+            long count = ParallelIntervals.count(intervals, i -> i.overlapsAsOpen(quarter));
+            assertThat(count).isEqualTo(expectedIndices().length).isPositive();
+        }
+
+        @Test
+        public void test_indices_shouldBeInOrder() {
+            int[] indices = ParallelIntervals.indices(intervals, i -> i.overlapsAsOpen(quarter));
+            assertThat(indices).isEqualTo(expectedIndices());
+        }
+
+        @Test
+        public void test_filter_notRandomAccess_shouldBeInOrder() {
+            List<LocalDateInterval> result = ParallelIntervals.filter(new LinkedList<>(intervals), i -> i.overlapsAsOpen(quarter));
+            assertThat(result).isEqualTo(IntStream.of(expectedIndices()).mapToObj(intervals::get).collect(Collectors.toList()));
+        }
+
+        @Test
+        public void test_anyMatch() {
+            assertThat(ParallelIntervals.anyMatch(intervals, i -> i.overlapsAsOpen(quarter))).isTrue();
+            assertThat(ParallelIntervals.anyMatch(intervals, i -> i.contains(base.minusDays(1L)))).isFalse();
+        }
+    }
+
+    @Nested
+    class OfArray {
+        private final EpochPredicate predicate = EpochPredicate.overlapsAsOpen(quarter.getEpochFrom(), quarter.getEpochTo());
+
+        @Test
+        public void test_count_shouldMatchSequential() {
+            assertThat(ParallelIntervals.count(array, predicate)).isEqualTo(expectedIndices().length);
+        }
+
+        @Test
+        public void test_indices_shouldBeInOrder() {
+            assertThat(ParallelIntervals.indices(array, predicate)).isEqualTo(expectedIndices());
+        }
+
+        @Test
+        public void test_filter_shouldBeInOrder() {
+            IntervalArray<LocalDate, LocalDateInterval> result = ParallelIntervals.filter(array, predicate);
+            int[] expected = expectedIndices();
+            assertThat(result.size()).isEqualTo(expected.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertThat(result.get(i).equals(intervals.get(expected[i]))).isTrue();
+            }
+        }
+
+        @Test
+        public void test_anyMatch() {
+            assertThat(ParallelIntervals.anyMatch(array, predicate)).isTrue();
+            assertThat(ParallelIntervals.anyMatch(array, EpochPredicate.contains(base.toEpochDay() - 1L))).isFalse();
+        }
+    }
+}
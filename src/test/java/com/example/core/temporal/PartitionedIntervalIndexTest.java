@@ -0,0 +1,125 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PartitionedIntervalIndexTest {
+    private final LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private final LocalDateTimeInterval booking = new LocalDateTimeInterval(origin, origin.plusHours(2L));
+    private final LocalDateTimeInterval overlapping = new LocalDateTimeInterval(origin.plusHours(1L), origin.plusHours(3L));
+
+    @Nested
+    class Partition {
+        /**
+         * <pre>
+         * room-a: |---booking---|
+         * room-b:        |---overlapping---|
+         * </pre>
+         */
+        @Test
+        public void test_addIfNoOverlap_otherKey_shouldBeAdded() {
+            PartitionedIntervalIndex<String, LocalDateTime, LocalDateTimeInterval> index =
+                    PartitionedIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            assertThat(index.addIfNoOverlap("room-a", booking)).isTrue();
+            assertThat(index.addIfNoOverlap("room-b", overlapping)).isTrue();
+            assertThat(index.addIfNoOverlap("room-a", overlapping)).isFalse();
+            assertThat(index.keys()).containsExactlyInAnyOrder("room-a", "room-b");
+        }
+
+        @Test
+        public void test_query_unknownKey_shouldBeEmpty() {
+            PartitionedIntervalIndex<String, LocalDateTime, LocalDateTimeInterval> index =
+                    PartitionedIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            assertThat(index.containing("room-a", origin)).isEmpty();
+            assertThat(index.overlappingAsOpen("room-a", booking)).isEmpty();
+            assertThat(index.remove("room-a", booking)).isFalse();
+            assertThat(index.size("room-a")).isZero();
+        }
+
+        @Test
+        public void test_query_unknownKey_shouldBeModifiableAsKnownKey() {
+            PartitionedIntervalIndex<String, LocalDateTime, LocalDateTimeInterval> index =
+                    PartitionedIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            index.add("room-a", booking);
+            for (String key : List.of("room-a", "room-b")) {
+                List<LocalDateTimeInterval> containing = index.containing(key, origin);
+                containing.add(overlapping);
+                List<LocalDateTimeInterval> open = index.overlappingAsOpen(key, booking);
+                open.add(overlapping);
+                List<LocalDateTimeInterval> closed = index.overlappingAsClosed(key, booking);
+                closed.add(overlapping);
+                assertThat(containing).endsWith(overlapping);
+                assertThat(open).endsWith(overlapping);
+                assertThat(closed).endsWith(overlapping);
+            }
+        }
+
+        /**
+         * <pre>
+         * room-a: |---booking---|
+         *                       |---next---|
+         * </pre>
+         */
+        @Test
+        public void test_overlapping_touching_shouldDifferBySemantics() {
+            PartitionedIntervalIndex<String, LocalDateTime, LocalDateTimeInterval> index =
+                    PartitionedIntervalIndex.create(LocalDateTimeInterval.TYPE);
+            index.add("room-a", booking);
+            LocalDateTimeInterval next = new LocalDateTimeInterval(origin.plusHours(2L), origin.plusHours(3L));
+            assertThat(index.overlappingAsOpen("room-a", next)).isEmpty();
+            assertThat(index.overlappingAsClosed("room-a", next)).containsExactly(booking);
+            assertThat(index.remove("room-a", booking)).isTrue();
+            assertThat(index.size("room-a")).isZero();
+        }
+    }
+
+    @Nested
+    class BulkLoad {
+        @Test
+        public void test_of_shouldMatchIntervals() {
+            assertMatchesIntervals(intervals -> PartitionedIntervalIndex.of(LocalDateTimeInterval.TYPE, intervals));
+        }
+
+        @Test
+        public void test_of_bucketWidth_shouldMatchIntervals() {
+            assertMatchesIntervals(intervals -> PartitionedIntervalIndex.of(LocalDateTimeInterval.TYPE, 600L, intervals));
+        }
+
+        @Test
+        public void test_of_nonPositiveBucketWidth_shouldThrowIllegalArgumentException() {
+            assertThatThrownBy(() -> PartitionedIntervalIndex.of(LocalDateTimeInterval.TYPE, 0L, Map.of()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private void assertMatchesIntervals(
+                Function<Map<Integer, List<LocalDateTimeInterval>>, PartitionedIntervalIndex<Integer, LocalDateTime, LocalDateTimeInterval>> factory) {
+            Random random = new Random(42L);
+            Map<Integer, List<LocalDateTimeInterval>> intervals = new HashMap<>();
+            for (int i = 0; i < 5000; i++) {
+                LocalDateTime from = origin.plusMinutes(random.nextInt(10_000));
+                intervals.computeIfAbsent(random.nextInt(50), key -> new ArrayList<>())
+                        .add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(120))));
+            }
+            PartitionedIntervalIndex<Integer, LocalDateTime, LocalDateTimeInterval> index = factory.apply(intervals);
+            for (int i = 0; i < 100; i++) {
+                int key = random.nextInt(50);
+                LocalDateTime from = origin.plusMinutes(random.nextInt(10_000));
+                LocalDateTimeInterval query = new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(60)));
+                long expected = intervals.get(key).stream().filter(interval -> interval.overlapsAsOpen(query)).count();
+                assertThat(index.size(key)).isEqualTo(intervals.get(key).size());
+                assertThat(index.overlappingAsOpen(key, query)).hasSize((int) expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentIntervalMapTest {
+    private final LocalDate origin = LocalDate.of(2020, 1, 1);
+    private final LocalDateInterval january = new LocalDateInterval(origin, origin.plusDays(31L));
+    private final LocalDateInterval february = new LocalDateInterval(origin.plusDays(31L), origin.plusDays(60L));
+
+    @Nested
+    class Update {
+        @Test
+        public void test_put_shouldNotChangeSnapshot() {
+            PersistentIntervalMap<LocalDate, LocalDateInterval, String> snapshot =
+                    PersistentIntervalMap.<LocalDate, LocalDateInterval, String>empty(LocalDateInterval.TYPE).put(january, "a");
+            PersistentIntervalMap<LocalDate, LocalDateInterval, String> next = snapshot.put(february, "b");
+
+            assertThat(snapshot.size()).isEqualTo(1);
+            assertThat(snapshot.get(february)).isEmpty();
+            assertThat(next.size()).isEqualTo(2);
+            assertThat(next.get(february)).contains("b");
+        }
+
+        @Test
+        public void test_put_equalInterval_shouldReplaceValue() {
+            PersistentIntervalMap<LocalDate, LocalDateInterval, String> map =
+                    PersistentIntervalMap.<LocalDate, LocalDateInterval, String>empty(LocalDateInterval.TYPE).put(january, "a");
+            PersistentIntervalMap<LocalDate, LocalDateInterval, String> replaced =
+                    map.put(new LocalDateInterval(origin, origin.plusDays(31L)), "b");
+
+            assertThat(replaced.size()).isEqualTo(1);
+            assertThat(replaced.get(january)).contains("b");
+            assertThat(map.get(january)).contains("a");
+        }
+
+        @Test
+        public void test_remove_absent_shouldBeSame() {
+            PersistentIntervalMap<LocalDate, LocalDateInterval, String> map =
+                    PersistentIntervalMap.<LocalDate, LocalDateInterval, String>empty(LocalDateInterval.TYPE).put(january, "a");
+
+            assertThat(map.remove(february)).isSameAs(map);
+            assertThat(map.remove(january).isEmpty()).isTrue();
+            assertThat(map.size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class Query {
+        /**
+         * <pre>
+         * |---january---|
+         *               |---february---|
+         *               @
+         * </pre>
+         */
+        @Test
+        public void test_boundary_shouldFollowSemantics() {
+            PersistentIntervalMap<LocalDate, LocalDateInterval, String> map =
+                    PersistentIntervalMap.<LocalDate, LocalDateInterval, String>empty(LocalDateInterval.TYPE)
+                            .put(february, "b")
+                            .put(january, "a");
+
+            assertThat(map.containing(origin.plusDays(31L))).hasSize(2);
+            assertThat(map.overlappingAsOpen(february)).hasSize(1);
+            assertThat(map.overlappingAsOpen(february).get(0).equals(february)).isTrue();
+            assertThat(map.overlappingAsClosed(february)).hasSize(2);
+            assertThat(map.overlappingAsClosed(february).get(0).equals(january)).isTrue();
+        }
+
+        @Test
+        public void test_random_shouldMatchIntervals() {
+            Random random = new Random(42L);
+            PersistentIntervalMap<LocalDate, LocalDateInterval, Integer> map = PersistentIntervalMap.empty(LocalDateInterval.TYPE);
+            List<LocalDateInterval> intervals = new ArrayList<>();
+            List<PersistentIntervalMap<LocalDate, LocalDateInterval, Integer>> versions = new ArrayList<>();
+            List<Integer> sizes = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                if (i % 4 == 3) {
+                    map = map.remove(intervals.remove(random.nextInt(intervals.size())));
+                } else {
+                    LocalDate from = origin.plusDays(random.nextInt(10_000));
+                    LocalDateInterval interval = new LocalDateInterval(from, from.plusDays(1 + random.nextInt(60)));
+                    if (!map.get(interval).isPresent()) {
+                        intervals.add(interval);
+                    }
+                    map = map.put(interval, i);
+                }
+                if (i % 100 == 0) {
+                    versions.add(map);
+                    sizes.add(intervals.size());
+                }
+            }
+            assertThat(map.size()).isEqualTo(intervals.size());
+            for (int i = 0; i < versions.size(); i++) {
+                assertThat(versions.get(i).size()).isEqualTo(sizes.get(i));
+            }
+            for (int i = 0; i < 100; i++) {
+                LocalDate from = origin.plusDays(random.nextInt(10_000));
+                LocalDateInterval query = new LocalDateInterval(from, from.plusDays(1 + random.nextInt(30)));
+                long open = intervals.stream().filter(interval -> interval.overlapsAsOpen(query)).count();
+                long closed = intervals.stream().filter(interval -> interval.overlapsAsClosed(query)).count();
+                assertThat(map.overlappingAsOpen(query)).hasSize((int) open);
+                assertThat(map.overlappingAsClosed(query)).hasSize((int) closed);
+            }
+        }
+    }
+}
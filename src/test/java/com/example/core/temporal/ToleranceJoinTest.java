@@ -0,0 +1,132 @@
+package com.example.core.temporal;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ToleranceJoinTest {
+    private final LocalDateTime originFrom = LocalDateTime.of(2020, 1, 1, 9, 0);
+    private final LocalDateTimeInterval origin = new LocalDateTimeInterval(originFrom, originFrom.plusHours(1L));
+
+    @Nested
+    class Points {
+        /**
+         * <pre>
+         *      |---origin---|
+         * @  @                 @ @
+         * -6 -5               +5 +6 minutes
+         * </pre>
+         */
+        @Test
+        public void test_pointsWithin_tolerance_shouldIncludeBoundaries() {
+            Set<LocalDateTime> matched = ConcurrentHashMap.newKeySet();
+            List<LocalDateTime> points = List.of(originFrom.minusMinutes(6L), originFrom.minusMinutes(5L),
+                    originFrom.plusMinutes(65L), originFrom.plusMinutes(66L));
+            ToleranceJoin.pointsWithin(LocalDateTimeInterval.TYPE, List.of(origin), points, 300L, 600L,
+                    (interval, point) -> matched.add(point));
+            assertThat(matched).containsExactlyInAnyOrder(originFrom.minusMinutes(5L), originFrom.plusMinutes(65L));
+        }
+
+        @Test
+        public void test_random_shouldMatchNestedLoop() {
+            assertMatchesNestedLoop(1800L);
+        }
+
+        /**
+         * Most intervals span more than {@link ToleranceJoin#MAX_REPLICATION} buckets and are joined by a sweep.
+         */
+        @Test
+        public void test_random_oversize_shouldMatchNestedLoop() {
+            assertMatchesNestedLoop(60L);
+        }
+
+        private void assertMatchesNestedLoop(long bucketWidth) {
+            Random random = new Random(42L);
+            List<LocalDateTimeInterval> intervals = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime from = originFrom.plusMinutes(random.nextInt(20_000));
+                intervals.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(180))));
+            }
+            List<LocalDateTime> points = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                points.add(originFrom.plusSeconds(random.nextInt(1_200_000)));
+            }
+            List<String> expected = new ArrayList<>();
+            for (LocalDateTimeInterval interval : intervals) {
+                for (LocalDateTime point : points) {
+                    long epoch = LocalDateTimeInterval.TYPE.toEpoch(point);
+                    if (interval.getEpochFrom() - 300L <= epoch && epoch <= interval.getEpochTo() + 300L) {
+                        expected.add(System.identityHashCode(interval) + "-" + epoch);
+                    }
+                }
+            }
+            List<String> actual = Collections.synchronizedList(new ArrayList<>());
+            ToleranceJoin.pointsWithin(LocalDateTimeInterval.TYPE, intervals, points, 300L, bucketWidth,
+                    (interval, point) -> actual.add(System.identityHashCode(interval) + "-" + LocalDateTimeInterval.TYPE.toEpoch(point)));
+            assertThat(actual).hasSameSizeAs(expected);
+            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Nested
+    class Intervals {
+        @Test
+        public void test_random_shouldMatchNestedLoopWithoutDuplicates() {
+            assertMatchesNestedLoop(900L);
+        }
+
+        /**
+         * Both sides have intervals spanning more than {@link ToleranceJoin#MAX_REPLICATION} buckets,
+         * which are joined by the sweeps besides the buckets.
+         */
+        @Test
+        public void test_random_oversize_shouldMatchNestedLoopWithoutDuplicates() {
+            assertMatchesNestedLoop(180L);
+        }
+
+        private void assertMatchesNestedLoop(long bucketWidth) {
+            Random random = new Random(7L);
+            List<LocalDateTimeInterval> left = new ArrayList<>();
+            List<LocalDateTimeInterval> right = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                LocalDateTime from = originFrom.plusMinutes(random.nextInt(20_000));
+                left.add(new LocalDateTimeInterval(from, from.plusMinutes(1 + random.nextInt(240))));
+                LocalDateTime other = originFrom.plusMinutes(random.nextInt(20_000));
+                right.add(new LocalDateTimeInterval(other, other.plusMinutes(1 + random.nextInt(240))));
+            }
+            long expected = 0L;
+            for (LocalDateTimeInterval l : left) {
+                for (LocalDateTimeInterval r : right) {
+                    if (l.getEpochFrom() - 600L <= r.getEpochTo() && r.getEpochFrom() <= l.getEpochTo() + 600L) {
+                        expected++;
+                    }
+                }
+            }
+            Set<String> pairs = ConcurrentHashMap.newKeySet();
+            List<String> actual = Collections.synchronizedList(new ArrayList<>());
+            ToleranceJoin.intervalsWithin(LocalDateTimeInterval.TYPE, left, right, 600L, bucketWidth, (l, r) -> {
+                String pair = System.identityHashCode(l) + "-" + System.identityHashCode(r);
+                pairs.add(pair);
+                actual.add(pair);
+            });
+            assertThat(actual).hasSize((int) expected);
+            assertThat(pairs).hasSize((int) expected);
+        }
+
+        @Test
+        public void test_negativeTolerance_shouldThrowIllegalArgumentException() {
+            assertThatThrownBy(() -> ToleranceJoin.intervalsWithin(LocalDateTimeInterval.TYPE, List.of(origin), List.of(origin), -1L, 60L, (l, r) -> {
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}